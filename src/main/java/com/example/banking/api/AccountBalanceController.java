@@ -0,0 +1,34 @@
+package com.example.banking.api;
+
+import com.example.banking.application.AccountBalanceCache;
+import com.example.banking.domain.AccountId;
+import com.example.banking.query.AccountBalanceView;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Balance inquiries, answered from {@link AccountBalanceCache}.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountBalanceController {
+    private final AccountBalanceCache balanceCache;
+
+    public AccountBalanceController(AccountBalanceCache balanceCache) {
+        this.balanceCache = balanceCache;
+    }
+
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<AccountBalanceView> getBalance(@PathVariable String accountId) {
+        return balanceCache.getBalance(AccountId.of(accountId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/balance")
+    public ResponseEntity<AccountBalanceView> getBalanceByAccountNumber(@RequestParam String accountNumber) {
+        return balanceCache.getBalanceByAccountNumber(accountNumber)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.banking.api;
+
+import java.math.BigDecimal;
+
+record AccountTransactionRequest(BigDecimal amount, String description) {}
@@ -0,0 +1,108 @@
+package com.example.banking.api;
+
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.domain.AccountId;
+import com.example.shared.domain.BusinessRuleViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Supplier;
+
+/**
+ * Account commands. Each accepts an optional {@value #IDEMPOTENCY_KEY} header; a request
+ * repeating a key gets the response of the first request with that key, see
+ * {@link IdempotencyStore}.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+public class BankAccountController {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String REPLAYED = "Idempotent-Replayed";
+
+    private final BankAccountApplicationService accountService;
+    private final IdempotencyStore idempotencyStore;
+
+    public BankAccountController(BankAccountApplicationService accountService, IdempotencyStore idempotencyStore) {
+        this.accountService = accountService;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> openAccount(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+                                         @RequestBody OpenAccountRequest request) {
+        return idempotent(key, new Command("open", null, request), () -> {
+            AccountId accountId = accountService.openAccount(request.accountNumber(), request.accountHolderName(),
+                    request.initialDeposit(), request.dailyWithdrawalLimit());
+            return ResponseEntity.status(HttpStatus.CREATED).body(new OpenAccountResponse(accountId.value()));
+        });
+    }
+
+    @PostMapping("/{accountId}/deposits")
+    public ResponseEntity<?> deposit(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+                                     @PathVariable String accountId,
+                                     @RequestBody AccountTransactionRequest request) {
+        return idempotent(key, new Command("deposit", accountId, request), () -> {
+            accountService.deposit(AccountId.of(accountId), request.amount(), request.description());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @PostMapping("/{accountId}/withdrawals")
+    public ResponseEntity<?> withdraw(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+                                      @PathVariable String accountId,
+                                      @RequestBody AccountTransactionRequest request) {
+        return idempotent(key, new Command("withdraw", accountId, request), () -> {
+            accountService.withdraw(AccountId.of(accountId), request.amount(), request.description());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @PostMapping("/{accountId}/freeze")
+    public ResponseEntity<?> freeze(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+                                    @PathVariable String accountId) {
+        return idempotent(key, new Command("freeze", accountId, null), () -> {
+            accountService.freezeAccount(AccountId.of(accountId));
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @ExceptionHandler(IdempotencyStore.InFlightException.class)
+    public ResponseEntity<String> handleInFlight(IdempotencyStore.InFlightException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyStore.KeyReuseException.class)
+    public ResponseEntity<String> handleKeyReuse(IdempotencyStore.KeyReuseException e) {
+        return ResponseEntity.unprocessableEntity().body(e.getMessage());
+    }
+
+    private ResponseEntity<?> idempotent(String key, Command command, Supplier<ResponseEntity<?>> handler) {
+        if (key == null || key.isBlank()) {
+            return handle(handler);
+        }
+        // Rejections are as final as successes; server errors propagate and leave the key free for a retry
+        IdempotencyStore.Outcome<ResponseEntity<?>> outcome = idempotencyStore.execute(
+                key, command, () -> handle(handler), response -> !response.getStatusCode().is5xxServerError());
+        if (!outcome.replayed()) {
+            return outcome.result();
+        }
+        return ResponseEntity.status(outcome.result().getStatusCode())
+                .headers(outcome.result().getHeaders())
+                .header(REPLAYED, "true")
+                .body(outcome.result().getBody());
+    }
+
+    private static ResponseEntity<?> handle(Supplier<ResponseEntity<?>> handler) {
+        try {
+            return handler.get();
+        } catch (BusinessRuleViolationException e) {
+            return ResponseEntity.unprocessableEntity().body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /** What a key is bound to: a repeated key must come with an equal command. */
+    private record Command(String operation, String accountId, Object request) {}
+}
@@ -0,0 +1,206 @@
+package com.example.banking.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of each command sent with an idempotency key so that a retry replays
+ * it instead of running the command again.
+ * <p>
+ * The first request for a key claims it and runs the command; requests arriving while it runs
+ * wait for its outcome rather than queueing another execution. Only outcomes the caller marks
+ * as final are kept; anything else, including an exception, releases the key so a later retry
+ * runs the command afresh. Entries expire after the configured TTL and the oldest completed
+ * ones are dropped once the store holds more than its maximum.
+ */
+@Component
+public class IdempotencyStore {
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Insertion order is also expiry order, since every entry gets the same TTL
+    private final Queue<Entry> expiryQueue = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration inFlightWait;
+    private final Clock clock;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter inFlightConflicts;
+    private final Counter keyReuses;
+    private final Counter evictions;
+
+    @Autowired
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${banking.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${banking.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${banking.idempotency.in-flight-wait:5s}") Duration inFlightWait) {
+        this(meterRegistry, maxEntries, ttl, inFlightWait, Clock.systemUTC());
+    }
+
+    IdempotencyStore(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Duration inFlightWait, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Idempotency store needs room for at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.inFlightWait = inFlightWait;
+        this.clock = clock;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.inFlightConflicts = requests(meterRegistry, "in_flight");
+        this.keyReuses = requests(meterRegistry, "key_reused");
+        this.evictions = Counter.builder("banking.idempotency.evictions")
+                .description("Completed idempotency entries dropped to stay within the maximum size")
+                .register(meterRegistry);
+        Gauge.builder("banking.idempotency.entries", entries, ConcurrentHashMap::size)
+                .register(meterRegistry);
+    }
+
+    /** What a request produced, and whether it was replayed from an earlier execution. */
+    public record Outcome<T>(T result, boolean replayed) {}
+
+    /** Raised when a key is still being processed after the in-flight wait has passed. */
+    public static class InFlightException extends RuntimeException {
+        InFlightException(String key) {
+            super("Request with idempotency key " + key + " is still being processed");
+        }
+    }
+
+    /** Raised when a key is sent again with a different request than the one it was first used for. */
+    public static class KeyReuseException extends RuntimeException {
+        KeyReuseException(String key) {
+            super("Idempotency key " + key + " was already used for a different request");
+        }
+    }
+
+    /**
+     * Runs {@code command} unless {@code key} was already used for an equal {@code request}, in
+     * which case the stored result is returned. {@code isFinal} decides whether a result is
+     * kept for replay.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String key, Object request, Supplier<T> command, Predicate<T> isFinal) {
+        Objects.requireNonNull(key, "key");
+        while (true) {
+            long now = clock.millis();
+            Entry claimed = new Entry(key, request, now + ttl.toMillis());
+            Entry existing = entries.putIfAbsent(key, claimed);
+            if (existing != null && existing.expiresAt <= now) {
+                // Expired but not yet evicted; take its place unless someone else already has
+                if (!entries.replace(key, existing, claimed)) {
+                    continue;
+                }
+                existing = null;
+            }
+            if (existing == null) {
+                expiryQueue.add(claimed);
+                evict(now);
+                return new Outcome<>((T) run(claimed, command, (Predicate<Object>) isFinal), false);
+            }
+            if (!existing.request.equals(request)) {
+                keyReuses.increment();
+                throw new KeyReuseException(key);
+            }
+            Object result = await(existing);
+            if (result != Entry.RELEASED) {
+                replayed.increment();
+                return new Outcome<>((T) result, true);
+            }
+            // The first attempt did not produce a final result, so this one gets to try
+        }
+    }
+
+    private Object run(Entry entry, Supplier<?> command, Predicate<Object> isFinal) {
+        executed.increment();
+        Object result;
+        try {
+            result = command.get();
+        } catch (RuntimeException | Error e) {
+            release(entry);
+            throw e;
+        }
+        if (isFinal.test(result)) {
+            entry.outcome.complete(result);
+        } else {
+            release(entry);
+        }
+        return result;
+    }
+
+    private void release(Entry entry) {
+        entries.remove(entry.key, entry);
+        entry.outcome.complete(Entry.RELEASED);
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.outcome.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            inFlightConflicts.increment();
+            throw new InFlightException(entry.key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InFlightException(entry.key);
+        } catch (ExecutionException e) {
+            // Outcomes are never completed exceptionally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = expiryQueue.peek()) != null) {
+            boolean gone = entries.get(oldest.key) != oldest;
+            boolean expired = oldest.expiresAt <= now;
+            // A command still running keeps its claim even when the store is over its maximum
+            boolean overflowing = entries.size() > maxEntries && oldest.outcome.isDone();
+            if (!gone && !expired && !overflowing) {
+                return;
+            }
+            if (expiryQueue.remove(oldest) && !gone && entries.remove(oldest.key, oldest) && !expired) {
+                evictions.increment();
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("banking.idempotency.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        static final Object RELEASED = new Object();
+
+        final String key;
+        final Object request;
+        final long expiresAt;
+        final CompletableFuture<Object> outcome = new CompletableFuture<>();
+
+        Entry(String key, Object request, long expiresAt) {
+            this.key = key;
+            this.request = request;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
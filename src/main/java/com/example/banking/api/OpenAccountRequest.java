@@ -0,0 +1,10 @@
+package com.example.banking.api;
+
+import java.math.BigDecimal;
+
+record OpenAccountRequest(
+    String accountNumber,
+    String accountHolderName,
+    BigDecimal initialDeposit,
+    BigDecimal dailyWithdrawalLimit
+) {}
@@ -0,0 +1,3 @@
+package com.example.banking.api;
+
+record OpenAccountResponse(String accountId) {}
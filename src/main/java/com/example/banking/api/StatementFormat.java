@@ -0,0 +1,26 @@
+package com.example.banking.api;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+enum StatementFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    StatementFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String fileExtension() {
+        return fileExtension;
+    }
+}
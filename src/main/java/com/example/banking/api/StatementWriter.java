@@ -0,0 +1,100 @@
+package com.example.banking.api;
+
+import com.example.banking.query.TransactionView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Serializes statement lines one at a time straight onto the response writer. Nothing is
+ * retained between lines; buffering is left to the underlying writer.
+ */
+abstract class StatementWriter {
+    protected final Writer writer;
+
+    private StatementWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    static StatementWriter open(StatementFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(writer);
+            case NDJSON -> new Ndjson(writer, objectMapper);
+        };
+    }
+
+    final void write(TransactionView line) {
+        try {
+            writeLine(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void writeLine(TransactionView line) throws IOException;
+
+    void finish() throws IOException {
+        writer.flush();
+    }
+
+    private static final class Csv extends StatementWriter {
+        Csv(Writer writer) throws IOException {
+            super(writer);
+            writer.write("transaction_id,sequence,timestamp,type,amount,balance_after,description\n");
+        }
+
+        @Override
+        void writeLine(TransactionView line) throws IOException {
+            writer.write(line.transactionId());
+            writer.write(',');
+            writer.write(String.valueOf(line.sequence()));
+            writer.write(',');
+            writer.write(line.timestamp().toString());
+            writer.write(',');
+            writer.write(line.type().name());
+            writer.write(',');
+            writer.write(line.amount().toPlainString());
+            writer.write(',');
+            writer.write(line.balanceAfter().toPlainString());
+            writer.write(',');
+            writeQuoted(line.description());
+            writer.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class Ndjson extends StatementWriter {
+        private final ObjectWriter lineWriter;
+
+        Ndjson(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            // The response belongs to the container: never close it, and leave flushing to the buffer
+            this.lineWriter = objectMapper.writerFor(TransactionView.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        void writeLine(TransactionView line) throws IOException {
+            lineWriter.writeValue(writer, line);
+            writer.write('\n');
+        }
+    }
+}
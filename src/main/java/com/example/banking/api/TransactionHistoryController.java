@@ -0,0 +1,78 @@
+package com.example.banking.api;
+
+import com.example.banking.application.TransactionHistoryFilter;
+import com.example.banking.application.TransactionHistoryQueryService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.TransactionType;
+import com.example.banking.query.TransactionHistoryPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/accounts/{accountId}/transactions")
+public class TransactionHistoryController {
+    private static final Pattern UNSAFE_FILENAME_CHARACTERS = Pattern.compile("[^A-Za-z0-9_-]");
+
+    private final TransactionHistoryQueryService queryService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionHistoryController(TransactionHistoryQueryService queryService, ObjectMapper objectMapper) {
+        this.queryService = queryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public TransactionHistoryPage getHistory(
+            @PathVariable String accountId,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return queryService.getHistory(AccountId.of(accountId),
+                new TransactionHistoryFilter(type, from, to), cursor, size);
+    }
+
+    @GetMapping("/statement")
+    public void exportStatement(
+            @PathVariable String accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            HttpServletResponse response) throws IOException {
+        // Validated before the response is labelled a download, so a bad request gets a plain 400
+        AccountId id = AccountId.of(accountId);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Statement period must end after it starts");
+        }
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("statement-" + UNSAFE_FILENAME_CHARACTERS.matcher(id.value()).replaceAll("_")
+                        + "." + format.fileExtension())
+                .build()
+                .toString());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        StatementWriter statement = StatementWriter.open(format, writer, objectMapper);
+        queryService.streamStatement(id, from, to, statement::write);
+        statement.finish();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.banking.query.AccountBalanceView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of account balances and statuses, bounded to a fixed number of accounts
+ * with least-recently-used eviction.
+ *
+ * A miss loads the aggregate once; after that the entry is kept current from the balance events
+ * of committed transactions, so inquiries are answered from memory. Events from concurrent
+ * commits can arrive out of order, so an entry only moves forward: an update is applied only if
+ * it carries a later transaction sequence than the one already cached.
+ *
+ * Events for accounts that are not cached are remembered too (latest sequence, balance and
+ * whether the account was frozen), so a load that read the aggregate before such an event
+ * committed cannot put the older balance or status in the cache.
+ *
+ * Hot accounts (see {@link HotAccountService}) are read through and never cached: their shard
+ * deposits raise no events until they are settled, so an entry would miss them.
+ */
+@Component
+public class AccountBalanceCache {
+    private final BankAccountRepository accountRepository;
+    // Null unless hot accounts are enabled
+    private final HotAccountService hotAccounts;
+    private final Map<AccountId, CachedBalance> entries;
+    private final Map<String, AccountId> idsByAccountNumber = new HashMap<>();
+    private final Map<AccountId, MissedEvents> missedEvents;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter staleUpdates;
+    private final Timer updateLag;
+    private final Timer entryAge;
+
+    public AccountBalanceCache(BankAccountRepository accountRepository,
+                               MeterRegistry meterRegistry,
+                               Optional<HotAccountService> hotAccounts,
+                               @Value("${banking.balance-cache.max-size:10000}") int maxSize) {
+        this.accountRepository = accountRepository;
+        this.hotAccounts = hotAccounts.orElse(null);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AccountId, CachedBalance> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                idsByAccountNumber.remove(eldest.getValue().accountNumber());
+                evictions.increment();
+                return true;
+            }
+        };
+        // Bounded like the entries; kept in order of the latest event so in-flight loads see theirs
+        this.missedEvents = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AccountId, MissedEvents> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("banking.balance.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("banking.balance.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("banking.balance.cache.evictions").register(meterRegistry);
+        this.staleUpdates = Counter.builder("banking.balance.cache.stale.updates").register(meterRegistry);
+        // Time from the event being raised to the cache reflecting it
+        this.updateLag = Timer.builder("banking.balance.cache.update.lag").register(meterRegistry);
+        // How old the served entry was when it was read
+        this.entryAge = Timer.builder("banking.balance.cache.entry.age").register(meterRegistry);
+        Gauge.builder("banking.balance.cache.size", this, AccountBalanceCache::size).register(meterRegistry);
+    }
+
+    public Optional<AccountBalanceView> getBalance(AccountId accountId) {
+        if (isHot(accountId)) {
+            return accountRepository.findById(accountId).map(this::hotBalance);
+        }
+        CachedBalance cached = lookup(accountId);
+        if (cached != null) {
+            return Optional.of(cached.toView());
+        }
+        return accountRepository.findById(accountId).map(this::load);
+    }
+
+    public Optional<AccountBalanceView> getBalanceByAccountNumber(String accountNumber) {
+        CachedBalance cached;
+        synchronized (this) {
+            AccountId accountId = idsByAccountNumber.get(accountNumber);
+            cached = accountId != null ? entries.get(accountId) : null;
+        }
+        if (cached != null && !isHot(cached.accountId())) {
+            return Optional.of(hit(cached).toView());
+        }
+        misses.increment();
+        return accountRepository.findByAccountNumber(accountNumber)
+                .map(account -> isHot(account.getId()) ? hotBalance(account) : load(account));
+    }
+
+    @TransactionalEventListener
+    public void onDeposit(DepositMadeEvent event) {
+        update(event.getAccountId(), event.getNewBalance(), event.getTransactionSequence(), event.getOccurredOn());
+    }
+
+    @TransactionalEventListener
+    public void onWithdrawal(WithdrawalMadeEvent event) {
+        update(event.getAccountId(), event.getNewBalance(), event.getTransactionSequence(), event.getOccurredOn());
+    }
+
+    @TransactionalEventListener
+    public void onAccountFrozen(AccountFrozenEvent event) {
+        AccountId accountId = event.getAccountId();
+        synchronized (this) {
+            // Freezing is final, so it applies whatever order it arrives in
+            CachedBalance cached = entries.get(accountId);
+            if (cached != null) {
+                entries.put(accountId, cached.withStatus(AccountStatus.FROZEN));
+            } else {
+                MissedEvents missed = missedEvents.remove(accountId);
+                missedEvents.put(accountId, missed != null ? missed.withFrozen() : MissedEvents.FROZEN);
+            }
+        }
+        recordLag(event.getOccurredOn());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private CachedBalance lookup(AccountId accountId) {
+        CachedBalance cached;
+        synchronized (this) {
+            cached = entries.get(accountId);
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        return hit(cached);
+    }
+
+    private CachedBalance hit(CachedBalance cached) {
+        hits.increment();
+        entryAge.record(Duration.between(cached.asOf(), LocalDateTime.now()));
+        return cached;
+    }
+
+    private boolean isHot(AccountId accountId) {
+        return hotAccounts != null && hotAccounts.isHot(accountId);
+    }
+
+    private AccountBalanceView hotBalance(BankAccount account) {
+        Amount balance = hotAccounts.getBalance(account.getId()).orElse(account.getBalance());
+        return new AccountBalanceView(account.getId().value(), account.getAccountNumber(), balance.toBigDecimal(),
+                account.getStatus(), LocalDateTime.now());
+    }
+
+    private AccountBalanceView load(BankAccount account) {
+        CachedBalance loaded = new CachedBalance(account.getId(), account.getAccountNumber(), account.getBalance(),
+                account.getStatus(), account.getLastTransactionSequence(), LocalDateTime.now());
+        synchronized (this) {
+            // Events may have committed while the aggregate was loading
+            MissedEvents missed = missedEvents.remove(loaded.accountId());
+            if (missed != null) {
+                loaded = missed.applyTo(loaded);
+            }
+            CachedBalance current = entries.merge(loaded.accountId(), loaded, CachedBalance::latest);
+            idsByAccountNumber.put(current.accountNumber(), current.accountId());
+            return current.toView();
+        }
+    }
+
+    private void update(AccountId accountId, Amount balance, long sequence, LocalDateTime occurredOn) {
+        boolean stale = false;
+        synchronized (this) {
+            CachedBalance cached = entries.get(accountId);
+            if (cached == null) {
+                MissedEvents missed = missedEvents.remove(accountId);
+                missedEvents.put(accountId, missed != null ? missed.withBalance(balance, sequence)
+                        : new MissedEvents(balance, sequence, false));
+            } else if (sequence > cached.sequence()) {
+                entries.put(accountId, new CachedBalance(accountId, cached.accountNumber(), balance,
+                        cached.status(), sequence, LocalDateTime.now()));
+            } else {
+                stale = true;
+            }
+        }
+        if (stale) {
+            staleUpdates.increment();
+        }
+        recordLag(occurredOn);
+    }
+
+    private void recordLag(LocalDateTime occurredOn) {
+        updateLag.record(Duration.between(occurredOn, LocalDateTime.now()));
+    }
+
+    private record MissedEvents(Amount balance, long sequence, boolean frozen) {
+        static final MissedEvents FROZEN = new MissedEvents(null, -1, true);
+
+        MissedEvents withBalance(Amount newBalance, long newSequence) {
+            return newSequence > sequence ? new MissedEvents(newBalance, newSequence, frozen) : this;
+        }
+
+        MissedEvents withFrozen() {
+            return new MissedEvents(balance, sequence, true);
+        }
+
+        CachedBalance applyTo(CachedBalance loaded) {
+            CachedBalance result = balance != null && sequence > loaded.sequence()
+                    ? new CachedBalance(loaded.accountId(), loaded.accountNumber(), balance, loaded.status(),
+                            sequence, loaded.asOf())
+                    : loaded;
+            return frozen ? result.withStatus(AccountStatus.FROZEN) : result;
+        }
+    }
+
+    private record CachedBalance(AccountId accountId, String accountNumber, Amount balance,
+                                 AccountStatus status, long sequence, LocalDateTime asOf) {
+
+        CachedBalance withStatus(AccountStatus newStatus) {
+            return new CachedBalance(accountId, accountNumber, balance, newStatus, sequence, LocalDateTime.now());
+        }
+
+        static CachedBalance latest(CachedBalance current, CachedBalance loaded) {
+            CachedBalance newer = loaded.sequence() > current.sequence() ? loaded : current;
+            boolean frozen = current.status() == AccountStatus.FROZEN || loaded.status() == AccountStatus.FROZEN;
+            return frozen ? newer.withStatus(AccountStatus.FROZEN) : newer;
+        }
+
+        AccountBalanceView toView() {
+            return new AccountBalanceView(accountId.value(), accountNumber, balance.toBigDecimal(), status, asOf);
+        }
+    }
+}
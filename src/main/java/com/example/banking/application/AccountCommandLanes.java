@@ -0,0 +1,240 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.shared.domain.DomainEvent;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Opt-in single-writer execution for hot accounts (banking.lanes.enabled=true).
+ *
+ * Every account is pinned to one of a fixed number of lanes by the hash of its id, so
+ * commands for the same account are applied one at a time and in submission order, while
+ * different lanes run in parallel. A lane keeps the aggregates it owns in memory and applies
+ * everything queued for it in one transaction, saving each touched account once per batch.
+ * The version check on save still protects against writers outside the lanes; on a conflict
+ * the cached copies are dropped and the batch is re-run from a fresh load.
+ *
+ * {@link BankAccountApplicationService} routes its withdrawals, deposits and freezes through
+ * the lanes when they are enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.lanes.enabled", havingValue = "true")
+public class AccountCommandLanes {
+    private static final Logger logger = LoggerFactory.getLogger(AccountCommandLanes.class);
+
+    private final BankAccountRepository accountRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final OptimisticLockRetryPolicy retryPolicy;
+    private final Lane[] lanes;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private volatile boolean running;
+
+    public AccountCommandLanes(BankAccountRepository accountRepository,
+                               DomainEventPublisher eventPublisher,
+                               OptimisticLockRetryPolicy retryPolicy,
+                               MeterRegistry meterRegistry,
+                               @Value("${banking.lanes.workers:8}") int workers,
+                               @Value("${banking.lanes.queue-capacity:10000}") int queueCapacity,
+                               @Value("${banking.lanes.max-batch-size:100}") int maxBatchSize,
+                               @Value("${banking.lanes.cached-accounts-per-lane:1024}") int cachedAccountsPerLane) {
+        this.accountRepository = accountRepository;
+        this.eventPublisher = eventPublisher;
+        this.retryPolicy = retryPolicy;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("banking.lanes.batch.size")
+                .register(meterRegistry);
+        this.lanes = new Lane[workers];
+        for (int i = 0; i < workers; i++) {
+            lanes[i] = new Lane(i, queueCapacity, cachedAccountsPerLane);
+            Gauge.builder("banking.lanes.queue.depth", lanes[i].queue, Collection::size)
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+        for (Lane lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+            List<LaneCommand> abandoned = new ArrayList<>();
+            lane.queue.drainTo(abandoned);
+            abandoned.forEach(command -> command.result()
+                    .completeExceptionally(new RejectedExecutionException("Account lanes stopped")));
+        }
+    }
+
+    public CompletableFuture<Void> withdraw(AccountId accountId, BigDecimal amount, String description) {
+        Amount value = Amount.of(amount);
+        return submit(accountId, account -> {
+            account.withdraw(value, description);
+            return new WithdrawalMadeEvent(accountId, value, account.getBalance(),
+                    account.getLastTransactionSequence());
+        });
+    }
+
+    public CompletableFuture<Void> deposit(AccountId accountId, BigDecimal amount, String description) {
+        Amount value = Amount.of(amount);
+        return submit(accountId, account -> {
+            account.deposit(value, description);
+            return new DepositMadeEvent(accountId, value, account.getBalance(),
+                    account.getLastTransactionSequence());
+        });
+    }
+
+    public CompletableFuture<Void> freezeAccount(AccountId accountId) {
+        return submit(accountId, account -> {
+            account.freeze();
+            return new AccountFrozenEvent(accountId);
+        });
+    }
+
+    private CompletableFuture<Void> submit(AccountId accountId, Function<BankAccount, DomainEvent> action) {
+        if (!running) {
+            throw new RejectedExecutionException("Account lanes are not running");
+        }
+        LaneCommand command = new LaneCommand(accountId, action, new CompletableFuture<>());
+        Lane lane = lanes[Math.floorMod(accountId.hashCode(), lanes.length)];
+        try {
+            // Blocks when the lane is saturated, pushing back on the producer
+            lane.queue.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing command for " + accountId, e);
+        }
+        return command.result();
+    }
+
+    private record LaneCommand(AccountId accountId,
+                               Function<BankAccount, DomainEvent> action,
+                               CompletableFuture<Void> result) {}
+
+    private final class Lane implements Runnable {
+        private final BlockingQueue<LaneCommand> queue;
+        private final Map<AccountId, BankAccount> cache;
+        private final Thread thread;
+
+        private Lane(int index, int queueCapacity, int cachedAccounts) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            // Only this lane's thread touches the cache, so a plain access-ordered LRU is enough
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<AccountId, BankAccount> eldest) {
+                    return size() > cachedAccounts;
+                }
+            };
+            this.thread = new Thread(this, "account-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<LaneCommand> batch = new ArrayList<>(maxBatchSize);
+            while (running) {
+                try {
+                    LaneCommand first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    batchSizes.record(batch.size());
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    logger.error("Unexpected failure in account lane {}", thread.getName(), e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void process(List<LaneCommand> batch) {
+            List<DomainEvent> outcomes = new ArrayList<>(batch.size());
+            Map<LaneCommand, RuntimeException> rejected = new HashMap<>();
+
+            try {
+                retryPolicy.run("lane-batch", () -> {
+                    outcomes.clear();
+                    rejected.clear();
+                    Map<AccountId, BankAccount> touched = new LinkedHashMap<>();
+                    try {
+                        for (LaneCommand command : batch) {
+                            try {
+                                BankAccount account = touched.computeIfAbsent(command.accountId(), this::cachedOrLoad);
+                                outcomes.add(command.action().apply(account));
+                            } catch (RuntimeException e) {
+                                // Rules are checked before beforeStateChange(), so a rejected command leaves the
+                                // aggregate and its version untouched; carry on with the rest
+                                outcomes.add(null);
+                                rejected.put(command, e);
+                            }
+                        }
+                        touched.values().forEach(accountRepository::save);
+                        outcomes.stream().filter(Objects::nonNull).forEach(eventPublisher::publishEvent);
+                    } catch (RuntimeException e) {
+                        // In-memory copies may now be ahead of the database
+                        touched.keySet().forEach(cache::remove);
+                        throw e;
+                    }
+                });
+            } catch (RuntimeException e) {
+                batch.forEach(command -> cache.remove(command.accountId()));
+                batch.forEach(command -> command.result().completeExceptionally(e));
+                return;
+            }
+
+            for (LaneCommand command : batch) {
+                RuntimeException failure = rejected.get(command);
+                if (failure != null) {
+                    command.result().completeExceptionally(failure);
+                } else {
+                    command.result().complete(null);
+                }
+            }
+        }
+
+        private BankAccount cachedOrLoad(AccountId accountId) {
+            BankAccount account = cache.get(accountId);
+            if (account == null) {
+                account = accountRepository.findById(accountId)
+                        .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+                cache.put(accountId, account);
+            }
+            return account;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.banking.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A slice of the account id space, {@code afterId < id < beforeId}, for batch jobs that walk the
+ * whole book in parallel. A null bound leaves that side open.
+ */
+public record AccountIdRange(int index, String afterId, String beforeId) {
+    // Account ids are UUIDs; ranges split the space of their first four hex digits
+    static final long ID_PREFIX_SPACE = 0x10000;
+
+    /** Splits the id space into {@code count} contiguous ranges that together cover every id. */
+    public static List<AccountIdRange> split(int count) {
+        if (count < 1 || count > ID_PREFIX_SPACE) {
+            throw new IllegalArgumentException("Account id ranges must number between 1 and " + ID_PREFIX_SPACE);
+        }
+        List<AccountIdRange> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ranges.add(new AccountIdRange(i, bound(i, count), bound(i + 1, count)));
+        }
+        return ranges;
+    }
+
+    public boolean contains(String accountId) {
+        return (afterId == null || accountId.compareTo(afterId) > 0)
+                && (beforeId == null || accountId.compareTo(beforeId) < 0);
+    }
+
+    private static String bound(int index, int count) {
+        if (index <= 0 || index >= count) {
+            return null;
+        }
+        return String.format("%04x", index * ID_PREFIX_SPACE / count);
+    }
+}
@@ -1,24 +1,58 @@
 package com.example.banking.application;
 
 import com.example.banking.domain.*;
+import com.example.shared.domain.BusinessRuleViolationException;
+import com.example.shared.domain.DomainEvent;
 import com.example.shared.domain.DomainEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
 
+/**
+ * Commands that modify an existing account run through {@link OptimisticLockRetryPolicy},
+ * which owns their transaction so that a lost version race can be retried from a fresh load.
+ *
+ * With banking.hot-accounts.enabled, deposits to a hot account go to its balance shards, and
+ * every other command loads a hot account through {@link HotAccountService} with its shards
+ * settled first, so the business rules see the whole balance.
+ *
+ * With banking.lanes.enabled, withdrawals, deposits and freezes of other accounts are handed to
+ * {@link AccountCommandLanes} and the caller waits for the outcome. Commands issued inside a
+ * caller's transaction stay in it, as a lane commits in a transaction of its own.
+ */
 @Service
-@Transactional
 public class BankAccountApplicationService {
     private final BankAccountRepository accountRepository;
     private final DomainEventPublisher eventPublisher;
+    private final OptimisticLockRetryPolicy retryPolicy;
+    // Null unless hot accounts are enabled
+    private final HotAccountService hotAccounts;
+    // Null unless account lanes are enabled
+    private final AccountCommandLanes lanes;
+    private final int batchAccountsPerTransaction;
 
     public BankAccountApplicationService(BankAccountRepository accountRepository, 
-                                       DomainEventPublisher eventPublisher) {
+                                       DomainEventPublisher eventPublisher,
+                                       OptimisticLockRetryPolicy retryPolicy,
+                                       Optional<HotAccountService> hotAccounts,
+                                       Optional<AccountCommandLanes> lanes,
+                                       @Value("${banking.batch.accounts-per-transaction:200}") int batchAccountsPerTransaction) {
         this.accountRepository = accountRepository;
         this.eventPublisher = eventPublisher;
+        this.retryPolicy = retryPolicy;
+        this.hotAccounts = hotAccounts.orElse(null);
+        this.lanes = lanes.orElse(null);
+        this.batchAccountsPerTransaction = batchAccountsPerTransaction;
     }
 
+    @Transactional
     public AccountId openAccount(String accountNumber, String accountHolderName, 
                                BigDecimal initialDeposit, BigDecimal dailyWithdrawalLimit) {
         AccountId accountId = AccountId.generate();
@@ -27,8 +61,8 @@ public class BankAccountApplicationService {
             accountId, 
             accountNumber, 
             accountHolderName, 
-            initialDeposit, 
-            dailyWithdrawalLimit
+            Amount.of(initialDeposit), 
+            Amount.of(dailyWithdrawalLimit)
         );
         
         accountRepository.save(account);
@@ -38,51 +72,229 @@ public class BankAccountApplicationService {
             accountId, 
             accountNumber, 
             accountHolderName, 
-            initialDeposit
+            account.getBalance()
         ));
         
         return accountId;
     }
 
     public void withdraw(AccountId accountId, BigDecimal amount, String description) {
-        BankAccount account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
-        
-        BigDecimal balanceBeforeWithdrawal = account.getBalance();
-        account.withdraw(amount, description);
-        accountRepository.save(account);
-        
-        // Publish domain event via Spring
-        eventPublisher.publishEvent(new WithdrawalMadeEvent(
-            accountId, 
-            amount, 
-            account.getBalance()
-        ));
+        if (useLanes(accountId)) {
+            await(lanes.withdraw(accountId, amount, description));
+            return;
+        }
+        Amount value = Amount.of(amount);
+        retryPolicy.run("withdraw", () -> {
+            BankAccount account = load(accountId);
+            
+            account.withdraw(value, description);
+            accountRepository.save(account);
+            
+            // Publish domain event via Spring
+            eventPublisher.publishEvent(new WithdrawalMadeEvent(
+                accountId, 
+                value, 
+                account.getBalance(),
+                account.getLastTransactionSequence()
+            ));
+        });
     }
 
     public void deposit(AccountId accountId, BigDecimal amount, String description) {
-        BankAccount account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
-        
-        account.deposit(amount, description);
-        accountRepository.save(account);
+        if (isHot(accountId)) {
+            hotAccounts.deposit(accountId, amount, description);
+            return;
+        }
+        if (useLanes(accountId)) {
+            await(lanes.deposit(accountId, amount, description));
+            return;
+        }
+        Amount value = Amount.of(amount);
+        retryPolicy.run("deposit", () -> {
+            BankAccount account = load(accountId);
+            
+            account.deposit(value, description);
+            accountRepository.save(account);
+            
+            // Publish domain event via Spring
+            eventPublisher.publishEvent(new DepositMadeEvent(
+                accountId, 
+                value, 
+                account.getBalance(),
+                account.getLastTransactionSequence()
+            ));
+        });
+    }
+
+    /**
+     * Debits one account and credits another in a single transaction. Both aggregates are loaded
+     * and written in canonical {@link AccountId} order, so the row locks taken at flush are always
+     * acquired in the same order and opposing transfers cannot deadlock; a lost version race
+     * re-runs the whole transfer.
+     */
+    public void transfer(AccountId sourceId, AccountId targetId, BigDecimal amount, String description) {
+        if (sourceId.equals(targetId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account: " + sourceId);
+        }
         
-        // Publish domain event via Spring
-        eventPublisher.publishEvent(new DepositMadeEvent(
-            accountId, 
-            amount, 
-            account.getBalance()
-        ));
+        Amount value = Amount.of(amount);
+        retryPolicy.run("transfer", () -> {
+            List<AccountId> lockOrder = sourceId.value().compareTo(targetId.value()) < 0
+                    ? List.of(sourceId, targetId)
+                    : List.of(targetId, sourceId);
+            Map<AccountId, BankAccount> accounts = new LinkedHashMap<>();
+            for (AccountId accountId : lockOrder) {
+                accounts.put(accountId, load(accountId));
+            }
+            BankAccount source = accounts.get(sourceId);
+            BankAccount target = accounts.get(targetId);
+            
+            source.withdraw(value, description);
+            target.deposit(value, description);
+            accountRepository.saveAll(accounts.values());
+            
+            eventPublisher.publishEvent(new WithdrawalMadeEvent(sourceId, value, source.getBalance(),
+                    source.getLastTransactionSequence()));
+            eventPublisher.publishEvent(new DepositMadeEvent(targetId, value, target.getBalance(),
+                    target.getLastTransactionSequence()));
+        });
     }
 
     public void freezeAccount(AccountId accountId) {
-        BankAccount account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
-        
-        account.freeze();
-        accountRepository.save(account);
-        
-        // Publish domain event via Spring
-        eventPublisher.publishEvent(new AccountFrozenEvent(accountId));
+        if (useLanes(accountId)) {
+            await(lanes.freezeAccount(accountId));
+            return;
+        }
+        retryPolicy.run("freeze", () -> {
+            BankAccount account = load(accountId);
+            
+            account.freeze();
+            accountRepository.save(account);
+            
+            // Publish domain event via Spring
+            eventPublisher.publishEvent(new AccountFrozenEvent(accountId));
+        });
+    }
+
+    public List<BatchEntryResult> depositBatch(List<BatchEntry> entries) {
+        return applyBatch("deposit-batch", entries, (account, entry) -> {
+            Amount value = Amount.of(entry.amount());
+            account.deposit(value, entry.description());
+            return new DepositMadeEvent(entry.accountId(), value, account.getBalance(),
+                    account.getLastTransactionSequence());
+        });
+    }
+
+    public List<BatchEntryResult> withdrawBatch(List<BatchEntry> entries) {
+        return applyBatch("withdraw-batch", entries, (account, entry) -> {
+            Amount value = Amount.of(entry.amount());
+            account.withdraw(value, entry.description());
+            return new WithdrawalMadeEvent(entry.accountId(), value, account.getBalance(),
+                    account.getLastTransactionSequence());
+        });
+    }
+
+    /**
+     * Groups the entries by account and applies each group, in input order, to a single loaded
+     * aggregate. Accounts are written in chunks, one transaction and one flush per chunk.
+     * Entries that break a business rule are reported and skipped without affecting the others.
+     * If a chunk cannot be committed, its entries are reported as failed; chunks that were
+     * already committed stay applied. Results are returned in input order.
+     */
+    private List<BatchEntryResult> applyBatch(String command, List<BatchEntry> entries,
+                                              BiFunction<BankAccount, BatchEntry, DomainEvent> operation) {
+        BatchEntryResult[] results = new BatchEntryResult[entries.size()];
+        Map<AccountId, List<Integer>> entriesByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            entriesByAccount.computeIfAbsent(entries.get(i).accountId(), id -> new ArrayList<>()).add(i);
+        }
+
+        List<AccountId> accountIds = new ArrayList<>(entriesByAccount.keySet());
+        for (int from = 0; from < accountIds.size(); from += batchAccountsPerTransaction) {
+            List<AccountId> chunk = accountIds.subList(from, Math.min(from + batchAccountsPerTransaction, accountIds.size()));
+            try {
+                retryPolicy.run(command, () -> applyChunk(chunk, entriesByAccount, entries, results, operation));
+            } catch (RuntimeException e) {
+                for (AccountId accountId : chunk) {
+                    for (int index : entriesByAccount.get(accountId)) {
+                        results[index] = BatchEntryResult.failed(entries.get(index), e.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void applyChunk(List<AccountId> chunk, Map<AccountId, List<Integer>> entriesByAccount,
+                            List<BatchEntry> entries, BatchEntryResult[] results,
+                            BiFunction<BankAccount, BatchEntry, DomainEvent> operation) {
+        // Runs again from a fresh load on a version conflict, overwriting the chunk's results
+        List<BankAccount> modified = new ArrayList<>();
+        List<DomainEvent> events = new ArrayList<>();
+
+        for (AccountId accountId : chunk) {
+            List<Integer> indexes = entriesByAccount.get(accountId);
+            Optional<BankAccount> found = find(accountId);
+            if (found.isEmpty()) {
+                indexes.forEach(index -> results[index] =
+                        BatchEntryResult.rejected(entries.get(index), "Account not found: " + accountId));
+                continue;
+            }
+
+            BankAccount account = found.get();
+            boolean changed = false;
+            for (int index : indexes) {
+                BatchEntry entry = entries.get(index);
+                try {
+                    events.add(operation.apply(account, entry));
+                    results[index] = BatchEntryResult.applied(entry);
+                    changed = true;
+                } catch (BusinessRuleViolationException | IllegalArgumentException e) {
+                    // Rules are checked before beforeStateChange(), so the aggregate and its version are untouched
+                    results[index] = BatchEntryResult.rejected(entry, e.getMessage());
+                }
+            }
+            if (changed) {
+                modified.add(account);
+            }
+        }
+
+        accountRepository.saveAll(modified);
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private boolean isHot(AccountId accountId) {
+        return hotAccounts != null && hotAccounts.isHot(accountId);
+    }
+
+    // Hot accounts need their shards settled, which only the direct path does
+    private boolean useLanes(AccountId accountId) {
+        return lanes != null && !isHot(accountId) && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // Rethrows the lane's rejection as if the command had run on the caller's thread
+    private static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<BankAccount> find(AccountId accountId) {
+        // Settled and saved in the command's transaction, so it rolls back with the command
+        return isHot(accountId) ? Optional.of(hotAccounts.loadSettled(accountId)) : accountRepository.findById(accountId);
+    }
+
+    private BankAccount load(AccountId accountId) {
+        return find(accountId).orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactionHistory(AccountId accountId) {
+        return accountRepository.findTransactionHistory(accountId);
     }
 }
\ No newline at end of file
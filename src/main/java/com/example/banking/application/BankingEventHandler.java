@@ -6,11 +6,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Reactions to committed banking events. Invoked asynchronously and in per-account order by
+ * {@code BankingEventDispatcher}, never on the committing thread.
+ */
 @Component
 public class BankingEventHandler {
     private static final Logger logger = LoggerFactory.getLogger(BankingEventHandler.class);
 
-    @EventListener
+    private final WithdrawalVelocityDetector velocityDetector;
+
+    public BankingEventHandler(WithdrawalVelocityDetector velocityDetector) {
+        this.velocityDetector = velocityDetector;
+    }
+
     public void handleAccountOpened(AccountOpenedEvent event) {
         logger.info("Account opened: {} for {} with initial deposit of ${}", 
                    event.getAccountNumber(), 
@@ -23,20 +32,19 @@ public class BankingEventHandler {
         // - Compliance checks
     }
 
-    @EventListener
     public void handleWithdrawal(WithdrawalMadeEvent event) {
         logger.info("Withdrawal of ${} made from account: {}. New balance: ${}", 
                    event.getAmount(), 
                    event.getAccountId().value(), 
                    event.getNewBalance());
         
+        velocityDetector.record(event);
+        
         // Could trigger:
-        // - Fraud detection
         // - Low balance alerts
         // - Transaction notifications
     }
 
-    @EventListener
     public void handleDeposit(DepositMadeEvent event) {
         logger.info("Deposit of ${} made to account: {}. New balance: ${}", 
                    event.getAmount(), 
@@ -49,7 +57,6 @@ public class BankingEventHandler {
         // - Balance notifications
     }
 
-    @EventListener
     public void handleAccountFrozen(AccountFrozenEvent event) {
         logger.warn("Account frozen: {}", event.getAccountId().value());
         
@@ -58,4 +65,20 @@ public class BankingEventHandler {
         // - Compliance reporting
         // - Card deactivation
     }
-}
\ No newline at end of file
+
+    // Raised by the velocity detector on a dispatcher lane, outside any transaction
+    @EventListener
+    public void handleVelocityExceeded(WithdrawalVelocityExceededEvent event) {
+        logger.warn("Withdrawal velocity exceeded on account {}: {} withdrawals totalling ${} within {} (limits {} / ${})",
+                   event.getAccountId().value(),
+                   event.getWithdrawals(),
+                   event.getTotalWithdrawn(),
+                   event.getWindowLength(),
+                   event.getMaxWithdrawals(),
+                   event.getMaxTotal());
+        
+        // Could trigger:
+        // - Temporary account freeze
+        // - Case creation for manual review
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/** One line of a batch deposit or withdrawal, e.g. a payroll or settlement item. */
+public record BatchEntry(AccountId accountId, BigDecimal amount, String description) {
+    public BatchEntry {
+        Objects.requireNonNull(accountId, "accountId");
+        Objects.requireNonNull(amount, "amount");
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.banking.application;
+
+/**
+ * Outcome of one {@link BatchEntry}. REJECTED means the entry itself was refused (business rule
+ * or unknown account) while the rest of the batch went ahead; FAILED means the transaction it
+ * was part of could not be committed, so none of that transaction's entries were applied.
+ */
+public record BatchEntryResult(BatchEntry entry, Outcome outcome, String message) {
+
+    public enum Outcome { APPLIED, REJECTED, FAILED }
+
+    static BatchEntryResult applied(BatchEntry entry) {
+        return new BatchEntryResult(entry, Outcome.APPLIED, null);
+    }
+
+    static BatchEntryResult rejected(BatchEntry entry, String message) {
+        return new BatchEntryResult(entry, Outcome.REJECTED, message);
+    }
+
+    static BatchEntryResult failed(BatchEntry entry, String message) {
+        return new BatchEntryResult(entry, Outcome.FAILED, message);
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+}
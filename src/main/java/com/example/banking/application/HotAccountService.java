@@ -0,0 +1,255 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Opt-in sharded balances for accounts that take deposits faster than a single row can
+ * (banking.hot-accounts.enabled=true).
+ *
+ * An account made hot with {@link #enable} gets K {@link BalanceShard}s. A deposit picks one,
+ * at random or by the calling thread, and writes only that shard, so up to K deposits to the
+ * same account commit in parallel. A withdrawal first settles every shard into the account
+ * under row locks and then withdraws through the account itself, so the balance and daily limit
+ * rules see the full balance; balance reads add the shards to the account in a single query.
+ *
+ * Shard deposits reach the ledger, the domain events and the balance cache when they are
+ * settled, which also happens every {@code settle-interval}. Freezing the account closes its
+ * shards in the same transaction.
+ *
+ * {@link BankAccountApplicationService}, {@link AccountBalanceCache} and
+ * {@link InterestAccrualBatch} route hot accounts through here: deposits go to a shard, every
+ * other command and interest first settle the shards, and balance reads include them. Hot
+ * accounts are loaded at startup and added by {@link #enable}, so an account made hot by another
+ * instance is only routed here after a restart.
+ */
+@Service
+@ConditionalOnProperty(name = "banking.hot-accounts.enabled", havingValue = "true")
+public class HotAccountService {
+    private static final Logger logger = LoggerFactory.getLogger(HotAccountService.class);
+
+    /** How a deposit picks its shard. */
+    public enum ShardSelection { RANDOM, THREAD }
+
+    private final BankAccountRepository accountRepository;
+    private final BalanceShardRepository shardRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final OptimisticLockRetryPolicy retryPolicy;
+    private final ShardSelection shardSelection;
+    private final Duration settleInterval;
+    // Shard counts never change once an account is hot
+    private final Map<AccountId, Integer> shardCounts = new ConcurrentHashMap<>();
+    private final Set<AccountId> hotAccounts = ConcurrentHashMap.newKeySet();
+    private final Counter settledDeposits;
+    private ScheduledExecutorService scheduler;
+
+    public HotAccountService(BankAccountRepository accountRepository,
+                             BalanceShardRepository shardRepository,
+                             DomainEventPublisher eventPublisher,
+                             OptimisticLockRetryPolicy retryPolicy,
+                             MeterRegistry meterRegistry,
+                             @Value("${banking.hot-accounts.shard-selection:RANDOM}") ShardSelection shardSelection,
+                             @Value("${banking.hot-accounts.settle-interval:1s}") Duration settleInterval) {
+        this.accountRepository = accountRepository;
+        this.shardRepository = shardRepository;
+        this.eventPublisher = eventPublisher;
+        this.retryPolicy = retryPolicy;
+        this.shardSelection = shardSelection;
+        this.settleInterval = settleInterval;
+        this.settledDeposits = Counter.builder("banking.hot-accounts.settled")
+                .description("Shard deposits moved into their account's ledger")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        hotAccounts.addAll(shardRepository.findHotAccounts());
+        if (settleInterval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-account-settler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = settleInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::settleAllQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Spreads the account's future deposits over {@code shards} sub-balances. */
+    public void enable(AccountId accountId, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("A hot account needs at least one shard");
+        }
+        retryPolicy.run("hot-enable", () -> {
+            BankAccount account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+            if (account.getStatus() != AccountStatus.ACTIVE) {
+                throw new IllegalStateException("Only active accounts can be made hot: " + accountId);
+            }
+            if (shardRepository.countByAccountId(accountId) > 0) {
+                throw new IllegalStateException("Account is already hot: " + accountId);
+            }
+            shardRepository.saveAll(IntStream.range(0, shards)
+                    .mapToObj(index -> new BalanceShard(BalanceShardId.of(accountId, index)))
+                    .toList());
+        });
+        shardCounts.put(accountId, shards);
+        hotAccounts.add(accountId);
+    }
+
+    public boolean isHot(AccountId accountId) {
+        return hotAccounts.contains(accountId);
+    }
+
+    public void deposit(AccountId accountId, BigDecimal amount, String description) {
+        Amount value = Amount.of(amount);
+        int shards = shardCount(accountId);
+        // The shard is picked inside the retried block, so a conflict is usually retried elsewhere
+        retryPolicy.run("hot-deposit", () -> {
+            BalanceShardId shardId = BalanceShardId.of(accountId, pickShard(shards));
+            BalanceShard shard = shardRepository.findById(shardId)
+                    .orElseThrow(() -> new IllegalStateException("Balance shard not found: " + shardId));
+
+            shard.deposit(value, description);
+            shardRepository.saveAll(List.of(shard));
+        });
+    }
+
+    /** The account's balance including deposits still waiting in its shards. */
+    public Optional<Amount> getBalance(AccountId accountId) {
+        return shardRepository.findTotalBalance(accountId);
+    }
+
+    /** Moves everything waiting in the account's shards into its ledger; returns the number of deposits moved. */
+    public int settle(AccountId accountId) {
+        return retryPolicy.execute("hot-settle", () -> settleAndSave(accountId).events().size());
+    }
+
+    /**
+     * Settles the account's shards in the caller's transaction and returns the account, with
+     * their deposits already saved, for a command that goes on to change it.
+     */
+    BankAccount loadSettled(AccountId accountId) {
+        return settleAndSave(accountId).account();
+    }
+
+    // Runs in the freezing transaction, which already holds the account row
+    @EventListener
+    public void onAccountFrozen(AccountFrozenEvent event) {
+        if (!isHot(event.getAccountId())) {
+            return;
+        }
+        retryPolicy.run("hot-close", () -> {
+            List<BalanceShard> shards = shardRepository.lockByAccountId(event.getAccountId());
+            shards.forEach(BalanceShard::close);
+            shardRepository.saveAll(shards);
+        });
+    }
+
+    private void settleAllQuietly() {
+        for (AccountId accountId : shardRepository.findAccountsWithUnsettledDeposits()) {
+            try {
+                settle(accountId);
+            } catch (RuntimeException e) {
+                logger.warn("Settling balance shards of {} failed; will retry on the next run", accountId, e);
+            }
+        }
+    }
+
+    private Settlement settleAndSave(AccountId accountId) {
+        Settlement settlement = settleShards(accountId);
+        if (!settlement.events().isEmpty()) {
+            accountRepository.save(settlement.account());
+            settlement.events().forEach(eventPublisher::publishEvent);
+        }
+        return settlement;
+    }
+
+    // Settles the shards and returns the account with their deposits applied; the caller saves it
+    private Settlement settleShards(AccountId accountId) {
+        List<BalanceShard> shards = shardRepository.lockByAccountId(accountId);
+        // Loaded after the lock, so neither the account nor the shards can change underneath
+        BankAccount account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        List<ShardDeposit> deposits = shardRepository.findUnsettledDeposits(accountId);
+
+        Amount waiting = shards.stream().map(BalanceShard::getBalance).reduce(Amount.ZERO, Amount::plus);
+        Amount deposited = deposits.stream().map(ShardDeposit::amount).reduce(Amount.ZERO, Amount::plus);
+        if (!waiting.equals(deposited)) {
+            throw new IllegalStateException("Balance shards of " + accountId + " hold " + waiting
+                    + " but their unsettled deposits add up to " + deposited);
+        }
+        if (deposits.isEmpty()) {
+            return new Settlement(account, List.of());
+        }
+
+        account.settle(deposits);
+        List<DepositMadeEvent> events = account.getPendingTransactions().stream()
+                .map(transaction -> new DepositMadeEvent(accountId, transaction.getAmount(),
+                        transaction.getBalanceAfter(), transaction.getSequence()))
+                .toList();
+
+        List<BalanceShard> drained = shards.stream()
+                .filter(shard -> shard.getBalance().isGreaterThan(Amount.ZERO))
+                .toList();
+        drained.forEach(BalanceShard::settle);
+        shardRepository.saveAll(drained);
+        shardRepository.deleteDeposits(deposits);
+
+        settledDeposits.increment(deposits.size());
+        return new Settlement(account, events);
+    }
+
+    private int shardCount(AccountId accountId) {
+        Integer cached = shardCounts.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
+        int count = shardRepository.countByAccountId(accountId);
+        if (count == 0) {
+            throw new IllegalArgumentException("Account is not hot: " + accountId);
+        }
+        shardCounts.put(accountId, count);
+        return count;
+    }
+
+    private int pickShard(int shards) {
+        return switch (shardSelection) {
+            case RANDOM -> ThreadLocalRandom.current().nextInt(shards);
+            case THREAD -> (int) Math.floorMod(Thread.currentThread().getId(), (long) shards);
+        };
+    }
+
+    private record Settlement(BankAccount account, List<DepositMadeEvent> events) {}
+}
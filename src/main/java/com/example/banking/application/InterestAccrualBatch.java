@@ -0,0 +1,273 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.domain.DepositMadeEvent;
+import com.example.shared.domain.BusinessRuleViolationException;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posts one day of interest to every account as an ordinary deposit, so the usual domain rules
+ * apply and frozen accounts are skipped.
+ *
+ * The account id space is split into {@code banking.interest.partitions} {@link AccountIdRange}s
+ * that a pool of {@code banking.interest.parallelism} workers walks in id order,
+ * {@code chunk-size} accounts per transaction. Each chunk saves its partition's {@link InterestAccrualCheckpoint} in the
+ * same transaction as its deposits, so running the same date again, after a crash or alongside
+ * another instance, resumes after the last committed chunk instead of paying interest twice.
+ * Interest is paid on the whole balance, so a hot account's shards are settled into it first.
+ *
+ * With {@code banking.interest.cron} set, {@link #catchUp} runs at that time of day and accrues
+ * every date from the latest one with checkpoints through yesterday, so dates missed while the
+ * service was down are paid on the next run.
+ */
+@Service
+public class InterestAccrualBatch {
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualBatch.class);
+
+    private final BankAccountRepository accountRepository;
+    private final InterestAccrualCheckpointRepository checkpoints;
+    private final DomainEventPublisher eventPublisher;
+    private final OptimisticLockRetryPolicy retryPolicy;
+    // Null unless hot accounts are enabled
+    private final HotAccountService hotAccounts;
+    private final MeterRegistry meterRegistry;
+    private final BigDecimal annualRate;
+    private final int partitions;
+    private final int parallelism;
+    private final int chunkSize;
+    private final String cron;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public InterestAccrualBatch(BankAccountRepository accountRepository,
+                                InterestAccrualCheckpointRepository checkpoints,
+                                DomainEventPublisher eventPublisher,
+                                OptimisticLockRetryPolicy retryPolicy,
+                                Optional<HotAccountService> hotAccounts,
+                                MeterRegistry meterRegistry,
+                                @Value("${banking.interest.annual-rate:0.01}") BigDecimal annualRate,
+                                @Value("${banking.interest.partitions:16}") int partitions,
+                                @Value("${banking.interest.parallelism:4}") int parallelism,
+                                @Value("${banking.interest.chunk-size:500}") int chunkSize,
+                                @Value("${banking.interest.cron:-}") String cron) {
+        if (partitions < 1 || parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Interest partitions, parallelism and chunk size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.checkpoints = checkpoints;
+        this.eventPublisher = eventPublisher;
+        this.retryPolicy = retryPolicy;
+        this.hotAccounts = hotAccounts.orElse(null);
+        this.meterRegistry = meterRegistry;
+        this.annualRate = annualRate;
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.cron = cron;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (cron.equals("-")) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        new ConcurrentTaskScheduler(scheduler).schedule(this::catchUpQuietly, new CronTrigger(cron));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void catchUpQuietly() {
+        try {
+            catchUp(LocalDate.now());
+        } catch (RuntimeException e) {
+            logger.warn("Interest accrual failed; will resume on the next run", e);
+        }
+    }
+
+    /**
+     * Accrues every date from the latest one with checkpoints, which may be unfinished, through the
+     * day before {@code today}; only yesterday when there are no checkpoints yet. Stops at the first
+     * date that does not complete, so later dates never run ahead of an unfinished one.
+     */
+    public List<InterestAccrualReport> catchUp(LocalDate today) {
+        LocalDate yesterday = today.minusDays(1);
+        List<InterestAccrualReport> reports = new ArrayList<>();
+        for (LocalDate runDate = checkpoints.findLatestRunDate().orElse(yesterday);
+             !runDate.isAfter(yesterday); runDate = runDate.plusDays(1)) {
+            InterestAccrualReport report = accrue(runDate);
+            reports.add(report);
+            if (!report.isCompleted()) {
+                break;
+            }
+        }
+        return reports;
+    }
+
+    /** Accrues interest for {@code runDate} on every account not yet covered by that date's checkpoints. */
+    public InterestAccrualReport accrue(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Interest accrual is already running");
+        }
+        try {
+            // A resumed run keeps the partitioning it started with, or the checkpoints would not line up
+            List<InterestAccrualCheckpoint> existing = checkpoints.findByRunDate(runDate);
+            int partitionCount = existing.isEmpty() ? partitions : existing.get(0).partitionCount();
+            return new InterestAccrualReport(runDate, runPartitions(runDate, partitionCount));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<InterestAccrualReport.PartitionReport> runPartitions(LocalDate runDate, int partitionCount) {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, partitionCount), runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<InterestAccrualReport.PartitionReport>> futures = new ArrayList<>(partitionCount);
+            for (AccountIdRange range : AccountIdRange.split(partitionCount)) {
+                futures.add(workers.submit(() -> accruePartition(runDate, range, partitionCount)));
+            }
+            List<InterestAccrualReport.PartitionReport> reports = new ArrayList<>(partitionCount);
+            for (Future<InterestAccrualReport.PartitionReport> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing interest for " + runDate, e);
+        } catch (ExecutionException e) {
+            // accruePartition reports its own failures, so this is a bug rather than bad data
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private InterestAccrualReport.PartitionReport accruePartition(LocalDate runDate, AccountIdRange range,
+                                                                  int partitionCount) {
+        int partition = range.index();
+        String tag = Integer.toString(partition);
+        Timer chunkTimer = Timer.builder("banking.interest.chunk").tag("partition", tag).register(meterRegistry);
+        Counter accounts = Counter.builder("banking.interest.accounts").tag("partition", tag).register(meterRegistry);
+        long started = System.nanoTime();
+        long processed = 0;
+        long credited = 0;
+        Amount posted = Amount.ZERO;
+        boolean completed = false;
+        try {
+            while (!completed) {
+                Chunk chunk = chunkTimer.record(() -> retryPolicy.execute("interest-accrual",
+                        () -> accrueChunk(runDate, range, partitionCount)));
+                processed += chunk.processed();
+                credited += chunk.credited();
+                posted = posted.plus(chunk.interest());
+                accounts.increment(chunk.processed());
+                completed = chunk.checkpoint().completed();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Interest accrual for {} stopped in partition {}; a rerun resumes from its checkpoint",
+                    runDate, partition, e);
+        }
+
+        InterestAccrualReport.PartitionReport report = new InterestAccrualReport.PartitionReport(partition,
+                processed, credited, posted, Duration.ofNanos(System.nanoTime() - started), completed);
+        logger.info("Interest for {} partition {}/{}: {} accounts, {} credited, {} posted in {} ms ({} accounts/s)",
+                runDate, partition + 1, partitionCount, processed, credited, posted,
+                report.elapsed().toMillis(), Math.round(report.accountsPerSecond()));
+        return report;
+    }
+
+    private Chunk accrueChunk(LocalDate runDate, AccountIdRange range, int partitionCount) {
+        // Read inside the transaction so a retry, or a second runner, continues from what actually committed
+        InterestAccrualCheckpoint checkpoint = checkpoints.find(runDate, range.index())
+                .orElseGet(() -> InterestAccrualCheckpoint.start(runDate, range.index(), partitionCount));
+        if (checkpoint.completed()) {
+            return new Chunk(checkpoint, 0, 0, Amount.ZERO);
+        }
+
+        String after = checkpoint.lastAccountId() != null ? checkpoint.lastAccountId() : range.afterId();
+        List<BankAccount> page = accountRepository.findInIdRange(after, range.beforeId(), chunkSize);
+
+        List<BankAccount> modified = new ArrayList<>();
+        List<DepositMadeEvent> events = new ArrayList<>();
+        Amount posted = Amount.ZERO;
+        String description = "Interest " + runDate;
+        for (BankAccount loaded : page) {
+            BankAccount account = hotAccounts != null && hotAccounts.isHot(loaded.getId())
+                    ? hotAccounts.loadSettled(loaded.getId())
+                    : loaded;
+            Amount interest = dailyInterest(account.getBalance(), runDate);
+            if (interest.compareTo(Amount.ZERO) <= 0) {
+                continue;
+            }
+            try {
+                account.deposit(interest, description);
+            } catch (BusinessRuleViolationException e) {
+                logger.debug("No interest for {}: {}", account.getId(), e.getMessage());
+                continue;
+            }
+            modified.add(account);
+            posted = posted.plus(interest);
+            events.add(new DepositMadeEvent(account.getId(), interest, account.getBalance(),
+                    account.getLastTransactionSequence()));
+        }
+
+        accountRepository.saveAll(modified);
+        String last = page.isEmpty() ? null : page.get(page.size() - 1).getId().value();
+        InterestAccrualCheckpoint next = checkpoint.advance(last, page.size(), modified.size(), posted,
+                page.size() < chunkSize);
+        checkpoints.save(next);
+        events.forEach(eventPublisher::publishEvent);
+        return new Chunk(next, page.size(), modified.size(), posted);
+    }
+
+    private Amount dailyInterest(Amount balance, LocalDate runDate) {
+        // Rounded down so the bank never posts more than has accrued
+        return Amount.of(balance.toBigDecimal()
+                .multiply(annualRate)
+                .divide(BigDecimal.valueOf(runDate.lengthOfYear()), Amount.SCALE, RoundingMode.DOWN));
+    }
+
+    private record Chunk(InterestAccrualCheckpoint checkpoint, int processed, int credited, Amount interest) {}
+}
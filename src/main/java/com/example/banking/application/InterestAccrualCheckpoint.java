@@ -0,0 +1,26 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.Amount;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of one partition of an interest run. Accounts are visited in id order, so everything
+ * up to and including {@code lastAccountId} has been accrued for {@code runDate}.
+ */
+public record InterestAccrualCheckpoint(LocalDate runDate, int partition, int partitionCount,
+                                        String lastAccountId, long accountsProcessed,
+                                        long accountsCredited, Amount interestPosted, boolean completed) {
+
+    static InterestAccrualCheckpoint start(LocalDate runDate, int partition, int partitionCount) {
+        return new InterestAccrualCheckpoint(runDate, partition, partitionCount, null, 0, 0, Amount.ZERO, false);
+    }
+
+    InterestAccrualCheckpoint advance(String lastAccountId, int processed, int credited, Amount interest,
+                                      boolean completed) {
+        return new InterestAccrualCheckpoint(runDate, partition, partitionCount,
+                lastAccountId != null ? lastAccountId : this.lastAccountId,
+                accountsProcessed + processed, accountsCredited + credited,
+                interestPosted.plus(interest), completed);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.banking.application;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where {@link InterestAccrualBatch} keeps its progress. Saves join the surrounding transaction,
+ * so a checkpoint only moves forward together with the deposits it covers.
+ */
+public interface InterestAccrualCheckpointRepository {
+    List<InterestAccrualCheckpoint> findByRunDate(LocalDate runDate);
+
+    Optional<InterestAccrualCheckpoint> find(LocalDate runDate, int partition);
+
+    Optional<LocalDate> findLatestRunDate();
+
+    void save(InterestAccrualCheckpoint checkpoint);
+}
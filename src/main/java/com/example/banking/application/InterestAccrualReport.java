@@ -0,0 +1,35 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.Amount;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What one call to {@link InterestAccrualBatch#accrue} did, per partition. Counts cover only
+ * this call; work committed by an earlier, interrupted call for the same date is not repeated.
+ */
+public record InterestAccrualReport(LocalDate runDate, List<PartitionReport> partitions) {
+
+    public record PartitionReport(int partition, long accountsProcessed, long accountsCredited,
+                                  Amount interestPosted, Duration elapsed, boolean completed) {
+
+        public double accountsPerSecond() {
+            long millis = elapsed.toMillis();
+            return millis > 0 ? accountsProcessed * 1000.0 / millis : accountsProcessed;
+        }
+    }
+
+    public boolean isCompleted() {
+        return partitions.stream().allMatch(PartitionReport::completed);
+    }
+
+    public long accountsCredited() {
+        return partitions.stream().mapToLong(PartitionReport::accountsCredited).sum();
+    }
+
+    public Amount interestPosted() {
+        return partitions.stream().map(PartitionReport::interestPosted).reduce(Amount.ZERO, Amount::plus);
+    }
+}
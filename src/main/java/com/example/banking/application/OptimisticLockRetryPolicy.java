@@ -0,0 +1,97 @@
+package com.example.banking.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a banking command in its own transaction and re-runs it from scratch
+ * (fresh load, fresh business rule checks) when the write loses a version race.
+ * Backoff is exponential with jitter and capped, and the number of attempts is bounded.
+ */
+@Component
+public class OptimisticLockRetryPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetryPolicy.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetryPolicy(PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${banking.retry.max-attempts:5}") int maxAttempts,
+                                     @Value("${banking.retry.initial-backoff:10ms}") Duration initialBackoff,
+                                     @Value("${banking.retry.max-backoff:200ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    public void run(String command, Runnable action) {
+        execute(command, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(String command, Supplier<T> action) {
+        // Joining a caller's transaction means a conflict poisons it; only the caller can retry then
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter("banking.command.conflicts", command).increment();
+                if (attempt >= maxAttempts) {
+                    counter("banking.command.retries.exhausted", command).increment();
+                    logger.warn("Giving up on {} after {} conflicting attempts", command, attempt);
+                    throw e;
+                }
+                counter("banking.command.retries", command).increment();
+                logger.debug("Version conflict on {} (attempt {}), retrying", command, attempt);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException cause) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            // Jitter keeps competing writers from retrying in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private Counter counter(String name, String command) {
+        return Counter.builder(name)
+                .tag("command", command)
+                .register(meterRegistry);
+    }
+}
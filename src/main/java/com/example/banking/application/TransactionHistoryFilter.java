@@ -0,0 +1,12 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.TransactionType;
+
+import java.time.LocalDateTime;
+
+/** Optional restrictions on a history query; null means unrestricted. {@code to} is exclusive. */
+public record TransactionHistoryFilter(TransactionType type, LocalDateTime from, LocalDateTime to) {
+    public static TransactionHistoryFilter none() {
+        return new TransactionHistoryFilter(null, null, null);
+    }
+}
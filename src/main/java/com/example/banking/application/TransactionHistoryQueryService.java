@@ -0,0 +1,64 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.query.TransactionHistoryPage;
+import com.example.banking.query.TransactionView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class TransactionHistoryQueryService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final TransactionHistoryRepository historyRepository;
+
+    public TransactionHistoryQueryService(TransactionHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+
+    public TransactionHistoryPage getHistory(AccountId accountId, TransactionHistoryFilter filter,
+                                             String cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        // One extra row tells us whether another page exists without a count query
+        List<TransactionView> rows = historyRepository.findPage(accountId, filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TransactionHistoryPage(rows, null);
+        }
+
+        List<TransactionView> page = rows.subList(0, pageSize);
+        TransactionView last = page.get(pageSize - 1);
+        return new TransactionHistoryPage(List.copyOf(page),
+                new TransactionCursor(last.timestamp(), last.transactionId()).encode());
+    }
+
+    /**
+     * Hands every statement line in [from, to) to {@code sink} as it is read, so the caller can
+     * write it out without the statement ever being held in memory. Returns the number of lines.
+     */
+    public long streamStatement(AccountId accountId, LocalDateTime from, LocalDateTime to,
+                                Consumer<TransactionView> sink) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Statement period must end after it starts");
+        }
+        long lines = 0;
+        try (Stream<TransactionView> statement = historyRepository.streamStatement(accountId, from, to)) {
+            Iterator<TransactionView> iterator = statement.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
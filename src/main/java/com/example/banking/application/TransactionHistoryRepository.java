@@ -0,0 +1,24 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.query.TransactionView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-side access to account history, ordered newest first by (timestamp, id).
+ * Pages are found by seeking past the cursor rather than by offset, so the cost of
+ * a page does not grow with its position.
+ */
+public interface TransactionHistoryRepository {
+    List<TransactionView> findPage(AccountId accountId, TransactionHistoryFilter filter,
+                                   TransactionCursor after, int limit);
+
+    /**
+     * Oldest-first history within [from, to), read lazily. The stream holds an open cursor and
+     * must be closed by the caller within the surrounding transaction.
+     */
+    Stream<TransactionView> streamStatement(AccountId accountId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,248 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.WithdrawalMadeEvent;
+import com.example.banking.domain.WithdrawalVelocityExceededEvent;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fraud screening on the stream of withdrawals, entirely in memory.
+ *
+ * Per account and window, withdrawals are counted and summed in a ring of fixed-width buckets
+ * with running totals, so recording a withdrawal costs a handful of array writes. Memory per
+ * account is fixed, whatever its volume. A {@link WithdrawalVelocityExceededEvent} is published
+ * when a window first goes over its count or amount limit. Another is published only after the
+ * window has dropped back within its limits. Accounts without withdrawals for
+ * banking.velocity.idle-after are forgotten.
+ *
+ * Time is taken from the events, not the clock, so delayed delivery does not distort the windows.
+ */
+@Component
+public class WithdrawalVelocityDetector {
+    static final int BUCKETS_PER_WINDOW = 20;
+
+    public record Window(String name, Duration length, int maxWithdrawals, Amount maxTotal) {}
+
+    private final DomainEventPublisher eventPublisher;
+    private final Window[] windows;
+    private final long[] bucketMillis;
+    private final Duration idleAfter;
+    private final ConcurrentHashMap<AccountId, AccountVelocity> accounts = new ConcurrentHashMap<>();
+    private final Counter alerts;
+    private final Counter evictions;
+    private ScheduledExecutorService evictionScheduler;
+
+    @Autowired
+    public WithdrawalVelocityDetector(DomainEventPublisher eventPublisher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${banking.velocity.minute.length:1m}") Duration minuteLength,
+                                      @Value("${banking.velocity.minute.max-count:5}") int minuteMaxCount,
+                                      @Value("${banking.velocity.minute.max-amount:2000.00}") BigDecimal minuteMaxAmount,
+                                      @Value("${banking.velocity.hour.length:1h}") Duration hourLength,
+                                      @Value("${banking.velocity.hour.max-count:20}") int hourMaxCount,
+                                      @Value("${banking.velocity.hour.max-amount:5000.00}") BigDecimal hourMaxAmount,
+                                      @Value("${banking.velocity.day.length:24h}") Duration dayLength,
+                                      @Value("${banking.velocity.day.max-count:50}") int dayMaxCount,
+                                      @Value("${banking.velocity.day.max-amount:10000.00}") BigDecimal dayMaxAmount,
+                                      @Value("${banking.velocity.idle-after:25h}") Duration idleAfter) {
+        this(eventPublisher, meterRegistry, List.of(
+                new Window("minute", minuteLength, minuteMaxCount, Amount.of(minuteMaxAmount)),
+                new Window("hour", hourLength, hourMaxCount, Amount.of(hourMaxAmount)),
+                new Window("day", dayLength, dayMaxCount, Amount.of(dayMaxAmount))), idleAfter);
+    }
+
+    public WithdrawalVelocityDetector(DomainEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                      List<Window> windows, Duration idleAfter) {
+        this.eventPublisher = eventPublisher;
+        this.windows = windows.toArray(Window[]::new);
+        this.bucketMillis = new long[this.windows.length];
+        for (int w = 0; w < this.windows.length; w++) {
+            bucketMillis[w] = Math.max(1, this.windows[w].length().toMillis() / BUCKETS_PER_WINDOW);
+            if (idleAfter.compareTo(this.windows[w].length()) < 0) {
+                throw new IllegalArgumentException("idle-after must cover the longest window");
+            }
+        }
+        this.idleAfter = idleAfter;
+        this.alerts = Counter.builder("banking.velocity.alerts").register(meterRegistry);
+        this.evictions = Counter.builder("banking.velocity.evictions").register(meterRegistry);
+        Gauge.builder("banking.velocity.accounts", accounts, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "velocity-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionScheduler.scheduleWithFixedDelay(() -> evictIdle(LocalDateTime.now()), 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evictionScheduler != null) {
+            evictionScheduler.shutdownNow();
+        }
+    }
+
+    public void record(WithdrawalMadeEvent event) {
+        long now = toMillis(event.getOccurredOn());
+        int crossed;
+        AccountVelocity velocity;
+        while (true) {
+            velocity = accounts.computeIfAbsent(event.getAccountId(), id -> new AccountVelocity(windows.length));
+            synchronized (velocity) {
+                // Lost a race with eviction; start over on a fresh state
+                if (velocity.evicted) {
+                    continue;
+                }
+                crossed = velocity.record(now, event.getAmount().getMinorUnits());
+            }
+            break;
+        }
+        if (crossed != 0) {
+            publishAlerts(event.getAccountId(), velocity, crossed);
+        }
+    }
+
+    /** Forgets accounts whose latest withdrawal is older than idle-after; returns how many. */
+    public int evictIdle(LocalDateTime now) {
+        long cutoff = toMillis(now.minus(idleAfter));
+        int evicted = 0;
+        for (AccountId accountId : accounts.keySet()) {
+            boolean[] removed = {false};
+            accounts.computeIfPresent(accountId, (id, velocity) -> {
+                synchronized (velocity) {
+                    if (velocity.lastSeen >= cutoff) {
+                        return velocity;
+                    }
+                    velocity.evicted = true;
+                    removed[0] = true;
+                    return null;
+                }
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        evictions.increment(evicted);
+        return evicted;
+    }
+
+    public int trackedAccounts() {
+        return accounts.size();
+    }
+
+    private void publishAlerts(AccountId accountId, AccountVelocity velocity, int crossed) {
+        for (int w = 0; w < windows.length; w++) {
+            if ((crossed & (1 << w)) == 0) {
+                continue;
+            }
+            int count;
+            long total;
+            synchronized (velocity) {
+                count = velocity.totalCount[w];
+                total = velocity.totalAmount[w];
+            }
+            Window window = windows[w];
+            alerts.increment();
+            eventPublisher.publishEvent(new WithdrawalVelocityExceededEvent(accountId, window.name(), window.length(),
+                    count, Amount.ofMinorUnits(total), window.maxWithdrawals(), window.maxTotal()));
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /** Bucket rings of every window, flattened into arrays of windows x BUCKETS_PER_WINDOW. */
+    private final class AccountVelocity {
+        private final int[] counts;
+        private final long[] amounts;
+        private final long[] lastBucket;
+        private final int[] totalCount;
+        private final long[] totalAmount;
+        private final boolean[] alerting;
+        private long lastSeen;
+        private boolean evicted;
+
+        private AccountVelocity(int windowCount) {
+            this.counts = new int[windowCount * BUCKETS_PER_WINDOW];
+            this.amounts = new long[windowCount * BUCKETS_PER_WINDOW];
+            this.lastBucket = new long[windowCount];
+            this.totalCount = new int[windowCount];
+            this.totalAmount = new long[windowCount];
+            this.alerting = new boolean[windowCount];
+            Arrays.fill(lastBucket, Long.MIN_VALUE);
+        }
+
+        /** Adds one withdrawal and returns a bit mask of the windows that just went over their limits. */
+        private int record(long now, long amount) {
+            lastSeen = Math.max(lastSeen, now);
+            int crossed = 0;
+            for (int w = 0; w < windows.length; w++) {
+                long bucket = now / bucketMillis[w];
+                advance(w, bucket);
+                if (bucket <= lastBucket[w] - BUCKETS_PER_WINDOW) {
+                    // Older than the whole window
+                    continue;
+                }
+                int slot = w * BUCKETS_PER_WINDOW + (int) Math.floorMod(bucket, (long) BUCKETS_PER_WINDOW);
+                counts[slot]++;
+                amounts[slot] += amount;
+                totalCount[w]++;
+                totalAmount[w] += amount;
+
+                Window window = windows[w];
+                boolean over = totalCount[w] > window.maxWithdrawals()
+                        || totalAmount[w] > window.maxTotal().getMinorUnits();
+                if (over && !alerting[w]) {
+                    crossed |= 1 << w;
+                }
+                alerting[w] = over;
+            }
+            return crossed;
+        }
+
+        // Clears the buckets that slid out of the window since the last withdrawal, at most one full ring
+        private void advance(int w, long bucket) {
+            long last = lastBucket[w];
+            if (last == Long.MIN_VALUE) {
+                lastBucket[w] = bucket;
+                return;
+            }
+            if (bucket <= last) {
+                return;
+            }
+            long steps = Math.min(bucket - last, BUCKETS_PER_WINDOW);
+            for (long expired = bucket - steps + 1; expired <= bucket; expired++) {
+                int slot = w * BUCKETS_PER_WINDOW + (int) Math.floorMod(expired, (long) BUCKETS_PER_WINDOW);
+                totalCount[w] -= counts[slot];
+                totalAmount[w] -= amounts[slot];
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+            lastBucket[w] = bucket;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.banking.domain;
 
 import com.example.shared.domain.DomainEvent;
 
+import java.time.LocalDateTime;
+
 public class AccountFrozenEvent extends DomainEvent {
     private final AccountId accountId;
 
@@ -10,5 +12,10 @@ public class AccountFrozenEvent extends DomainEvent {
         this.accountId = accountId;
     }
 
+    public AccountFrozenEvent(String eventId, LocalDateTime occurredOn, AccountId accountId) {
+        super(eventId, occurredOn);
+        this.accountId = accountId;
+    }
+
     public AccountId getAccountId() { return accountId; }
 }
\ No newline at end of file
@@ -3,6 +3,12 @@ package com.example.banking.domain;
 import java.util.UUID;
 
 public record AccountId(String value) {
+    public AccountId {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Account id must not be blank");
+        }
+    }
+
     public static AccountId generate() {
         return new AccountId(UUID.randomUUID().toString());
     }
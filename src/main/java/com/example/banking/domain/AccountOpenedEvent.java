@@ -2,16 +2,16 @@ package com.example.banking.domain;
 
 import com.example.shared.domain.DomainEvent;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class AccountOpenedEvent extends DomainEvent {
     private final AccountId accountId;
     private final String accountNumber;
     private final String accountHolderName;
-    private final BigDecimal initialDeposit;
+    private final Amount initialDeposit;
 
     public AccountOpenedEvent(AccountId accountId, String accountNumber, 
-                             String accountHolderName, BigDecimal initialDeposit) {
+                             String accountHolderName, Amount initialDeposit) {
         super();
         this.accountId = accountId;
         this.accountNumber = accountNumber;
@@ -19,8 +19,17 @@ public class AccountOpenedEvent extends DomainEvent {
         this.initialDeposit = initialDeposit;
     }
 
+    public AccountOpenedEvent(String eventId, LocalDateTime occurredOn, AccountId accountId, String accountNumber,
+                              String accountHolderName, Amount initialDeposit) {
+        super(eventId, occurredOn);
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.accountHolderName = accountHolderName;
+        this.initialDeposit = initialDeposit;
+    }
+
     public AccountId getAccountId() { return accountId; }
     public String getAccountNumber() { return accountNumber; }
     public String getAccountHolderName() { return accountHolderName; }
-    public BigDecimal getInitialDeposit() { return initialDeposit; }
+    public Amount getInitialDeposit() { return initialDeposit; }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.banking.domain;
+
+import com.example.shared.domain.ValueObject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount of the banking context, held as a whole number of minor units (cents)
+ * in a {@code long}. Arithmetic is exact and fails with {@link ArithmeticException} on
+ * overflow instead of wrapping. Conversion to and from {@link BigDecimal} is meant for the
+ * edges only - the API and persistence - so the hot paths of the aggregate never allocate
+ * decimal intermediates.
+ */
+public final class Amount extends ValueObject implements Comparable<Amount> {
+    public static final int SCALE = 2;
+    public static final Amount ZERO = new Amount(0);
+
+    private final long minorUnits;
+
+    private Amount(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Amount ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Amount(minorUnits);
+    }
+
+    public static Amount of(BigDecimal value) {
+        try {
+            return ofMinorUnits(value.setScale(SCALE, RoundingMode.UNNECESSARY)
+                    .unscaledValue()
+                    .longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Not a valid amount: " + value.toPlainString(), e);
+        }
+    }
+
+    public static Amount parse(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    public Amount plus(Amount other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Amount minus(Amount other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isGreaterThan(Amount other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    public boolean isLessThan(Amount other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Amount other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return minorUnits == ((Amount) o).minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.banking.domain;
+
+import com.example.shared.domain.AggregateRoot;
+import com.example.shared.domain.BusinessRuleDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One of the sub-balances a hot account spreads its deposits over. A deposit only writes its
+ * shard, so an account with K shards takes deposits on K rows instead of one.
+ *
+ * Shards only ever receive money. Anything that depends on the whole balance - a withdrawal,
+ * a freeze - first settles every shard into the {@link BankAccount}, where the balance and
+ * daily limit rules are checked against the full amount exactly as for any other account.
+ */
+public class BalanceShard extends AggregateRoot<BalanceShardId> {
+    private static final BusinessRuleDefinition<BalanceShard, Void> SHARD_MUST_BE_OPEN_RULE = BusinessRuleDefinition.of(
+            "banking.balance-shard-must-be-open", "Account must be active to perform this operation",
+            shard -> shard.open);
+
+    private Amount balance;
+    private boolean open;
+    // Deposits accepted since the shard was loaded or last saved
+    private final List<ShardDeposit> pendingDeposits = new ArrayList<>();
+
+    public BalanceShard(BalanceShardId id) {
+        super(id);
+        this.balance = Amount.ZERO;
+        this.open = true;
+    }
+
+    public ShardDeposit deposit(Amount amount, String description) {
+        checkBusinessRule(SHARD_MUST_BE_OPEN_RULE, this);
+        checkBusinessRule(BankAccount.MINIMUM_DEPOSIT_AMOUNT_RULE, amount);
+
+        beforeStateChange();
+
+        this.balance = this.balance.plus(amount);
+        ShardDeposit deposit = new ShardDeposit(TransactionId.generate(), getId(), amount, description,
+                LocalDateTime.now());
+        this.pendingDeposits.add(deposit);
+        return deposit;
+    }
+
+    // Called once the shard's deposits have been moved into the account's ledger
+    public void settle() {
+        beforeStateChange();
+        this.balance = Amount.ZERO;
+    }
+
+    // Deposits already accepted are still settled; new ones are refused
+    public void close() {
+        beforeStateChange();
+        this.open = false;
+    }
+
+    public List<ShardDeposit> getPendingDeposits() {
+        return Collections.unmodifiableList(pendingDeposits);
+    }
+
+    @Override
+    public void markPersisted(Long storedVersion) {
+        super.markPersisted(storedVersion);
+        pendingDeposits.clear();
+    }
+
+    @Override
+    protected void validateAggregateInvariants() {
+        if (balance.isNegative()) {
+            throw new IllegalStateException("Shard balance cannot be negative");
+        }
+    }
+
+    public static BalanceShard reconstruct(BalanceShardId id, Amount balance, boolean open, Long version) {
+        BalanceShard shard = new BalanceShard(id);
+        shard.balance = balance;
+        shard.open = open;
+        shard.markPersisted(version);
+        return shard;
+    }
+
+    public Amount getBalance() { return balance; }
+    public boolean isOpen() { return open; }
+}
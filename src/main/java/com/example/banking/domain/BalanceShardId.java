@@ -0,0 +1,16 @@
+package com.example.banking.domain;
+
+import java.util.Objects;
+
+public record BalanceShardId(AccountId accountId, int index) {
+    public BalanceShardId {
+        Objects.requireNonNull(accountId, "Account id cannot be null");
+        if (index < 0) {
+            throw new IllegalArgumentException("Shard index cannot be negative: " + index);
+        }
+    }
+
+    public static BalanceShardId of(AccountId accountId, int index) {
+        return new BalanceShardId(accountId, index);
+    }
+}
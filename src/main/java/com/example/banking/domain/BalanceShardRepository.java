@@ -0,0 +1,33 @@
+package com.example.banking.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceShardRepository {
+    Optional<BalanceShard> findById(BalanceShardId shardId);
+
+    // Locks the account's row and then all of its shards until the transaction ends, so that no
+    // deposit can land on them while they are being settled, and returns the shards in index order.
+    // Always in that order: a freeze already holds the account row when it closes the shards.
+    List<BalanceShard> lockByAccountId(AccountId accountId);
+
+    int countByAccountId(AccountId accountId);
+
+    // Accounts that have shards
+    List<AccountId> findHotAccounts();
+
+    // Deposits not yet settled into the account, in the order they were accepted
+    List<ShardDeposit> findUnsettledDeposits(AccountId accountId);
+
+    // Hot accounts that have money waiting in their shards
+    List<AccountId> findAccountsWithUnsettledDeposits();
+
+    // The account's balance plus everything waiting in its shards, read in one statement
+    Optional<Amount> findTotalBalance(AccountId accountId);
+
+    // Writes the shards together with the deposits they accepted since they were loaded
+    void saveAll(Collection<BalanceShard> shards);
+
+    void deleteDeposits(Collection<ShardDeposit> deposits);
+}
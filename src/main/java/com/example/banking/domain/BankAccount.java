@@ -1,9 +1,8 @@
 package com.example.banking.domain;
 
 import com.example.shared.domain.AggregateRoot;
-import com.example.shared.domain.BusinessRule;
+import com.example.shared.domain.BusinessRuleDefinition;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -15,52 +14,101 @@ import java.util.List;
  * and maintains consistency across multiple related entities.
  */
 public class BankAccount extends AggregateRoot<AccountId> {
+    private static final Amount MINIMUM_INITIAL_DEPOSIT = Amount.ofMinorUnits(100_00);
+    private static final Amount MINIMUM_WITHDRAWAL = Amount.ofMinorUnits(1_00);
+    private static final Amount MINIMUM_DEPOSIT = Amount.ofMinorUnits(1);
+    private static final Amount MINIMUM_DAILY_LIMIT = Amount.ofMinorUnits(1_000_00);
+    private static final Amount MAXIMUM_DAILY_LIMIT = Amount.ofMinorUnits(10_000_00);
+
+    // Business rules, defined once and evaluated against the values they are given
+    private static final BusinessRuleDefinition<Amount, Void> MINIMUM_INITIAL_DEPOSIT_RULE = BusinessRuleDefinition.of(
+            "banking.minimum-initial-deposit", "Initial deposit must be at least $100.00",
+            amount -> !amount.isLessThan(MINIMUM_INITIAL_DEPOSIT));
+
+    private static final BusinessRuleDefinition<Amount, Void> VALID_WITHDRAWAL_LIMIT_RULE = BusinessRuleDefinition.of(
+            "banking.valid-withdrawal-limit", "Daily withdrawal limit must be between $1,000 and $10,000",
+            limit -> !limit.isLessThan(MINIMUM_DAILY_LIMIT) && !limit.isGreaterThan(MAXIMUM_DAILY_LIMIT));
+
+    private static final BusinessRuleDefinition<BankAccount, Void> ACCOUNT_MUST_BE_ACTIVE_RULE = BusinessRuleDefinition.of(
+            "banking.account-must-be-active", "Account must be active to perform this operation",
+            account -> account.status == AccountStatus.ACTIVE);
+
+    private static final BusinessRuleDefinition<BankAccount, Amount> SUFFICIENT_BALANCE_RULE = BusinessRuleDefinition.of(
+            "banking.sufficient-balance", "Insufficient balance for withdrawal",
+            (account, amount) -> !account.balance.isLessThan(amount));
+
+    // Compared in minor units so the check does not build an intermediate Amount
+    private static final BusinessRuleDefinition<BankAccount, Amount> WITHIN_DAILY_LIMIT_RULE = BusinessRuleDefinition.of(
+            "banking.within-daily-limit", "Withdrawal would exceed daily limit",
+            (account, amount) -> amount.getMinorUnits() <= account.dailyWithdrawalLimit.getMinorUnits()
+                    - account.totalWithdrawnToday.getMinorUnits());
+
+    private static final BusinessRuleDefinition<Amount, Void> MINIMUM_WITHDRAWAL_AMOUNT_RULE = BusinessRuleDefinition.of(
+            "banking.minimum-withdrawal-amount", "Minimum withdrawal amount is $1.00",
+            amount -> !amount.isLessThan(MINIMUM_WITHDRAWAL));
+
+    // Shared with BalanceShard, which accepts deposits on the account's behalf
+    static final BusinessRuleDefinition<Amount, Void> MINIMUM_DEPOSIT_AMOUNT_RULE = BusinessRuleDefinition.of(
+            "banking.minimum-deposit-amount", "Minimum deposit amount is $0.01",
+            amount -> !amount.isLessThan(MINIMUM_DEPOSIT));
+
     private final String accountNumber;
     private final String accountHolderName;
-    private BigDecimal balance;
+    private Amount balance;
     private AccountStatus status;
     private final List<Transaction> transactions = new ArrayList<>();
-    private BigDecimal dailyWithdrawalLimit;
-    private BigDecimal totalWithdrawnToday;
+    private Amount dailyWithdrawalLimit;
+    private Amount totalWithdrawnToday;
     private final LocalDateTime createdAt;
+    // Last verified balance and the sequence of the last transaction folded into it.
+    // Only transactions after the checkpoint are replayed when checking invariants.
+    private Amount checkpointBalance;
+    private long checkpointSequence;
+    // Sequence of the last transaction known to be stored; later ones still need inserting
+    private long persistedSequence;
 
     public BankAccount(AccountId id, String accountNumber, String accountHolderName, 
-                      BigDecimal initialDeposit, BigDecimal dailyWithdrawalLimit) {
+                      Amount initialDeposit, Amount dailyWithdrawalLimit) {
         super(id);
         
         // Business rules validation during creation
-        checkBusinessRule(new MinimumInitialDepositRule(initialDeposit));
-        checkBusinessRule(new ValidWithdrawalLimitRule(dailyWithdrawalLimit));
+        checkBusinessRule(MINIMUM_INITIAL_DEPOSIT_RULE, initialDeposit);
+        checkBusinessRule(VALID_WITHDRAWAL_LIMIT_RULE, dailyWithdrawalLimit);
         
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
         this.status = AccountStatus.ACTIVE;
-        this.balance = BigDecimal.ZERO;
+        this.balance = Amount.ZERO;
         this.dailyWithdrawalLimit = dailyWithdrawalLimit;
-        this.totalWithdrawnToday = BigDecimal.ZERO;
+        this.totalWithdrawnToday = Amount.ZERO;
         this.createdAt = LocalDateTime.now();
+        this.checkpointBalance = Amount.ZERO;
+        this.checkpointSequence = 0L;
+        this.persistedSequence = 0L;
 
         deposit(initialDeposit, "Initial deposit");
         // Domain events will be published by the application service
     }
 
     // Public method that enforces aggregate boundaries
-    public void withdraw(BigDecimal amount, String description) {
-        beforeStateChange(); // Validates invariants and marks as modified
+    public void withdraw(Amount amount, String description) {
+        // Business rules validation, before anything changes so a rejected withdrawal leaves
+        // the aggregate (including its version) as it was
+        checkBusinessRule(ACCOUNT_MUST_BE_ACTIVE_RULE, this);
+        checkBusinessRule(SUFFICIENT_BALANCE_RULE, this, amount);
+        checkBusinessRule(WITHIN_DAILY_LIMIT_RULE, this, amount);
+        checkBusinessRule(MINIMUM_WITHDRAWAL_AMOUNT_RULE, amount);
         
-        // Business rules validation
-        checkBusinessRule(new AccountMustBeActiveRule(status));
-        checkBusinessRule(new SufficientBalanceRule(balance, amount));
-        checkBusinessRule(new WithinDailyLimitRule(totalWithdrawnToday, amount, dailyWithdrawalLimit));
-        checkBusinessRule(new MinimumWithdrawalAmountRule(amount));
+        beforeStateChange(); // Validates invariants and marks as modified
         
         // Perform the operation as a single unit
-        this.balance = this.balance.subtract(amount);
-        this.totalWithdrawnToday = this.totalWithdrawnToday.add(amount);
+        this.balance = this.balance.minus(amount);
+        this.totalWithdrawnToday = this.totalWithdrawnToday.plus(amount);
         
         // Add transaction - this is internal to the aggregate
         Transaction transaction = new Transaction(
             TransactionId.generate(),
+            nextTransactionSequence(),
             TransactionType.WITHDRAWAL,
             amount,
             description,
@@ -71,16 +119,17 @@ public class BankAccount extends AggregateRoot<AccountId> {
         // Domain event will be published by the application service
     }
 
-    public void deposit(BigDecimal amount, String description) {
-        beforeStateChange();
+    public void deposit(Amount amount, String description) {
+        checkBusinessRule(ACCOUNT_MUST_BE_ACTIVE_RULE, this);
+        checkBusinessRule(MINIMUM_DEPOSIT_AMOUNT_RULE, amount);
         
-        checkBusinessRule(new AccountMustBeActiveRule(status));
-        checkBusinessRule(new MinimumDepositAmountRule(amount));
+        beforeStateChange();
         
-        this.balance = this.balance.add(amount);
+        this.balance = this.balance.plus(amount);
         
         Transaction transaction = new Transaction(
             TransactionId.generate(),
+            nextTransactionSequence(),
             TransactionType.DEPOSIT,
             amount,
             description,
@@ -91,148 +140,151 @@ public class BankAccount extends AggregateRoot<AccountId> {
         // Domain event will be published by the application service
     }
 
-    public void freeze() {
+    /**
+     * Moves deposits accepted by the account's {@link BalanceShard}s into the ledger, in the
+     * order given. They were accepted while the account was active, so an account frozen since
+     * still takes them.
+     */
+    public void settle(List<ShardDeposit> deposits) {
+        if (deposits.isEmpty()) {
+            return;
+        }
         beforeStateChange();
         
-        checkBusinessRule(new AccountMustBeActiveRule(status));
+        for (ShardDeposit deposit : deposits) {
+            this.balance = this.balance.plus(deposit.amount());
+            // Keeps the id and the time the shard accepted the deposit
+            this.transactions.add(Transaction.reconstruct(
+                deposit.id(),
+                nextTransactionSequence(),
+                TransactionType.DEPOSIT,
+                deposit.amount(),
+                deposit.description(),
+                this.balance,
+                deposit.timestamp()
+            ));
+        }
+    }
+
+    public void freeze() {
+        checkBusinessRule(ACCOUNT_MUST_BE_ACTIVE_RULE, this);
+        
+        beforeStateChange();
         
         this.status = AccountStatus.FROZEN;
         // Domain event will be published by the application service
     }
 
-    // Aggregate boundary protection - transactions can only be accessed, not modified
+    // Aggregate boundary protection - transactions can only be accessed, not modified.
+    // A reconstructed or saved account only holds the transactions after its checkpoint;
+    // use BankAccountRepository.findTransactionHistory for the full history.
     public List<Transaction> getTransactions() {
         return Collections.unmodifiableList(transactions);
     }
 
+    // Transactions recorded since the aggregate was loaded or last saved, oldest first
+    public List<Transaction> getPendingTransactions() {
+        int firstPending = transactions.size();
+        while (firstPending > 0 && transactions.get(firstPending - 1).getSequence() > persistedSequence) {
+            firstPending--;
+        }
+        return Collections.unmodifiableList(transactions.subList(firstPending, transactions.size()));
+    }
+
+    // Pending transactions are written together with the account state
+    @Override
+    public void markPersisted(Long storedVersion) {
+        super.markPersisted(storedVersion);
+        this.persistedSequence = lastTransactionSequence();
+        
+        // Stored and checkpointed transactions are never needed in memory again, which keeps
+        // long-lived instances (e.g. cached ones) as small as freshly loaded ones
+        int checkpointed = 0;
+        while (checkpointed < transactions.size() 
+                && transactions.get(checkpointed).getSequence() <= checkpointSequence) {
+            checkpointed++;
+        }
+        transactions.subList(0, checkpointed).clear();
+    }
+
     // Business invariants that must ALWAYS be true for this aggregate
     @Override
     protected void validateAggregateInvariants() {
         // These should never be violated if our business rules are correct
-        if (balance.compareTo(BigDecimal.ZERO) < 0) {
+        if (balance.isNegative()) {
             throw new IllegalStateException("Account balance cannot be negative");
         }
         
-        if (totalWithdrawnToday.compareTo(dailyWithdrawalLimit) > 0) {
+        if (totalWithdrawnToday.isGreaterThan(dailyWithdrawalLimit)) {
             throw new IllegalStateException("Daily withdrawal limit has been exceeded");
         }
         
         // Ensure transaction history consistency
-        BigDecimal calculatedBalance = calculateBalanceFromTransactions();
-        if (balance.compareTo(calculatedBalance) != 0) {
+        Amount calculatedBalance = calculateBalanceFromCheckpoint();
+        if (!balance.equals(calculatedBalance)) {
             throw new IllegalStateException("Balance inconsistency detected");
         }
     }
 
-    private BigDecimal calculateBalanceFromTransactions() {
-        return transactions.stream()
-                .map(t -> t.getType() == TransactionType.DEPOSIT ? 
-                     t.getAmount() : t.getAmount().negate())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    // Business Rules as inner classes
-    private record MinimumInitialDepositRule(BigDecimal amount) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return amount.compareTo(new BigDecimal("100.00")) >= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Initial deposit must be at least $100.00";
-        }
-    }
-
-    private record SufficientBalanceRule(BigDecimal currentBalance, BigDecimal withdrawalAmount) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return currentBalance.compareTo(withdrawalAmount) >= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Insufficient balance for withdrawal";
-        }
+    // Everything up to here has been verified, so it never needs replaying again
+    @Override
+    protected void onInvariantsVerified() {
+        advanceCheckpoint();
     }
 
-    private record WithinDailyLimitRule(BigDecimal withdrawnToday, BigDecimal withdrawalAmount, 
-                                       BigDecimal dailyLimit) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return withdrawnToday.add(withdrawalAmount).compareTo(dailyLimit) <= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Withdrawal would exceed daily limit";
+    // Replays only the transactions recorded after the checkpoint, newest first
+    private Amount calculateBalanceFromCheckpoint() {
+        Amount calculated = checkpointBalance;
+        for (int i = transactions.size() - 1; i >= 0; i--) {
+            Transaction transaction = transactions.get(i);
+            if (transaction.getSequence() <= checkpointSequence) {
+                break;
+            }
+            calculated = transaction.getType() == TransactionType.DEPOSIT
+                    ? calculated.plus(transaction.getAmount())
+                    : calculated.minus(transaction.getAmount());
         }
+        return calculated;
     }
 
-    private record AccountMustBeActiveRule(AccountStatus status) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return status == AccountStatus.ACTIVE;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Account must be active to perform this operation";
-        }
+    private void advanceCheckpoint() {
+        this.checkpointBalance = balance;
+        this.checkpointSequence = lastTransactionSequence();
     }
 
-    private record MinimumWithdrawalAmountRule(BigDecimal amount) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return amount.compareTo(new BigDecimal("1.00")) >= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Minimum withdrawal amount is $1.00";
-        }
+    public long getLastTransactionSequence() {
+        return lastTransactionSequence();
     }
 
-    private record MinimumDepositAmountRule(BigDecimal amount) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return amount.compareTo(new BigDecimal("0.01")) >= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Minimum deposit amount is $0.01";
-        }
+    private long lastTransactionSequence() {
+        return transactions.isEmpty()
+                ? checkpointSequence
+                : transactions.get(transactions.size() - 1).getSequence();
     }
 
-    private record ValidWithdrawalLimitRule(BigDecimal limit) implements BusinessRule {
-        @Override
-        public boolean isSatisfied() {
-            return limit.compareTo(new BigDecimal("1000.00")) >= 0 && 
-                   limit.compareTo(new BigDecimal("10000.00")) <= 0;
-        }
-
-        @Override
-        public String getMessage() {
-            return "Daily withdrawal limit must be between $1,000 and $10,000";
-        }
+    private long nextTransactionSequence() {
+        return lastTransactionSequence() + 1;
     }
 
     // Static factory method for reconstruction from persistence (bypasses business rules)
     public static BankAccount reconstruct(AccountId id, String accountNumber, String accountHolderName,
-                                        BigDecimal balance, AccountStatus status, BigDecimal dailyWithdrawalLimit,
-                                        BigDecimal totalWithdrawnToday, LocalDateTime createdAt,
-                                        LocalDateTime lastModified, Long version, List<Transaction> transactions) {
+                                        Amount balance, AccountStatus status, Amount dailyWithdrawalLimit,
+                                        Amount totalWithdrawnToday, LocalDateTime createdAt,
+                                        LocalDateTime lastModified, Long version,
+                                        Amount checkpointBalance, long checkpointSequence,
+                                        List<Transaction> transactions) {
         return new BankAccount(id, accountNumber, accountHolderName, balance, status, 
                               dailyWithdrawalLimit, totalWithdrawnToday, createdAt, 
-                              lastModified, version, transactions);
+                              lastModified, version, checkpointBalance, checkpointSequence, transactions);
     }
 
     // Private constructor for reconstruction from persistence
     private BankAccount(AccountId id, String accountNumber, String accountHolderName,
-                       BigDecimal balance, AccountStatus status, BigDecimal dailyWithdrawalLimit,
-                       BigDecimal totalWithdrawnToday, LocalDateTime createdAt,
-                       LocalDateTime lastModified, Long version, List<Transaction> transactions) {
+                       Amount balance, AccountStatus status, Amount dailyWithdrawalLimit,
+                       Amount totalWithdrawnToday, LocalDateTime createdAt,
+                       LocalDateTime lastModified, Long version,
+                       Amount checkpointBalance, long checkpointSequence,
+                       List<Transaction> transactions) {
         super(id);
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
@@ -241,19 +293,23 @@ public class BankAccount extends AggregateRoot<AccountId> {
         this.dailyWithdrawalLimit = dailyWithdrawalLimit;
         this.totalWithdrawnToday = totalWithdrawnToday;
         this.createdAt = createdAt;
+        this.checkpointBalance = checkpointBalance;
+        this.checkpointSequence = checkpointSequence;
         this.transactions.addAll(transactions);
         
         // Set version and last modified directly since this is reconstruction
-        setVersion(version);
+        markPersisted(version);
         setLastModified(lastModified);
     }
 
     // Getters
     public String getAccountNumber() { return accountNumber; }
     public String getAccountHolderName() { return accountHolderName; }
-    public BigDecimal getBalance() { return balance; }
+    public Amount getBalance() { return balance; }
     public AccountStatus getStatus() { return status; }
-    public BigDecimal getDailyWithdrawalLimit() { return dailyWithdrawalLimit; }
-    public BigDecimal getTotalWithdrawnToday() { return totalWithdrawnToday; }
+    public Amount getDailyWithdrawalLimit() { return dailyWithdrawalLimit; }
+    public Amount getTotalWithdrawnToday() { return totalWithdrawnToday; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public Amount getCheckpointBalance() { return checkpointBalance; }
+    public long getCheckpointSequence() { return checkpointSequence; }
 }
\ No newline at end of file
@@ -1,9 +1,26 @@
 package com.example.banking.domain;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BankAccountRepository {
     void save(BankAccount account);
+    
+    // Lets stores write several aggregates in one round of statements; the version check
+    // still applies to each of them
+    default void saveAll(Collection<BankAccount> accounts) {
+        accounts.forEach(this::save);
+    }
+    
     Optional<BankAccount> findById(AccountId accountId);
     Optional<BankAccount> findByAccountNumber(String accountNumber);
+    
+    // Walks the book in id order for batch jobs: up to limit accounts with afterId < id < beforeId,
+    // loaded together rather than one findById each. A null bound leaves that side open.
+    List<BankAccount> findInIdRange(String afterId, String beforeId, int limit);
+    
+    // Loaded aggregates only carry the transactions needed for their invariants;
+    // the complete history has to be asked for explicitly
+    List<Transaction> findTransactionHistory(AccountId accountId);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.banking.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deposit accepted by a {@link BalanceShard} but not yet settled into its account's ledger.
+ * Settling turns it into a deposit transaction with the same id and timestamp.
+ */
+public record ShardDeposit(TransactionId id, BalanceShardId shardId, Amount amount, String description,
+                           LocalDateTime timestamp) {}
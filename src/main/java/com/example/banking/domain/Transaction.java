@@ -2,7 +2,6 @@ package com.example.banking.domain;
 
 import com.example.shared.domain.Entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -10,26 +9,40 @@ import java.time.LocalDateTime;
  * This demonstrates proper aggregate boundary enforcement.
  */
 public class Transaction extends Entity<TransactionId> {
+    private final long sequence;
     private final TransactionType type;
-    private final BigDecimal amount;
+    private final Amount amount;
     private final String description;
-    private final BigDecimal balanceAfter;
+    private final Amount balanceAfter;
     private final LocalDateTime timestamp;
 
     // Package-private constructor - only BankAccount can create transactions
-    public Transaction(TransactionId id, TransactionType type, BigDecimal amount,
-               String description, BigDecimal balanceAfter) {
+    public Transaction(TransactionId id, long sequence, TransactionType type, Amount amount,
+               String description, Amount balanceAfter) {
+        this(id, sequence, type, amount, description, balanceAfter, LocalDateTime.now());
+    }
+
+    // Static factory method for reconstruction from persistence (keeps the original timestamp)
+    public static Transaction reconstruct(TransactionId id, long sequence, TransactionType type, Amount amount,
+                                          String description, Amount balanceAfter, LocalDateTime timestamp) {
+        return new Transaction(id, sequence, type, amount, description, balanceAfter, timestamp);
+    }
+
+    private Transaction(TransactionId id, long sequence, TransactionType type, Amount amount,
+                        String description, Amount balanceAfter, LocalDateTime timestamp) {
         super(id);
+        this.sequence = sequence;
         this.type = type;
         this.amount = amount;
         this.description = description;
         this.balanceAfter = balanceAfter;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
     }
 
+    public long getSequence() { return sequence; }
     public TransactionType getType() { return type; }
-    public BigDecimal getAmount() { return amount; }
+    public Amount getAmount() { return amount; }
     public String getDescription() { return description; }
-    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public Amount getBalanceAfter() { return balanceAfter; }
     public LocalDateTime getTimestamp() { return timestamp; }
 }
\ No newline at end of file
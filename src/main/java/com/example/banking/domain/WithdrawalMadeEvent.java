@@ -2,21 +2,33 @@ package com.example.banking.domain;
 
 import com.example.shared.domain.DomainEvent;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class WithdrawalMadeEvent extends DomainEvent {
     private final AccountId accountId;
-    private final BigDecimal amount;
-    private final BigDecimal newBalance;
+    private final Amount amount;
+    private final Amount newBalance;
+    private final long transactionSequence;
 
-    public WithdrawalMadeEvent(AccountId accountId, BigDecimal amount, BigDecimal newBalance) {
+    public WithdrawalMadeEvent(AccountId accountId, Amount amount, Amount newBalance, long transactionSequence) {
         super();
         this.accountId = accountId;
         this.amount = amount;
         this.newBalance = newBalance;
+        this.transactionSequence = transactionSequence;
+    }
+
+    public WithdrawalMadeEvent(String eventId, LocalDateTime occurredOn, AccountId accountId, Amount amount,
+                               Amount newBalance, long transactionSequence) {
+        super(eventId, occurredOn);
+        this.accountId = accountId;
+        this.amount = amount;
+        this.newBalance = newBalance;
+        this.transactionSequence = transactionSequence;
     }
 
     public AccountId getAccountId() { return accountId; }
-    public BigDecimal getAmount() { return amount; }
-    public BigDecimal getNewBalance() { return newBalance; }
+    public Amount getAmount() { return amount; }
+    public Amount getNewBalance() { return newBalance; }
+    public long getTransactionSequence() { return transactionSequence; }
 }
\ No newline at end of file
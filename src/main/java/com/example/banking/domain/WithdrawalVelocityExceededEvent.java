@@ -0,0 +1,37 @@
+package com.example.banking.domain;
+
+import com.example.shared.domain.DomainEvent;
+
+import java.time.Duration;
+
+/** Raised when an account's withdrawals within a sliding window first go over a screening threshold. */
+public class WithdrawalVelocityExceededEvent extends DomainEvent {
+    private final AccountId accountId;
+    private final String window;
+    private final Duration windowLength;
+    private final int withdrawals;
+    private final Amount totalWithdrawn;
+    private final int maxWithdrawals;
+    private final Amount maxTotal;
+
+    public WithdrawalVelocityExceededEvent(AccountId accountId, String window, Duration windowLength,
+                                           int withdrawals, Amount totalWithdrawn,
+                                           int maxWithdrawals, Amount maxTotal) {
+        super();
+        this.accountId = accountId;
+        this.window = window;
+        this.windowLength = windowLength;
+        this.withdrawals = withdrawals;
+        this.totalWithdrawn = totalWithdrawn;
+        this.maxWithdrawals = maxWithdrawals;
+        this.maxTotal = maxTotal;
+    }
+
+    public AccountId getAccountId() { return accountId; }
+    public String getWindow() { return window; }
+    public Duration getWindowLength() { return windowLength; }
+    public int getWithdrawals() { return withdrawals; }
+    public Amount getTotalWithdrawn() { return totalWithdrawn; }
+    public int getMaxWithdrawals() { return maxWithdrawals; }
+    public Amount getMaxTotal() { return maxTotal; }
+}
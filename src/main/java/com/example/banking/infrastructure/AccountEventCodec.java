@@ -0,0 +1,150 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.AccountStatus;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.Transaction;
+import com.example.banking.domain.TransactionId;
+import com.example.banking.domain.TransactionType;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the records kept by {@link EventLogBankAccountRepository}: one log record
+ * per save holding an {@link AccountChange} for each aggregate saved, and the account states
+ * in a snapshot.
+ */
+final class AccountEventCodec {
+    // Version 2: amounts are stored as minor units
+    // Version 3: a log record holds the changes of every account saved together
+    static final byte FORMAT_VERSION = 3;
+
+    private AccountEventCodec() {}
+
+    /** Immutable details fixed when the account is opened. */
+    record AccountOpened(String accountNumber, String accountHolderName,
+                         Amount dailyWithdrawalLimit, LocalDateTime createdAt) {}
+
+    /**
+     * Everything one save appends: the opening details for a new account, the transactions
+     * recorded since the previous save, and the resulting account state.
+     */
+    record AccountChange(String accountId, AccountOpened opened, List<Transaction> transactions,
+                         AccountStatus status, Amount balance, Amount totalWithdrawnToday,
+                         Amount checkpointBalance, long checkpointSequence,
+                         long version, LocalDateTime lastModified) {}
+
+    static byte[] encode(List<AccountChange> changes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * changes.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(changes.size());
+            for (AccountChange change : changes) {
+                writeChange(out, change);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<AccountChange> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte format = in.readByte();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported account record format: " + format);
+            }
+            int count = in.readInt();
+            List<AccountChange> changes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                changes.add(readChange(in));
+            }
+            return changes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeChange(DataOutput out, AccountChange change) throws IOException {
+        out.writeUTF(change.accountId());
+        out.writeBoolean(change.opened() != null);
+        if (change.opened() != null) {
+            writeOpened(out, change.opened());
+        }
+        writeTransactions(out, change.transactions());
+        out.writeUTF(change.status().name());
+        writeAmount(out, change.balance());
+        writeAmount(out, change.totalWithdrawnToday());
+        writeAmount(out, change.checkpointBalance());
+        out.writeLong(change.checkpointSequence());
+        out.writeLong(change.version());
+        writeTimestamp(out, change.lastModified());
+    }
+
+    private static AccountChange readChange(DataInput in) throws IOException {
+        String accountId = in.readUTF();
+        AccountOpened opened = in.readBoolean() ? readOpened(in) : null;
+        return new AccountChange(accountId, opened, readTransactions(in),
+                AccountStatus.valueOf(in.readUTF()),
+                readAmount(in), readAmount(in), readAmount(in),
+                in.readLong(), in.readLong(), readTimestamp(in));
+    }
+
+    static void writeOpened(DataOutput out, AccountOpened opened) throws IOException {
+        out.writeUTF(opened.accountNumber());
+        out.writeUTF(opened.accountHolderName());
+        writeAmount(out, opened.dailyWithdrawalLimit());
+        writeTimestamp(out, opened.createdAt());
+    }
+
+    static AccountOpened readOpened(DataInput in) throws IOException {
+        return new AccountOpened(in.readUTF(), in.readUTF(), readAmount(in), readTimestamp(in));
+    }
+
+    static void writeTransactions(DataOutput out, List<Transaction> transactions) throws IOException {
+        out.writeInt(transactions.size());
+        for (Transaction transaction : transactions) {
+            out.writeUTF(transaction.getId().value());
+            out.writeLong(transaction.getSequence());
+            out.writeUTF(transaction.getType().name());
+            writeAmount(out, transaction.getAmount());
+            out.writeUTF(transaction.getDescription() != null ? transaction.getDescription() : "");
+            writeAmount(out, transaction.getBalanceAfter());
+            writeTimestamp(out, transaction.getTimestamp());
+        }
+    }
+
+    static List<Transaction> readTransactions(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(Transaction.reconstruct(
+                    new TransactionId(in.readUTF()),
+                    in.readLong(),
+                    TransactionType.valueOf(in.readUTF()),
+                    readAmount(in),
+                    in.readUTF(),
+                    readAmount(in),
+                    readTimestamp(in)));
+        }
+        return transactions;
+    }
+
+    static void writeAmount(DataOutput out, Amount amount) throws IOException {
+        out.writeLong(amount.getMinorUnits());
+    }
+
+    static Amount readAmount(DataInput in) throws IOException {
+        return Amount.ofMinorUnits(in.readLong());
+    }
+
+    static void writeTimestamp(DataOutput out, LocalDateTime timestamp) throws IOException {
+        out.writeUTF(timestamp.toString());
+    }
+
+    static LocalDateTime readTimestamp(DataInput in) throws IOException {
+        return LocalDateTime.parse(in.readUTF());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.banking.infrastructure;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What has been moved out of the transactions table for one account. Live rows continue the
+ * chain at {@code archivedThroughSequence + 1} from {@code archivedBalance}.
+ */
+@Entity
+@Table(name = "transaction_archive_checkpoints")
+public class ArchiveCheckpointEntity {
+    @Id
+    private String accountId;
+
+    @Column(nullable = false)
+    private Long archivedThroughSequence;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal archivedBalance;
+
+    @Column(nullable = false)
+    private String archivedThroughMonth;
+
+    @Column(nullable = false)
+    private Long archivedTransactions;
+
+    @Column(nullable = false)
+    private LocalDateTime lastArchivedAt;
+
+    protected ArchiveCheckpointEntity() {}
+
+    public ArchiveCheckpointEntity(String accountId) {
+        this.accountId = accountId;
+        this.archivedThroughSequence = 0L;
+        this.archivedBalance = BigDecimal.ZERO;
+        this.archivedTransactions = 0L;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public Long getArchivedThroughSequence() {
+        return archivedThroughSequence;
+    }
+
+    public BigDecimal getArchivedBalance() {
+        return archivedBalance;
+    }
+
+    public String getArchivedThroughMonth() {
+        return archivedThroughMonth;
+    }
+
+    public Long getArchivedTransactions() {
+        return archivedTransactions;
+    }
+
+    public LocalDateTime getLastArchivedAt() {
+        return lastArchivedAt;
+    }
+
+    public void recordArchived(long throughSequence, BigDecimal balance, String throughMonth,
+                               long transactions, LocalDateTime archivedAt) {
+        this.archivedThroughSequence = throughSequence;
+        this.archivedBalance = balance;
+        this.archivedThroughMonth = throughMonth;
+        this.archivedTransactions += transactions;
+        this.lastArchivedAt = archivedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.banking.infrastructure;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_balance_shards", indexes = {
+    @Index(name = "idx_account_balance_shards_account", columnList = "accountId, shardIndex")
+})
+public class BalanceShardEntity {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private Boolean acceptingDeposits;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    protected BalanceShardEntity() {}
+
+    public BalanceShardEntity(String accountId, int shardIndex) {
+        this.id = idOf(accountId, shardIndex);
+        this.accountId = accountId;
+        this.shardIndex = shardIndex;
+    }
+
+    static String idOf(String accountId, int shardIndex) {
+        return accountId + "/" + shardIndex;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public Integer getShardIndex() {
+        return shardIndex;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public Boolean getAcceptingDeposits() {
+        return acceptingDeposits;
+    }
+
+    public void setAcceptingDeposits(Boolean acceptingDeposits) {
+        this.acceptingDeposits = acceptingDeposits;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -39,10 +39,21 @@ public class BankAccountEntity {
     @Column(nullable = false)
     private LocalDateTime lastModified;
     
+    @Version
     @Column(nullable = false)
     private Long version;
     
-    @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal checkpointBalance = BigDecimal.ZERO;
+    
+    @Column(nullable = false)
+    private Long checkpointSequence = 0L;
+    
+    @Column(nullable = false)
+    private Long lastTransactionSequence = 0L;
+    
+    // Never initialised on the load path - see SpringDataTransactionRepository
+    @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TransactionEntity> transactions = new ArrayList<>();
 
     protected BankAccountEntity() {}
@@ -103,6 +114,18 @@ public class BankAccountEntity {
         return version;
     }
 
+    public BigDecimal getCheckpointBalance() {
+        return checkpointBalance;
+    }
+
+    public Long getCheckpointSequence() {
+        return checkpointSequence;
+    }
+
+    public Long getLastTransactionSequence() {
+        return lastTransactionSequence;
+    }
+
     public List<TransactionEntity> getTransactions() {
         return transactions;
     }
@@ -130,4 +153,16 @@ public class BankAccountEntity {
     public void setVersion(Long version) {
         this.version = version;
     }
+
+    public void setCheckpointBalance(BigDecimal checkpointBalance) {
+        this.checkpointBalance = checkpointBalance;
+    }
+
+    public void setCheckpointSequence(Long checkpointSequence) {
+        this.checkpointSequence = checkpointSequence;
+    }
+
+    public void setLastTransactionSequence(Long lastTransactionSequence) {
+        this.lastTransactionSequence = lastTransactionSequence;
+    }
 }
\ No newline at end of file
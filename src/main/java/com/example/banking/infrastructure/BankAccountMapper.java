@@ -1,13 +1,16 @@
 package com.example.banking.infrastructure;
 
 import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
 import com.example.banking.domain.BankAccount;
 import com.example.banking.domain.Transaction;
 import com.example.banking.domain.TransactionId;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -17,6 +20,12 @@ public interface BankAccountMapper {
     @Mapping(source = "transactions", target = "transactions", qualifiedByName = "transactionsToEntities")
     BankAccountEntity toEntity(BankAccount account);
 
+    // Copies mutable account state onto a managed entity; transactions are appended separately
+    // and the version is incremented by JPA itself
+    @Mapping(target = "transactions", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(BankAccount account, @MappingTarget BankAccountEntity entity);
+
     @Named("accountIdToString")
     default String accountIdToString(AccountId accountId) {
         return accountId.value();
@@ -27,6 +36,15 @@ public interface BankAccountMapper {
         return AccountId.of(id);
     }
 
+    // Amounts only become BigDecimal at the column boundary; MapStruct picks these up by type
+    default BigDecimal amountToBigDecimal(Amount amount) {
+        return amount.toBigDecimal();
+    }
+
+    default Amount bigDecimalToAmount(BigDecimal value) {
+        return Amount.of(value);
+    }
+
     @Named("transactionsToEntities")
     default List<TransactionEntity> transactionsToEntities(List<Transaction> transactions) {
         return transactions.stream()
@@ -45,8 +63,17 @@ public interface BankAccountMapper {
     @Mapping(source = "id", target = "id", qualifiedByName = "transactionIdToString")
     TransactionEntity transactionToEntity(Transaction transaction);
 
-    @Mapping(source = "id", target = "id", qualifiedByName = "stringToTransactionId")
-    Transaction transactionEntityToDomain(TransactionEntity transactionEntity);
+    default Transaction transactionEntityToDomain(TransactionEntity transactionEntity) {
+        return Transaction.reconstruct(
+                stringToTransactionId(transactionEntity.getId()),
+                transactionEntity.getSequence(),
+                transactionEntity.getType(),
+                bigDecimalToAmount(transactionEntity.getAmount()),
+                transactionEntity.getDescription(),
+                bigDecimalToAmount(transactionEntity.getBalanceAfter()),
+                transactionEntity.getTimestamp()
+        );
+    }
 
     @Named("transactionIdToString")
     default String transactionIdToString(TransactionId transactionId) {
@@ -59,21 +86,24 @@ public interface BankAccountMapper {
     }
 
 
-    default BankAccount toDomainWithReconstruction(BankAccountEntity entity) {
+    // Takes the transactions separately so the lazy history collection is never initialised
+    default BankAccount toDomainWithReconstruction(BankAccountEntity entity, List<TransactionEntity> transactions) {
         // We need to reconstruct the aggregate using reflection or a special constructor
         // since the domain constructor enforces business rules
         return BankAccount.reconstruct(
                 AccountId.of(entity.getId()),
                 entity.getAccountNumber(),
                 entity.getAccountHolderName(),
-                entity.getBalance(),
+                bigDecimalToAmount(entity.getBalance()),
                 entity.getStatus(),
-                entity.getDailyWithdrawalLimit(),
-                entity.getTotalWithdrawnToday(),
+                bigDecimalToAmount(entity.getDailyWithdrawalLimit()),
+                bigDecimalToAmount(entity.getTotalWithdrawnToday()),
                 entity.getCreatedAt(),
                 entity.getLastModified(),
                 entity.getVersion(),
-                transactionEntitiesToDomain(entity.getTransactions())
+                bigDecimalToAmount(entity.getCheckpointBalance()),
+                entity.getCheckpointSequence(),
+                transactionEntitiesToDomain(transactions)
         );
     }
 }
\ No newline at end of file
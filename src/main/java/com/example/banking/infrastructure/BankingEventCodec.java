@@ -0,0 +1,78 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.*;
+import com.example.shared.domain.DomainEvent;
+
+import java.io.*;
+import java.time.LocalDateTime;
+
+/**
+ * Binary encoding of the banking events that {@link BankingEventDispatcher} spills to disk.
+ * Events keep their id and time of occurrence across the round trip.
+ */
+final class BankingEventCodec {
+    private static final byte ACCOUNT_OPENED = 1;
+    private static final byte DEPOSIT_MADE = 2;
+    private static final byte WITHDRAWAL_MADE = 3;
+    private static final byte ACCOUNT_FROZEN = 4;
+
+    private BankingEventCodec() {}
+
+    static byte[] encode(DomainEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (event instanceof AccountOpenedEvent opened) {
+                writeHeader(out, ACCOUNT_OPENED, event, opened.getAccountId());
+                out.writeUTF(opened.getAccountNumber());
+                out.writeUTF(opened.getAccountHolderName());
+                AccountEventCodec.writeAmount(out, opened.getInitialDeposit());
+            } else if (event instanceof DepositMadeEvent deposit) {
+                writeHeader(out, DEPOSIT_MADE, event, deposit.getAccountId());
+                AccountEventCodec.writeAmount(out, deposit.getAmount());
+                AccountEventCodec.writeAmount(out, deposit.getNewBalance());
+                out.writeLong(deposit.getTransactionSequence());
+            } else if (event instanceof WithdrawalMadeEvent withdrawal) {
+                writeHeader(out, WITHDRAWAL_MADE, event, withdrawal.getAccountId());
+                AccountEventCodec.writeAmount(out, withdrawal.getAmount());
+                AccountEventCodec.writeAmount(out, withdrawal.getNewBalance());
+                out.writeLong(withdrawal.getTransactionSequence());
+            } else if (event instanceof AccountFrozenEvent frozen) {
+                writeHeader(out, ACCOUNT_FROZEN, event, frozen.getAccountId());
+            } else {
+                throw new IllegalArgumentException("Unsupported event: " + event.getClass().getName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static DomainEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = in.readByte();
+            String eventId = in.readUTF();
+            LocalDateTime occurredOn = AccountEventCodec.readTimestamp(in);
+            AccountId accountId = AccountId.of(in.readUTF());
+            return switch (type) {
+                case ACCOUNT_OPENED -> new AccountOpenedEvent(eventId, occurredOn, accountId,
+                        in.readUTF(), in.readUTF(), AccountEventCodec.readAmount(in));
+                case DEPOSIT_MADE -> new DepositMadeEvent(eventId, occurredOn, accountId,
+                        AccountEventCodec.readAmount(in), AccountEventCodec.readAmount(in), in.readLong());
+                case WITHDRAWAL_MADE -> new WithdrawalMadeEvent(eventId, occurredOn, accountId,
+                        AccountEventCodec.readAmount(in), AccountEventCodec.readAmount(in), in.readLong());
+                case ACCOUNT_FROZEN -> new AccountFrozenEvent(eventId, occurredOn, accountId);
+                default -> throw new IllegalStateException("Unknown spilled event type: " + type);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, byte type, DomainEvent event, AccountId accountId)
+            throws IOException {
+        out.writeByte(type);
+        out.writeUTF(event.getEventId());
+        AccountEventCodec.writeTimestamp(out, event.getOccurredOn());
+        out.writeUTF(accountId.value());
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.BankingEventHandler;
+import com.example.banking.domain.*;
+import com.example.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link BankingEventHandler} off the committing thread. Events are picked up after commit
+ * and queued on one of a fixed number of lanes, chosen by the hash of the account id. Each lane
+ * has a single worker, so the events of one account are handled one at a time and in commit order.
+ *
+ * When a lane's queue is full, banking.events.overflow decides what happens:
+ * <ul>
+ *   <li>BLOCK - the committing thread waits up to banking.events.block-timeout for space, then
+ *       spills the event as SPILL does</li>
+ *   <li>DROP - the event is discarded and counted</li>
+ *   <li>SPILL - the event is appended to the lane's file on disk. Until that file is drained,
+ *       every later event of the lane is appended to it as well, which keeps the order intact.</li>
+ * </ul>
+ *
+ * On shutdown the workers get banking.events.shutdown-timeout to handle what is queued and
+ * spilled. Whatever is left is written to the lane's spill file, ahead of the records still
+ * pending there, and delivered after the next start.
+ */
+@Component
+public class BankingEventDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(BankingEventDispatcher.class);
+    private static final int SPILL_READ_BATCH = 500;
+
+    public enum OverflowPolicy { BLOCK, DROP, SPILL }
+
+    private final BankingEventHandler handler;
+    private final OverflowPolicy overflowPolicy;
+    private final Path spillDirectory;
+    private final Duration blockTimeout;
+    private final Duration shutdownTimeout;
+    private final Lane[] lanes;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final Timer lag;
+    private volatile boolean running;
+
+    public BankingEventDispatcher(BankingEventHandler handler,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${banking.events.workers:4}") int workers,
+                                  @Value("${banking.events.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${banking.events.overflow:BLOCK}") OverflowPolicy overflowPolicy,
+                                  @Value("${banking.events.spill-directory:${java.io.tmpdir}/banking-event-spill}") Path spillDirectory,
+                                  @Value("${banking.events.block-timeout:5s}") Duration blockTimeout,
+                                  @Value("${banking.events.shutdown-timeout:5s}") Duration shutdownTimeout) {
+        this.handler = handler;
+        this.overflowPolicy = overflowPolicy;
+        this.spillDirectory = spillDirectory;
+        this.blockTimeout = blockTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.dropped = Counter.builder("banking.events.dropped").register(meterRegistry);
+        this.spilled = Counter.builder("banking.events.spilled").register(meterRegistry);
+        this.failed = Counter.builder("banking.events.failed").register(meterRegistry);
+        // From the event being raised to its handler starting
+        this.lag = Timer.builder("banking.events.lag").register(meterRegistry);
+        this.lanes = new Lane[workers];
+        for (int i = 0; i < workers; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+            Gauge.builder("banking.events.queue.depth", lanes[i].queue, BlockingQueue::size)
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+            Gauge.builder("banking.events.spill.pending", lanes[i], Lane::spillPending)
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (overflowPolicy != OverflowPolicy.DROP) {
+            Files.createDirectories(spillDirectory);
+            for (Lane lane : lanes) {
+                // BLOCK lanes only open their file once they need it, or to deliver what a previous run left
+                if (overflowPolicy == OverflowPolicy.SPILL || (Files.exists(lane.spillFile) && Files.size(lane.spillFile) > 0)) {
+                    lane.openSpill();
+                }
+            }
+        }
+        running = true;
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Lane lane : lanes) {
+            // Workers finish what is queued, in memory and on disk, before they exit
+            lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        for (Lane lane : lanes) {
+            if (lane.thread.isAlive()) {
+                lane.abandoned = true;
+                lane.thread.interrupt();
+                lane.thread.join(TimeUnit.SECONDS.toMillis(1));
+            }
+            try {
+                lane.checkpoint();
+            } catch (IOException e) {
+                logger.error("Could not checkpoint the spill file of {}", lane.thread.getName(), e);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAccountOpened(AccountOpenedEvent event) {
+        dispatch(event.getAccountId(), event);
+    }
+
+    @TransactionalEventListener
+    public void onDeposit(DepositMadeEvent event) {
+        dispatch(event.getAccountId(), event);
+    }
+
+    @TransactionalEventListener
+    public void onWithdrawal(WithdrawalMadeEvent event) {
+        dispatch(event.getAccountId(), event);
+    }
+
+    @TransactionalEventListener
+    public void onAccountFrozen(AccountFrozenEvent event) {
+        dispatch(event.getAccountId(), event);
+    }
+
+    private void dispatch(AccountId accountId, DomainEvent event) {
+        Lane lane = lanes[Math.floorMod(accountId.hashCode(), lanes.length)];
+        switch (overflowPolicy) {
+            case BLOCK -> lane.offerWaitingOrSpill(event);
+            case DROP -> {
+                if (!lane.queue.offer(event)) {
+                    dropped.increment();
+                    logger.warn("Event queue of lane {} is full; dropped {}", lane.thread.getName(), event.getEventId());
+                }
+            }
+            case SPILL -> lane.offerOrSpill(event);
+        }
+    }
+
+    private void handle(DomainEvent event) {
+        lag.record(Duration.between(event.getOccurredOn(), LocalDateTime.now()));
+        try {
+            if (event instanceof AccountOpenedEvent opened) {
+                handler.handleAccountOpened(opened);
+            } else if (event instanceof DepositMadeEvent deposit) {
+                handler.handleDeposit(deposit);
+            } else if (event instanceof WithdrawalMadeEvent withdrawal) {
+                handler.handleWithdrawal(withdrawal);
+            } else if (event instanceof AccountFrozenEvent frozen) {
+                handler.handleAccountFrozen(frozen);
+            }
+        } catch (RuntimeException e) {
+            // One failing handler must not stall the other accounts on the lane
+            failed.increment();
+            logger.error("Handling {} failed", event.getEventId(), e);
+        }
+    }
+
+    private final class Lane implements Runnable {
+        private final BlockingQueue<DomainEvent> queue;
+        private final Thread thread;
+        private final Path spillFile;
+        private volatile EventSpillFile spill;
+        private boolean checkpointed;
+        // Set when the worker overran the shutdown timeout; it stops between events
+        private volatile boolean abandoned;
+
+        private Lane(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "banking-events-" + index);
+            this.thread.setDaemon(true);
+            this.spillFile = spillDirectory.resolve("lane-" + index + ".spill");
+        }
+
+        synchronized void openSpill() throws IOException {
+            if (spill == null) {
+                spill = new EventSpillFile(spillFile);
+            }
+        }
+
+        void offerWaitingOrSpill(DomainEvent event) {
+            try {
+                // Only waits while nothing is spilled, so the event cannot overtake older ones on disk
+                if (spillPending() == 0 && queue.offer(event, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            offerOrSpill(event);
+        }
+
+        synchronized void offerOrSpill(DomainEvent event) {
+            if (checkpointed) {
+                dropped.increment();
+                logger.warn("Events of {} are no longer accepted; dropped {}", thread.getName(), event.getEventId());
+                return;
+            }
+            try {
+                if ((spill == null || spill.isEmpty()) && queue.offer(event)) {
+                    return;
+                }
+                openSpill();
+                spill.append(BankingEventCodec.encode(event));
+                spilled.increment();
+            } catch (IOException e) {
+                dropped.increment();
+                logger.error("Could not spill {}; event dropped", event.getEventId(), e);
+            }
+        }
+
+        synchronized long spillPending() {
+            return spill != null ? spill.pending() : 0;
+        }
+
+        private synchronized List<byte[]> readSpilled() throws IOException {
+            return spill == null || spill.isEmpty() ? List.of() : spill.read(SPILL_READ_BATCH);
+        }
+
+        private synchronized void acknowledgeSpilled(int count) throws IOException {
+            if (spill != null) {
+                spill.acknowledge(count);
+            }
+        }
+
+        // Keeps what is still queued and spilled for the next start
+        synchronized void checkpoint() throws IOException {
+            checkpointed = true;
+            List<DomainEvent> unhandled = new ArrayList<>();
+            queue.drainTo(unhandled);
+            if (!unhandled.isEmpty() && overflowPolicy != OverflowPolicy.DROP) {
+                openSpill();
+            }
+            if (spill == null) {
+                if (!unhandled.isEmpty()) {
+                    dropped.increment(unhandled.size());
+                    logger.warn("{} events of {} were not handled before shutdown", unhandled.size(), thread.getName());
+                }
+                return;
+            }
+            spill.checkpointAndClose(unhandled.stream().map(BankingEventCodec::encode).toList());
+            spill = null;
+        }
+
+        // A record counts as consumed once its handler has run, or once it could not be decoded
+        private void handleSpilled(List<byte[]> spilledEvents) throws IOException {
+            int consumed = 0;
+            try {
+                for (byte[] payload : spilledEvents) {
+                    if (abandoned) {
+                        break;
+                    }
+                    consumed++;
+                    handle(BankingEventCodec.decode(payload));
+                }
+            } finally {
+                acknowledgeSpilled(consumed);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!abandoned && (running || !queue.isEmpty() || spillPending() > 0)) {
+                try {
+                    DomainEvent event = queue.poll();
+                    // Spilled events are all newer than anything queued before them, so they
+                    // are only picked up once the queue has run dry
+                    if (event == null && spill != null) {
+                        List<byte[]> spilledEvents = readSpilled();
+                        if (!spilledEvents.isEmpty()) {
+                            handleSpilled(spilledEvents);
+                            continue;
+                        }
+                    }
+                    if (event == null) {
+                        event = queue.poll(100, TimeUnit.MILLISECONDS);
+                    }
+                    if (event != null) {
+                        handle(event);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException | UncheckedIOException e) {
+                    logger.error("Could not read spilled events of {}", thread.getName(), e);
+                } catch (RuntimeException e) {
+                    logger.error("Unexpected failure in {}", thread.getName(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.TransactionCursor;
+import com.example.banking.application.TransactionHistoryFilter;
+import com.example.banking.application.TransactionHistoryRepository;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.AccountStatus;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.domain.Transaction;
+import com.example.banking.infrastructure.AccountEventCodec.AccountChange;
+import com.example.banking.infrastructure.AccountEventCodec.AccountOpened;
+import com.example.banking.query.TransactionView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Event-sourced alternative to {@link JpaBankAccountRepository} (banking.repository=event-log).
+ *
+ * Every save appends one record to a {@link SegmentedEventLog}, with an {@link AccountChange}
+ * for each account saved; nothing is ever updated in place. The latest state of each account, together with its transactions
+ * since the last checkpoint, is kept in memory, so loads never touch the disk. A background
+ * task periodically writes a snapshot of that state, and startup rebuilds it from the newest
+ * snapshot plus the log records appended after it. Full history is read back from the log
+ * on demand using the record positions kept per account.
+ *
+ * Appends are not enlisted in the surrounding JPA transaction: a save is durable (subject to
+ * banking.event-log.force-on-append) as soon as it returns. Work that spans several accounts
+ * therefore has to save them in a single {@link #saveAll} call to stay atomic.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.repository", havingValue = "event-log")
+public class EventLogBankAccountRepository implements BankAccountRepository, TransactionHistoryRepository {
+    private static final Logger logger = LoggerFactory.getLogger(EventLogBankAccountRepository.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int SNAPSHOT_MAGIC = 0x42414E4B;
+    private static final Comparator<TransactionView> NEWEST_FIRST = Comparator
+            .comparing(TransactionView::timestamp)
+            .thenComparing(TransactionView::transactionId)
+            .reversed();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final Duration snapshotInterval;
+    private final Timer appendTimer;
+    private final Timer snapshotTimer;
+    // Sorted by id so batch jobs can walk ranges of the book
+    private final NavigableMap<String, AccountState> accounts = new ConcurrentSkipListMap<>();
+    private final Map<String, String> accountIdsByNumber = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private SegmentedEventLog log;
+    private ScheduledExecutorService snapshotScheduler;
+    private long snapshotPosition = -1;
+
+    public EventLogBankAccountRepository(@Value("${banking.event-log.directory:${java.io.tmpdir}/banking-event-log}") Path directory,
+                                         @Value("${banking.event-log.segment-size:64MB}") DataSize segmentSize,
+                                         @Value("${banking.event-log.force-on-append:false}") boolean forceOnAppend,
+                                         @Value("${banking.event-log.snapshot-interval:30s}") Duration snapshotInterval,
+                                         MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.forceOnAppend = forceOnAppend;
+        this.snapshotInterval = snapshotInterval;
+        this.appendTimer = Timer.builder("banking.eventlog.append").register(meterRegistry);
+        this.snapshotTimer = Timer.builder("banking.eventlog.snapshot").register(meterRegistry);
+    }
+
+    /** In-memory state of one account: its latest values plus what is needed to rebuild and audit it. */
+    record AccountState(AccountOpened opened, AccountStatus status, Amount balance,
+                        Amount totalWithdrawnToday, Amount checkpointBalance,
+                        long checkpointSequence, long version, LocalDateTime lastModified,
+                        List<Transaction> recentTransactions, HistoryPositions history, int historySize) {}
+
+    @PostConstruct
+    public void open() throws IOException {
+        long started = System.nanoTime();
+        long replayFrom = loadLatestSnapshot();
+        int[] replayed = {0};
+
+        log = new SegmentedEventLog(directory, segmentSize, forceOnAppend);
+        log.replay(replayFrom, (position, payload) -> {
+            AccountEventCodec.decode(payload).forEach(change -> apply(change, position));
+            replayed[0]++;
+        });
+        snapshotPosition = replayed[0] == 0 ? replayFrom : -1;
+
+        logger.info("Recovered {} accounts from {} (snapshot at {} plus {} log records) in {} ms",
+                accounts.size(), directory, replayFrom, replayed[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        if (!snapshotInterval.isZero()) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "event-log-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+            try {
+                snapshotScheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeSnapshot();
+        log.close();
+    }
+
+    @Override
+    public void save(BankAccount account) {
+        saveAll(List.of(account));
+    }
+
+    /**
+     * Appends one record holding every account's change, so a transfer or a batch chunk is
+     * recovered either completely or not at all. The version of each account is checked
+     * before anything is written; one stale account rejects the whole save.
+     */
+    @Override
+    public void saveAll(Collection<BankAccount> toSave) {
+        if (toSave.isEmpty()) {
+            return;
+        }
+        List<AccountChange> changes = new ArrayList<>(toSave.size());
+
+        synchronized (writeLock) {
+            Set<String> accountIds = new HashSet<>();
+            Set<String> newAccountNumbers = new HashSet<>();
+            for (BankAccount account : toSave) {
+                String accountId = account.getId().value();
+                if (!accountIds.add(accountId)) {
+                    throw new IllegalArgumentException("Account saved twice in one call: " + accountId);
+                }
+                changes.add(changeOf(account, accounts.get(accountId), newAccountNumbers));
+            }
+
+            byte[] payload = AccountEventCodec.encode(changes);
+            long position = appendTimer.record(() -> log.append(payload));
+            changes.forEach(change -> apply(change, position));
+        }
+
+        Iterator<AccountChange> saved = changes.iterator();
+        toSave.forEach(account -> account.markPersisted(saved.next().version()));
+    }
+
+    private AccountChange changeOf(BankAccount account, AccountState current, Set<String> newAccountNumbers) {
+        String accountId = account.getId().value();
+        AccountOpened opened = null;
+        long newVersion;
+
+        if (current == null) {
+            if (accountIdsByNumber.containsKey(account.getAccountNumber())
+                    || !newAccountNumbers.add(account.getAccountNumber())) {
+                throw new DataIntegrityViolationException(
+                        "Account number already in use: " + account.getAccountNumber());
+            }
+            opened = new AccountOpened(account.getAccountNumber(), account.getAccountHolderName(),
+                    account.getDailyWithdrawalLimit(), account.getCreatedAt());
+            newVersion = account.getVersion();
+        } else {
+            // Same contract as the @Version column: a save must be based on the latest state
+            if (current.version() != account.getPersistedVersion()) {
+                throw new ObjectOptimisticLockingFailureException(BankAccount.class, accountId);
+            }
+            newVersion = current.version() + 1;
+        }
+
+        return new AccountChange(accountId, opened,
+                List.copyOf(account.getPendingTransactions()), account.getStatus(),
+                account.getBalance(), account.getTotalWithdrawnToday(),
+                account.getCheckpointBalance(), account.getCheckpointSequence(),
+                newVersion, account.getLastModified());
+    }
+
+    @Override
+    public Optional<BankAccount> findById(AccountId accountId) {
+        return Optional.ofNullable(accounts.get(accountId.value()))
+                .map(state -> toDomain(accountId, state));
+    }
+
+    @Override
+    public Optional<BankAccount> findByAccountNumber(String accountNumber) {
+        return Optional.ofNullable(accountIdsByNumber.get(accountNumber))
+                .map(AccountId::of)
+                .flatMap(this::findById);
+    }
+
+    @Override
+    public List<BankAccount> findInIdRange(String afterId, String beforeId, int limit) {
+        NavigableMap<String, AccountState> range = accounts;
+        if (afterId != null) {
+            range = range.tailMap(afterId, false);
+        }
+        if (beforeId != null) {
+            range = range.headMap(beforeId, false);
+        }
+        List<BankAccount> page = new ArrayList<>(Math.min(limit, 256));
+        for (Map.Entry<String, AccountState> entry : range.entrySet()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(toDomain(AccountId.of(entry.getKey()), entry.getValue()));
+        }
+        return page;
+    }
+
+    @Override
+    public List<Transaction> findTransactionHistory(AccountId accountId) {
+        AccountState state = accounts.get(accountId.value());
+        if (state == null) {
+            return List.of();
+        }
+        List<Transaction> history = new ArrayList<>();
+        state.history().forEach(state.historySize(), position ->
+                history.addAll(transactionsAt(position, accountId)));
+        return history;
+    }
+
+    // History is only indexed per account here, so the page is cut from the account's full history
+    @Override
+    public List<TransactionView> findPage(AccountId accountId, TransactionHistoryFilter filter,
+                                          TransactionCursor after, int limit) {
+        return findTransactionHistory(accountId).stream()
+                .filter(transaction -> filter.type() == null || transaction.getType() == filter.type())
+                .filter(transaction -> filter.from() == null || !transaction.getTimestamp().isBefore(filter.from()))
+                .filter(transaction -> filter.to() == null || transaction.getTimestamp().isBefore(filter.to()))
+                .map(TransactionView::from)
+                .filter(view -> after == null || NEWEST_FIRST.compare(view,
+                        new TransactionView(after.transactionId(), null, null, null, null, null, after.timestamp())) > 0)
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Stream<TransactionView> streamStatement(AccountId accountId, LocalDateTime from, LocalDateTime to) {
+        AccountState state = accounts.get(accountId.value());
+        if (state == null) {
+            return Stream.empty();
+        }
+        // Decode one log record at a time rather than materialising the whole history
+        return state.history().stream(state.historySize())
+                .mapToObj(position -> transactionsAt(position, accountId))
+                .flatMap(List::stream)
+                .filter(transaction -> !transaction.getTimestamp().isBefore(from) && transaction.getTimestamp().isBefore(to))
+                .map(TransactionView::from);
+    }
+
+    // A record can hold changes of several accounts saved together
+    private List<Transaction> transactionsAt(long position, AccountId accountId) {
+        return AccountEventCodec.decode(log.read(position)).stream()
+                .filter(change -> change.accountId().equals(accountId.value()))
+                .flatMap(change -> change.transactions().stream())
+                .toList();
+    }
+
+    private void apply(AccountChange change, long position) {
+        AccountState current = accounts.get(change.accountId());
+        AccountOpened opened = current != null ? current.opened() : change.opened();
+
+        // Only transactions past the checkpoint are needed to rebuild the aggregate
+        List<Transaction> recent = new ArrayList<>();
+        if (current != null) {
+            current.recentTransactions().stream()
+                    .filter(transaction -> transaction.getSequence() > change.checkpointSequence())
+                    .forEach(recent::add);
+        }
+        change.transactions().stream()
+                .filter(transaction -> transaction.getSequence() > change.checkpointSequence())
+                .forEach(recent::add);
+
+        // Shared with the previous state, which keeps seeing only the positions it was published with
+        HistoryPositions history = current != null ? current.history() : new HistoryPositions();
+        int historySize = current != null ? current.historySize() : 0;
+        if (!change.transactions().isEmpty()) {
+            historySize = history.append(position);
+        }
+
+        accounts.put(change.accountId(), new AccountState(opened, change.status(), change.balance(),
+                change.totalWithdrawnToday(), change.checkpointBalance(), change.checkpointSequence(),
+                change.version(), change.lastModified(), List.copyOf(recent), history, historySize));
+        accountIdsByNumber.put(opened.accountNumber(), change.accountId());
+    }
+
+    private BankAccount toDomain(AccountId accountId, AccountState state) {
+        AccountOpened opened = state.opened();
+        return BankAccount.reconstruct(accountId, opened.accountNumber(), opened.accountHolderName(),
+                state.balance(), state.status(), opened.dailyWithdrawalLimit(),
+                state.totalWithdrawnToday(), opened.createdAt(), state.lastModified(),
+                state.version(), state.checkpointBalance(), state.checkpointSequence(),
+                state.recentTransactions());
+    }
+
+    private void snapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write event log snapshot; will retry on the next run", e);
+        }
+    }
+
+    /** Writes the current state of all accounts, if anything was appended since the last snapshot. */
+    void writeSnapshot() throws IOException {
+        long position;
+        List<Map.Entry<String, AccountState>> states;
+        synchronized (writeLock) {
+            position = log.endPosition();
+            if (position == snapshotPosition) {
+                return;
+            }
+            // States are immutable, so a shallow copy taken under the lock is consistent with the position
+            states = new ArrayList<>(Map.copyOf(accounts).entrySet());
+        }
+
+        long started = System.nanoTime();
+        // The snapshot must never claim records the log could still lose
+        log.force();
+
+        Path target = directory.resolve(SNAPSHOT_PREFIX + position + SNAPSHOT_SUFFIX);
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + position + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(AccountEventCodec.FORMAT_VERSION);
+            out.writeLong(position);
+            out.writeInt(states.size());
+            for (Map.Entry<String, AccountState> entry : states) {
+                writeState(out, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        synchronized (writeLock) {
+            snapshotPosition = position;
+        }
+        for (Path older : snapshotFiles()) {
+            if (!older.equals(target)) {
+                Files.deleteIfExists(older);
+            }
+        }
+        snapshotTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /** Loads the newest readable snapshot and returns the log position to replay from. */
+    private long loadLatestSnapshot() throws IOException {
+        List<Path> snapshots = snapshotFiles();
+        snapshots.sort(Comparator.comparingLong(EventLogBankAccountRepository::snapshotPositionOf).reversed());
+
+        for (Path snapshot : snapshots) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readByte() != AccountEventCodec.FORMAT_VERSION) {
+                    throw new IOException("Not a snapshot file of the current format");
+                }
+                long position = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String accountId = in.readUTF();
+                    AccountState state = readState(in);
+                    accounts.put(accountId, state);
+                    accountIdsByNumber.put(state.opened().accountNumber(), accountId);
+                }
+                return position;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable snapshot {}", snapshot, e);
+                accounts.clear();
+                accountIdsByNumber.clear();
+            }
+        }
+        return 0;
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(file -> file.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .toList());
+        }
+    }
+
+    private static long snapshotPositionOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private static void writeState(DataOutput out, String accountId, AccountState state) throws IOException {
+        out.writeUTF(accountId);
+        AccountEventCodec.writeOpened(out, state.opened());
+        out.writeUTF(state.status().name());
+        AccountEventCodec.writeAmount(out, state.balance());
+        AccountEventCodec.writeAmount(out, state.totalWithdrawnToday());
+        AccountEventCodec.writeAmount(out, state.checkpointBalance());
+        out.writeLong(state.checkpointSequence());
+        out.writeLong(state.version());
+        AccountEventCodec.writeTimestamp(out, state.lastModified());
+        AccountEventCodec.writeTransactions(out, state.recentTransactions());
+        out.writeInt(state.historySize());
+        for (long position : state.history().stream(state.historySize()).toArray()) {
+            out.writeLong(position);
+        }
+    }
+
+    private static AccountState readState(DataInput in) throws IOException {
+        AccountOpened opened = AccountEventCodec.readOpened(in);
+        AccountStatus status = AccountStatus.valueOf(in.readUTF());
+        Amount balance = AccountEventCodec.readAmount(in);
+        Amount totalWithdrawnToday = AccountEventCodec.readAmount(in);
+        Amount checkpointBalance = AccountEventCodec.readAmount(in);
+        long checkpointSequence = in.readLong();
+        long version = in.readLong();
+        LocalDateTime lastModified = AccountEventCodec.readTimestamp(in);
+        List<Transaction> recent = List.copyOf(AccountEventCodec.readTransactions(in));
+        HistoryPositions history = new HistoryPositions();
+        int historySize = in.readInt();
+        for (int i = 0; i < historySize; i++) {
+            history.append(in.readLong());
+        }
+        return new AccountState(opened, status, balance, totalWithdrawnToday, checkpointBalance,
+                checkpointSequence, version, lastModified, recent, history, historySize);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.banking.infrastructure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Overflow file of one {@link BankingEventDispatcher} lane: [length][payload] records, read back
+ * in the order they were appended. A record stays pending until it is acknowledged, and the file
+ * is emptied once every record has been. Not thread-safe; the dispatcher guards each file with
+ * its lane's lock.
+ */
+final class EventSpillFile implements Closeable {
+    private final Path file;
+    private final FileChannel channel;
+    private long readPosition;
+    private long writePosition;
+    private long pending;
+    // End positions of the records returned by the last read
+    private long[] readEnds = new long[0];
+
+    EventSpillFile(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.writePosition = channel.size();
+        // Records left behind by a previous run are delivered first
+        this.pending = countRecords();
+    }
+
+    void append(byte[] payload) throws IOException {
+        writePosition = write(channel, writePosition, payload);
+        pending++;
+    }
+
+    /** Reads up to {@code max} of the pending records, oldest first, without acknowledging them. */
+    List<byte[]> read(int max) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long[] ends = new long[(int) Math.min(max, pending)];
+        long position = readPosition;
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (records.size() < ends.length) {
+            length.clear();
+            channel.read(length, position);
+            int size = length.flip().getInt();
+            ByteBuffer payload = ByteBuffer.allocate(size);
+            while (payload.hasRemaining()) {
+                channel.read(payload, position + Integer.BYTES + payload.position());
+            }
+            position += Integer.BYTES + size;
+            ends[records.size()] = position;
+            records.add(payload.array());
+        }
+        readEnds = ends;
+        return records;
+    }
+
+    /** Acknowledges the first {@code count} records of the last read; once none are pending the file is truncated. */
+    void acknowledge(int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        readPosition = readEnds[count - 1];
+        pending -= count;
+        readEnds = new long[0];
+        if (pending == 0) {
+            // Also discards a torn record from a crash mid-append
+            channel.truncate(0);
+            readPosition = 0;
+            writePosition = 0;
+        }
+    }
+
+    /**
+     * Rewrites the file as the given records followed by the pending ones, and closes it.
+     * The next run delivers them first, in that order.
+     */
+    void checkpointAndClose(List<byte[]> earlier) throws IOException {
+        if (earlier.isEmpty() && readPosition == 0) {
+            channel.close();
+            return;
+        }
+        Path rewritten = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel target = FileChannel.open(rewritten, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            for (byte[] payload : earlier) {
+                position = write(target, position, payload);
+            }
+            for (long offset = readPosition; offset < writePosition; ) {
+                target.position(position);
+                long copied = channel.transferTo(offset, writePosition - offset, target);
+                offset += copied;
+                position += copied;
+            }
+            target.force(true);
+        }
+        channel.close();
+        Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    boolean isEmpty() {
+        return pending == 0;
+    }
+
+    long pending() {
+        return pending;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static long write(FileChannel target, long position, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + payload.length);
+        buffer.putInt(payload.length).put(payload).flip();
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        return position;
+    }
+
+    private long countRecords() throws IOException {
+        long count = 0;
+        long position = 0;
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (position + Integer.BYTES <= writePosition) {
+            length.clear();
+            channel.read(length, position);
+            long next = position + Integer.BYTES + length.flip().getInt();
+            if (next > writePosition) {
+                break;
+            }
+            position = next;
+            count++;
+        }
+        return count;
+    }
+}
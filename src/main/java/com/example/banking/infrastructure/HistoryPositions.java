@@ -0,0 +1,53 @@
+package com.example.banking.infrastructure;
+
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Append-only list of the log positions holding one account's transactions, grown in
+ * fixed-size chunks so an append never copies the positions already there.
+ *
+ * There is a single writer (the repository, under its write lock). Readers only ever look at
+ * the first {@code size} positions of the state they were handed, which were all written
+ * before that state was published, so they can read while the writer keeps appending.
+ */
+final class HistoryPositions {
+    private static final int CHUNK_SIZE = 256;
+
+    private final Chunk head = new Chunk();
+    private Chunk tail = head;
+    private int size;
+
+    /** Appends a position and returns the new size. */
+    int append(long position) {
+        int offset = size % CHUNK_SIZE;
+        if (offset == 0 && size > 0) {
+            Chunk next = new Chunk();
+            tail.next = next;
+            tail = next;
+        }
+        tail.positions[offset] = position;
+        return ++size;
+    }
+
+    void forEach(int count, LongConsumer consumer) {
+        Chunk chunk = head;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && i % CHUNK_SIZE == 0) {
+                chunk = chunk.next;
+            }
+            consumer.accept(chunk.positions[i % CHUNK_SIZE]);
+        }
+    }
+
+    LongStream stream(int count) {
+        LongStream.Builder positions = LongStream.builder();
+        forEach(count, positions::add);
+        return positions.build();
+    }
+
+    private static final class Chunk {
+        final long[] positions = new long[CHUNK_SIZE];
+        Chunk next;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.banking.infrastructure;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "interest_accrual_checkpoints", indexes = {
+    @Index(name = "idx_interest_accrual_checkpoints_run_date", columnList = "runDate")
+})
+public class InterestAccrualCheckpointEntity {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    @Column(nullable = false)
+    private Integer partitionIndex;
+
+    @Column(nullable = false)
+    private Integer partitionCount;
+
+    private String lastAccountId;
+
+    @Column(nullable = false)
+    private Long accountsProcessed;
+
+    @Column(nullable = false)
+    private Long accountsCredited;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal interestPosted;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    protected InterestAccrualCheckpointEntity() {}
+
+    public InterestAccrualCheckpointEntity(LocalDate runDate, int partitionIndex, int partitionCount) {
+        this.id = idOf(runDate, partitionIndex);
+        this.runDate = runDate;
+        this.partitionIndex = partitionIndex;
+        this.partitionCount = partitionCount;
+    }
+
+    static String idOf(LocalDate runDate, int partitionIndex) {
+        return runDate + "/" + partitionIndex;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    public Integer getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public Integer getPartitionCount() {
+        return partitionCount;
+    }
+
+    public String getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public Long getAccountsProcessed() {
+        return accountsProcessed;
+    }
+
+    public Long getAccountsCredited() {
+        return accountsCredited;
+    }
+
+    public BigDecimal getInterestPosted() {
+        return interestPosted;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void recordProgress(String lastAccountId, long accountsProcessed, long accountsCredited,
+                               BigDecimal interestPosted, boolean completed, LocalDateTime updatedAt) {
+        this.lastAccountId = lastAccountId;
+        this.accountsProcessed = accountsProcessed;
+        this.accountsCredited = accountsCredited;
+        this.interestPosted = interestPosted;
+        this.completed = completed;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BalanceShard;
+import com.example.banking.domain.BalanceShardId;
+import com.example.banking.domain.BalanceShardRepository;
+import com.example.banking.domain.ShardDeposit;
+import com.example.banking.domain.TransactionId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
+public class JpaBalanceShardRepository implements BalanceShardRepository {
+    private final SpringDataBalanceShardRepository shardRepository;
+    private final SpringDataShardDepositRepository depositRepository;
+    private final EntityManager entityManager;
+
+    public JpaBalanceShardRepository(SpringDataBalanceShardRepository shardRepository,
+                                     SpringDataShardDepositRepository depositRepository,
+                                     EntityManager entityManager) {
+        this.shardRepository = shardRepository;
+        this.depositRepository = depositRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<BalanceShard> findById(BalanceShardId shardId) {
+        return shardRepository.findById(BalanceShardEntity.idOf(shardId.accountId().value(), shardId.index()))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<BalanceShard> lockByAccountId(AccountId accountId) {
+        entityManager.createQuery("select a from BankAccountEntity a where a.id = :accountId", BankAccountEntity.class)
+                .setParameter("accountId", accountId.value())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        return shardRepository.lockByAccountId(accountId.value()).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int countByAccountId(AccountId accountId) {
+        return shardRepository.countByAccountId(accountId.value());
+    }
+
+    @Override
+    public List<AccountId> findHotAccounts() {
+        return shardRepository.findAccountIds().stream()
+                .map(AccountId::of)
+                .toList();
+    }
+
+    @Override
+    public List<ShardDeposit> findUnsettledDeposits(AccountId accountId) {
+        return depositRepository.findByAccountIdOrderByTimestampAscIdAsc(accountId.value()).stream()
+                .map(entity -> new ShardDeposit(new TransactionId(entity.getId()),
+                        BalanceShardId.of(accountId, entity.getShardIndex()), Amount.of(entity.getAmount()),
+                        entity.getDescription(), entity.getTimestamp()))
+                .toList();
+    }
+
+    @Override
+    public List<AccountId> findAccountsWithUnsettledDeposits() {
+        return shardRepository.findAccountIdsWithBalance().stream()
+                .map(AccountId::of)
+                .toList();
+    }
+
+    @Override
+    public Optional<Amount> findTotalBalance(AccountId accountId) {
+        // A single statement sees the account and its shards at the same point, so a settlement
+        // committing in between can neither hide nor double-count the shard balances
+        return entityManager.createQuery("""
+                select a.balance + coalesce((select sum(s.balance) from BalanceShardEntity s
+                                             where s.accountId = a.id), 0)
+                from BankAccountEntity a
+                where a.id = :accountId""", BigDecimal.class)
+                .setParameter("accountId", accountId.value())
+                .getResultList().stream()
+                .findFirst()
+                .map(Amount::of);
+    }
+
+    @Override
+    public void saveAll(Collection<BalanceShard> shards) {
+        List<BalanceShardEntity> entities = new ArrayList<>(shards.size());
+        for (BalanceShard shard : shards) {
+            entities.add(stage(shard));
+        }
+
+        // Surfaces version conflicts here rather than at commit
+        entityManager.flush();
+
+        Iterator<BalanceShardEntity> entity = entities.iterator();
+        for (BalanceShard shard : shards) {
+            shard.markPersisted(entity.next().getVersion());
+        }
+    }
+
+    private BalanceShardEntity stage(BalanceShard shard) {
+        BalanceShardId id = shard.getId();
+        String accountId = id.accountId().value();
+        Optional<BalanceShardEntity> existing = shardRepository.findById(BalanceShardEntity.idOf(accountId, id.index()));
+
+        BalanceShardEntity entity;
+        if (existing.isPresent()) {
+            entity = existing.get();
+            // Concurrent writers that commit after this check are caught by the @Version condition
+            if (!entity.getVersion().equals(shard.getPersistedVersion())) {
+                throw new ObjectOptimisticLockingFailureException(BalanceShardEntity.class, entity.getId());
+            }
+            entity.setBalance(shard.getBalance().toBigDecimal());
+            entity.setAcceptingDeposits(shard.isOpen());
+        } else {
+            entity = new BalanceShardEntity(accountId, id.index());
+            entity.setBalance(shard.getBalance().toBigDecimal());
+            entity.setAcceptingDeposits(shard.isOpen());
+            entityManager.persist(entity);
+        }
+
+        for (ShardDeposit deposit : shard.getPendingDeposits()) {
+            entityManager.persist(new ShardDepositEntity(deposit.id().value(), accountId, id.index(),
+                    deposit.amount().toBigDecimal(), deposit.description(), deposit.timestamp()));
+        }
+        return entity;
+    }
+
+    @Override
+    public void deleteDeposits(Collection<ShardDeposit> deposits) {
+        depositRepository.deleteAllByIdInBatch(deposits.stream()
+                .map(deposit -> deposit.id().value())
+                .toList());
+    }
+
+    private BalanceShard toDomain(BalanceShardEntity entity) {
+        return BalanceShard.reconstruct(BalanceShardId.of(AccountId.of(entity.getAccountId()), entity.getShardIndex()),
+                Amount.of(entity.getBalance()), entity.getAcceptingDeposits(), entity.getVersion());
+    }
+}
@@ -3,42 +3,170 @@ package com.example.banking.infrastructure;
 import com.example.banking.domain.AccountId;
 import com.example.banking.domain.BankAccount;
 import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.domain.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
 public class JpaBankAccountRepository implements BankAccountRepository {
     private final SpringDataBankAccountRepository springDataRepository;
+    private final SpringDataTransactionRepository transactionRepository;
     private final BankAccountMapper bankAccountMapper;
+    private final EntityManager entityManager;
+    private final TransactionArchive archive;
 
     public JpaBankAccountRepository(SpringDataBankAccountRepository springDataRepository, 
-                                  BankAccountMapper bankAccountMapper) {
+                                  SpringDataTransactionRepository transactionRepository,
+                                  BankAccountMapper bankAccountMapper,
+                                  EntityManager entityManager,
+                                  TransactionArchive archive) {
         this.springDataRepository = springDataRepository;
+        this.transactionRepository = transactionRepository;
         this.bankAccountMapper = bankAccountMapper;
+        this.entityManager = entityManager;
+        this.archive = archive;
     }
 
     @Override
     public void save(BankAccount account) {
-        BankAccountEntity entity = bankAccountMapper.toEntity(account);
+        saveAll(List.of(account));
+    }
+
+    @Override
+    public void saveAll(Collection<BankAccount> accounts) {
+        List<BankAccountEntity> entities = new ArrayList<>(accounts.size());
+        for (BankAccount account : accounts) {
+            entities.add(stage(account));
+        }
         
-        // Set up bidirectional relationship for transactions
-        for (var transaction : entity.getTransactions()) {
-            transaction.setAccount(entity);
+        // One flush for all accounts lets Hibernate group the statements into JDBC batches;
+        // it also surfaces version conflicts here rather than at commit
+        entityManager.flush();
+        
+        Iterator<BankAccountEntity> entity = entities.iterator();
+        for (BankAccount account : accounts) {
+            account.markPersisted(entity.next().getVersion());
         }
+    }
+
+    private BankAccountEntity stage(BankAccount account) {
+        Optional<BankAccountEntity> existing = springDataRepository.findById(account.getId().value());
         
-        springDataRepository.save(entity);
+        BankAccountEntity entity;
+        
+        if (existing.isPresent()) {
+            entity = existing.get();
+            
+            // Reject writes based on a stale read; concurrent writers that commit between this
+            // check and our flush are caught by the @Version condition on the UPDATE itself
+            if (!entity.getVersion().equals(account.getPersistedVersion())) {
+                throw new ObjectOptimisticLockingFailureException(BankAccountEntity.class, entity.getId());
+            }
+            
+            // The entity is normally still managed from the load, so this costs one
+            // dirty-checked UPDATE plus an INSERT per new transaction - never a merge of the history
+            bankAccountMapper.updateEntity(account, entity);
+            
+            for (TransactionEntity transaction : bankAccountMapper.transactionsToEntities(account.getPendingTransactions())) {
+                transaction.setAccount(entity);
+                entityManager.persist(transaction);
+            }
+        } else {
+            entity = bankAccountMapper.toEntity(account);
+            
+            // Set up bidirectional relationship for transactions
+            for (var transaction : entity.getTransactions()) {
+                transaction.setAccount(entity);
+            }
+            
+            entityManager.persist(entity);
+        }
+        
+        return entity;
     }
 
     @Override
     public Optional<BankAccount> findById(AccountId accountId) {
         return springDataRepository.findById(accountId.value())
-                .map(bankAccountMapper::toDomainWithReconstruction);
+                .map(this::toDomain);
     }
 
     @Override
     public Optional<BankAccount> findByAccountNumber(String accountNumber) {
         return springDataRepository.findByAccountNumber(accountNumber)
-                .map(bankAccountMapper::toDomainWithReconstruction);
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<BankAccount> findInIdRange(String afterId, String beforeId, int limit) {
+        StringBuilder jpql = new StringBuilder("select a from BankAccountEntity a where 1 = 1");
+        if (afterId != null) {
+            jpql.append(" and a.id > :afterId");
+        }
+        if (beforeId != null) {
+            jpql.append(" and a.id < :beforeId");
+        }
+        TypedQuery<BankAccountEntity> query = entityManager
+                .createQuery(jpql.append(" order by a.id").toString(), BankAccountEntity.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        if (beforeId != null) {
+            query.setParameter("beforeId", beforeId);
+        }
+        List<BankAccountEntity> entities = query.getResultList();
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        // One query for the uncheckpointed transactions of the whole page instead of one per account
+        Map<String, List<TransactionEntity>> uncheckpointed = new HashMap<>();
+        entityManager.createQuery("""
+                select t from TransactionEntity t join t.account a
+                where a.id in :ids
+                  and t.sequence > a.checkpointSequence and t.sequence <= a.lastTransactionSequence
+                order by t.sequence""", TransactionEntity.class)
+                .setParameter("ids", entities.stream().map(BankAccountEntity::getId).toList())
+                .getResultList()
+                .forEach(transaction -> uncheckpointed
+                        .computeIfAbsent(transaction.getAccount().getId(), id -> new ArrayList<>())
+                        .add(transaction));
+
+        List<BankAccount> accounts = new ArrayList<>(entities.size());
+        for (BankAccountEntity entity : entities) {
+            accounts.add(bankAccountMapper.toDomainWithReconstruction(
+                    entity, uncheckpointed.getOrDefault(entity.getId(), List.of())));
+        }
+        return accounts;
+    }
+
+    @Override
+    public List<Transaction> findTransactionHistory(AccountId accountId) {
+        // Archived months always precede the live rows
+        List<Transaction> history = new ArrayList<>(archive.read(accountId));
+        history.addAll(bankAccountMapper.transactionEntitiesToDomain(
+                transactionRepository.findByAccountIdOrderBySequenceAsc(accountId.value())));
+        return history;
+    }
+
+    private BankAccount toDomain(BankAccountEntity entity) {
+        // Only transactions after the checkpoint are needed to verify the balance
+        List<TransactionEntity> uncheckpointed = transactionRepository
+                .findByAccountIdAndSequenceBetweenOrderBySequenceAsc(
+                        entity.getId(), entity.getCheckpointSequence() + 1, entity.getLastTransactionSequence());
+        return bankAccountMapper.toDomainWithReconstruction(entity, uncheckpointed);
     }
 }
\ No newline at end of file
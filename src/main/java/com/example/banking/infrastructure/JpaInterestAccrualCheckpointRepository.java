@@ -0,0 +1,68 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.InterestAccrualCheckpoint;
+import com.example.banking.application.InterestAccrualCheckpointRepository;
+import com.example.banking.domain.Amount;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class JpaInterestAccrualCheckpointRepository implements InterestAccrualCheckpointRepository {
+    private final SpringDataInterestAccrualCheckpointRepository springDataRepository;
+
+    public JpaInterestAccrualCheckpointRepository(SpringDataInterestAccrualCheckpointRepository springDataRepository) {
+        this.springDataRepository = springDataRepository;
+    }
+
+    @Override
+    public List<InterestAccrualCheckpoint> findByRunDate(LocalDate runDate) {
+        return springDataRepository.findByRunDateOrderByPartitionIndexAsc(runDate).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<InterestAccrualCheckpoint> find(LocalDate runDate, int partition) {
+        return springDataRepository.findById(InterestAccrualCheckpointEntity.idOf(runDate, partition))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<LocalDate> findLatestRunDate() {
+        return Optional.ofNullable(springDataRepository.findLatestRunDate());
+    }
+
+    // A concurrent runner's update fails the version check; its concurrent insert is reported the same way
+    @Override
+    public void save(InterestAccrualCheckpoint checkpoint) {
+        Optional<InterestAccrualCheckpointEntity> existing = springDataRepository
+                .findById(InterestAccrualCheckpointEntity.idOf(checkpoint.runDate(), checkpoint.partition()));
+        InterestAccrualCheckpointEntity entity = existing.orElseGet(() -> new InterestAccrualCheckpointEntity(
+                checkpoint.runDate(), checkpoint.partition(), checkpoint.partitionCount()));
+        entity.recordProgress(checkpoint.lastAccountId(), checkpoint.accountsProcessed(),
+                checkpoint.accountsCredited(), checkpoint.interestPosted().toBigDecimal(),
+                checkpoint.completed(), LocalDateTime.now());
+        if (existing.isPresent()) {
+            springDataRepository.save(entity);
+            return;
+        }
+        try {
+            springDataRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException(
+                    "Checkpoint " + entity.getId() + " was created by another run", e);
+        }
+    }
+
+    private InterestAccrualCheckpoint toDomain(InterestAccrualCheckpointEntity entity) {
+        return new InterestAccrualCheckpoint(entity.getRunDate(), entity.getPartitionIndex(),
+                entity.getPartitionCount(), entity.getLastAccountId(), entity.getAccountsProcessed(),
+                entity.getAccountsCredited(), Amount.of(entity.getInterestPosted()), entity.getCompleted());
+    }
+}
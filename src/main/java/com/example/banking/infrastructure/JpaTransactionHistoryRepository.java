@@ -0,0 +1,132 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.TransactionCursor;
+import com.example.banking.application.TransactionHistoryFilter;
+import com.example.banking.application.TransactionHistoryRepository;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Transaction;
+import com.example.banking.query.TransactionView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset queries over the transactions table. Only the predicates that are actually needed are
+ * added, so each query is a plain range scan on idx_transactions_account_timestamp (or on
+ * idx_transactions_account_type_timestamp when filtering by type), read in index order.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
+public class JpaTransactionHistoryRepository implements TransactionHistoryRepository {
+    private static final Comparator<TransactionView> NEWEST_FIRST = Comparator
+            .comparing(TransactionView::timestamp)
+            .thenComparing(TransactionView::transactionId)
+            .reversed();
+
+    private final EntityManager entityManager;
+    private final TransactionArchive archive;
+    private final int statementFetchSize;
+
+    public JpaTransactionHistoryRepository(EntityManager entityManager,
+                                           TransactionArchive archive,
+                                           @Value("${banking.statement.fetch-size:500}") int statementFetchSize) {
+        this.entityManager = entityManager;
+        this.archive = archive;
+        this.statementFetchSize = statementFetchSize;
+    }
+
+    @Override
+    public List<TransactionView> findPage(AccountId accountId, TransactionHistoryFilter filter,
+                                          TransactionCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.example.banking.query.TransactionView(
+                    t.id, t.sequence, t.type, t.amount, t.description, t.balanceAfter, t.timestamp)
+                from TransactionEntity t
+                where t.account.id = :accountId""");
+        if (filter.type() != null) {
+            jpql.append(" and t.type = :type");
+        }
+        if (filter.from() != null) {
+            jpql.append(" and t.timestamp >= :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" and t.timestamp < :to");
+        }
+        if (after != null) {
+            jpql.append(" and (t.timestamp < :afterTimestamp or (t.timestamp = :afterTimestamp and t.id < :afterId))");
+        }
+        jpql.append(" order by t.timestamp desc, t.id desc");
+
+        TypedQuery<TransactionView> query = entityManager.createQuery(jpql.toString(), TransactionView.class)
+                .setParameter("accountId", accountId.value())
+                .setMaxResults(limit);
+        if (filter.type() != null) {
+            query.setParameter("type", filter.type());
+        }
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (after != null) {
+            query.setParameter("afterTimestamp", after.timestamp());
+            query.setParameter("afterId", after.transactionId());
+        }
+        List<TransactionView> live = query.getResultList();
+        if (live.size() >= limit) {
+            return live;
+        }
+
+        // Archived rows are all older than live ones, so they continue the history once the live rows run out.
+        // Months are read newest first from the cursor's month, and only until the page is full, so
+        // a deep page costs the same as the first one
+        List<TransactionView> page = new ArrayList<>(live);
+        LocalDateTime archivedTo = after == null || (filter.to() != null && filter.to().isBefore(after.timestamp()))
+                ? filter.to()
+                : after.timestamp().plusNanos(1);
+        TransactionView afterView = after == null ? null
+                : new TransactionView(after.transactionId(), null, null, null, null, null, after.timestamp());
+        Iterator<List<Transaction>> months = archive.monthsNewestFirst(accountId, filter.from(), archivedTo).iterator();
+        while (page.size() < limit && months.hasNext()) {
+            months.next().stream()
+                    .filter(transaction -> filter.type() == null || transaction.getType() == filter.type())
+                    .map(TransactionView::from)
+                    .filter(view -> afterView == null || NEWEST_FIRST.compare(view, afterView) > 0)
+                    .sorted(NEWEST_FIRST)
+                    .limit(limit - page.size())
+                    .forEach(page::add);
+        }
+        return page;
+    }
+
+    // Forward-only scroll over a DTO projection: rows are fetched from the driver in fetch-size
+    // chunks and nothing is attached to the persistence context, so memory stays flat
+    @Override
+    public Stream<TransactionView> streamStatement(AccountId accountId, LocalDateTime from, LocalDateTime to) {
+        Stream<TransactionView> live = entityManager.createQuery("""
+                        select new com.example.banking.query.TransactionView(
+                            t.id, t.sequence, t.type, t.amount, t.description, t.balanceAfter, t.timestamp)
+                        from TransactionEntity t
+                        where t.account.id = :accountId and t.timestamp >= :from and t.timestamp < :to
+                        order by t.timestamp, t.id""", TransactionView.class)
+                .setParameter("accountId", accountId.value())
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, statementFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        // Archived months are read one at a time and always precede the live rows
+        return Stream.concat(archive.stream(accountId, from, to).map(TransactionView::from), live);
+    }
+}
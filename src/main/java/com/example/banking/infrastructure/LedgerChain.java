@@ -0,0 +1,107 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays one account's transactions in sequence order against a running balance, starting from
+ * where the archive left off. Keeps constant state apart from the first
+ * {@link #MAX_RECORDED} discrepancies, so even a thoroughly broken account stays small.
+ */
+final class LedgerChain {
+    static final int MAX_RECORDED = 100;
+
+    private final String accountId;
+    private final long checkpointSequence;
+    private final long checkpointBalance;
+    private final List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+    private long discrepancyCount;
+    private long sequence;
+    private long balance;
+    private boolean checkpointSeen;
+
+    LedgerChain(String accountId, long startSequence, BigDecimal startBalance,
+                long checkpointSequence, BigDecimal checkpointBalance) {
+        this.accountId = accountId;
+        this.sequence = startSequence;
+        this.balance = minorUnits(startBalance);
+        this.checkpointSequence = checkpointSequence;
+        this.checkpointBalance = minorUnits(checkpointBalance);
+        if (checkpointSequence == startSequence) {
+            checkCheckpoint();
+        }
+    }
+
+    void accept(long transactionSequence, TransactionType type, BigDecimal amount, BigDecimal balanceAfter) {
+        if (transactionSequence != sequence + 1) {
+            record(transactionSequence, LedgerDiscrepancy.Kind.SEQUENCE_GAP, sequence + 1, transactionSequence);
+        }
+        long expected = type == TransactionType.DEPOSIT
+                ? balance + minorUnits(amount)
+                : balance - minorUnits(amount);
+        long actual = minorUnits(balanceAfter);
+        if (actual != expected) {
+            record(transactionSequence, LedgerDiscrepancy.Kind.BALANCE_CHAIN,
+                    Amount.ofMinorUnits(expected), Amount.ofMinorUnits(actual));
+        }
+        // Carry on from the stored value so one bad row is reported once rather than for every row after it
+        sequence = transactionSequence;
+        balance = actual;
+        if (sequence == checkpointSequence) {
+            checkCheckpoint();
+        }
+    }
+
+    void finish(BigDecimal accountBalance, long lastTransactionSequence) {
+        if (!checkpointSeen) {
+            record(null, LedgerDiscrepancy.Kind.CHECKPOINT_BALANCE,
+                    "transaction " + checkpointSequence, "none");
+        }
+        if (sequence != lastTransactionSequence) {
+            record(null, LedgerDiscrepancy.Kind.ACCOUNT_SEQUENCE, sequence, lastTransactionSequence);
+        }
+        if (minorUnits(accountBalance) != balance) {
+            record(null, LedgerDiscrepancy.Kind.ACCOUNT_BALANCE,
+                    Amount.ofMinorUnits(balance), Amount.of(accountBalance));
+        }
+    }
+
+    String accountId() {
+        return accountId;
+    }
+
+    boolean isConsistent() {
+        return discrepancyCount == 0;
+    }
+
+    long discrepancyCount() {
+        return discrepancyCount;
+    }
+
+    List<LedgerDiscrepancy> discrepancies() {
+        return discrepancies;
+    }
+
+    private void checkCheckpoint() {
+        checkpointSeen = true;
+        if (balance != checkpointBalance) {
+            record(sequence, LedgerDiscrepancy.Kind.CHECKPOINT_BALANCE,
+                    Amount.ofMinorUnits(balance), Amount.ofMinorUnits(checkpointBalance));
+        }
+    }
+
+    private void record(Long at, LedgerDiscrepancy.Kind kind, Object expected, Object actual) {
+        discrepancyCount++;
+        if (discrepancies.size() < MAX_RECORDED) {
+            discrepancies.add(new LedgerDiscrepancy(accountId, at, kind, String.valueOf(expected), String.valueOf(actual)));
+        }
+    }
+
+    private static long minorUnits(BigDecimal value) {
+        return Amount.of(value).getMinorUnits();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.banking.infrastructure;
+
+/**
+ * One inconsistency found by {@link LedgerReconciliationJob}. {@code sequence} is the transaction
+ * it was found at, or null when it concerns the account row as a whole.
+ */
+public record LedgerDiscrepancy(String accountId, Long sequence, Kind kind, String expected, String actual) {
+
+    public enum Kind {
+        /** A transaction's sequence does not follow the previous one. */
+        SEQUENCE_GAP,
+        /** A transaction's balanceAfter differs from the previous balance plus or minus its amount. */
+        BALANCE_CHAIN,
+        /** The account's checkpoint balance differs from the chain at the checkpoint sequence. */
+        CHECKPOINT_BALANCE,
+        /** The account's last transaction sequence differs from the last transaction found. */
+        ACCOUNT_SEQUENCE,
+        /** The account's balance differs from the end of the chain. */
+        ACCOUNT_BALANCE,
+        /** A transaction belongs to no account. */
+        ORPHAN_TRANSACTION
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.AccountIdRange;
+import com.example.banking.domain.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Checks the stored ledger against itself: every transaction's balanceAfter against the running
+ * balance, sequences for gaps, and the end of each chain against the account row.
+ *
+ * Accounts are split into {@link AccountIdRange}s verified in parallel. Each range is a merge of
+ * two forward-only scrolls, accounts by id and transactions by (account, sequence), so memory
+ * does not depend on the size of the table. Chains start from the archive checkpoint, since
+ * archived rows were verified before they were archived.
+ *
+ * The scrolls are separate queries, so an account written to while its range is read can look
+ * inconsistent. Such accounts are verified again on their own before anything is reported.
+ * Confirmed discrepancies are written as CSV to {@code banking.reconciliation.report-directory}.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
+public class LedgerReconciliationJob {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerReconciliationJob.class);
+    private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String ACCOUNTS = """
+            select a.id, a.balance, a.lastTransactionSequence, a.checkpointSequence, a.checkpointBalance,
+                   c.archivedThroughSequence, c.archivedBalance
+            from BankAccountEntity a left join ArchiveCheckpointEntity c on c.accountId = a.id
+            where 1 = 1""";
+    private static final String TRANSACTIONS = """
+            select t.account.id, t.sequence, t.type, t.amount, t.balanceAfter
+            from TransactionEntity t
+            where 1 = 1""";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate recheckTransaction;
+    private final int partitions;
+    private final int parallelism;
+    private final int fetchSize;
+    private final Path reportDirectory;
+    private final Duration interval;
+    private final Counter transactionsChecked;
+    private final Counter discrepanciesFound;
+    private final Timer rangeTimer;
+    private ScheduledExecutorService scheduler;
+
+    public LedgerReconciliationJob(EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${banking.reconciliation.partitions:16}") int partitions,
+                                   @Value("${banking.reconciliation.parallelism:4}") int parallelism,
+                                   @Value("${banking.reconciliation.fetch-size:1000}") int fetchSize,
+                                   @Value("${banking.reconciliation.report-directory:${java.io.tmpdir}/banking-reconciliation}") Path reportDirectory,
+                                   @Value("${banking.reconciliation.interval:0s}") Duration interval) {
+        if (partitions < 1 || parallelism < 1 || fetchSize < 1) {
+            throw new IllegalArgumentException("Reconciliation partitions, parallelism and fetch size must be positive");
+        }
+        this.entityManager = entityManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Rechecks run while the range's scrolls stay open, so they need their own transaction
+        this.recheckTransaction = new TransactionTemplate(transactionManager);
+        this.recheckTransaction.setReadOnly(true);
+        this.recheckTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+        this.fetchSize = fetchSize;
+        this.reportDirectory = reportDirectory;
+        this.interval = interval;
+        this.transactionsChecked = Counter.builder("banking.reconciliation.transactions").register(meterRegistry);
+        this.discrepanciesFound = Counter.builder("banking.reconciliation.discrepancies").register(meterRegistry);
+        this.rangeTimer = Timer.builder("banking.reconciliation.range").register(meterRegistry);
+    }
+
+    /** Totals of one run; the discrepancies themselves are in {@code reportFile}. */
+    public record ReconciliationReport(Path reportFile, long accountsChecked, long transactionsChecked,
+                                       long inconsistentAccounts, long discrepancies,
+                                       List<Integer> failedPartitions, Duration elapsed) {
+
+        public boolean isClean() {
+            return discrepancies == 0 && failedPartitions.isEmpty();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (interval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.warn("Ledger reconciliation failed; will retry on the next run", e);
+        }
+    }
+
+    public ReconciliationReport reconcile(LocalDateTime now) {
+        long started = System.nanoTime();
+        Path reportFile = reportDirectory.resolve("reconciliation-" + REPORT_NAME.format(now) + ".csv");
+        Tally total = new Tally();
+        List<Integer> failed = new ArrayList<>();
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, partitions), runnable -> {
+            Thread thread = new Thread(runnable, "ledger-reconciliation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (DiscrepancyReport report = DiscrepancyReport.create(reportFile)) {
+            List<AccountIdRange> ranges = AccountIdRange.split(partitions);
+            List<Future<Tally>> results = new ArrayList<>(ranges.size());
+            for (AccountIdRange range : ranges) {
+                results.add(workers.submit(() -> rangeTimer.record(() -> reconcileRange(range, report))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    total.add(results.get(i).get());
+                } catch (ExecutionException e) {
+                    logger.warn("Could not reconcile account range {}", ranges.get(i), e.getCause());
+                    failed.add(i);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reconciling the ledger", e);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        ReconciliationReport result = new ReconciliationReport(reportFile, total.accounts, total.transactions,
+                total.inconsistentAccounts, total.discrepancies, failed, Duration.ofNanos(System.nanoTime() - started));
+        if (result.isClean()) {
+            logger.info("Ledger reconciled: {} accounts, {} transactions, no discrepancies in {} ms",
+                    result.accountsChecked(), result.transactionsChecked(), result.elapsed().toMillis());
+        } else {
+            logger.warn("Ledger reconciliation found {} discrepancies in {} accounts ({} ranges failed), see {}",
+                    result.discrepancies(), result.inconsistentAccounts(), failed.size(), reportFile);
+        }
+        return result;
+    }
+
+    private Tally reconcileRange(AccountIdRange range, DiscrepancyReport report) {
+        return readOnly.execute(status -> {
+            Tally tally = new Tally();
+            try (Stream<Object[]> accounts = scroll(ACCOUNTS, "a.id", range, null);
+                 Stream<Object[]> transactions = scroll(TRANSACTIONS, "t.account.id", range, null)) {
+                verify(accounts.iterator(), transactions.iterator(), tally, chain -> {
+                    if (!chain.isConsistent()) {
+                        recheck(chain.accountId(), report, tally);
+                    }
+                }, orphan -> {
+                    tally.discrepancies++;
+                    discrepanciesFound.increment();
+                    report.write(orphan);
+                });
+            }
+            return tally;
+        });
+    }
+
+    private void recheck(String accountId, DiscrepancyReport report, Tally tally) {
+        recheckTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> accounts = scroll(ACCOUNTS, "a.id", null, accountId);
+                 Stream<Object[]> transactions = scroll(TRANSACTIONS, "t.account.id", null, accountId)) {
+                verify(accounts.iterator(), transactions.iterator(), new Tally(), chain -> {
+                    if (chain.isConsistent()) {
+                        return;
+                    }
+                    tally.inconsistentAccounts++;
+                    tally.discrepancies += chain.discrepancyCount();
+                    discrepanciesFound.increment(chain.discrepancyCount());
+                    chain.discrepancies().forEach(report::write);
+                    if (chain.discrepancyCount() > chain.discrepancies().size()) {
+                        logger.warn("Account {} has {} discrepancies; only the first {} are in the report",
+                                accountId, chain.discrepancyCount(), chain.discrepancies().size());
+                    }
+                }, orphan -> {});
+            }
+        });
+    }
+
+    /**
+     * Merges accounts and transactions, both ordered by account id, handing each finished chain
+     * to {@code onAccount} and each transaction without an account to {@code onOrphan}.
+     */
+    private void verify(Iterator<Object[]> accounts, Iterator<Object[]> transactions, Tally tally,
+                        Consumer<LedgerChain> onAccount, Consumer<LedgerDiscrepancy> onOrphan) {
+        Object[] transaction = transactions.hasNext() ? transactions.next() : null;
+        while (accounts.hasNext()) {
+            Object[] account = accounts.next();
+            String accountId = (String) account[0];
+            while (transaction != null && ((String) transaction[0]).compareTo(accountId) < 0) {
+                onOrphan.accept(orphan(transaction));
+                tally.transactions++;
+                transaction = transactions.hasNext() ? transactions.next() : null;
+            }
+
+            LedgerChain chain = new LedgerChain(accountId,
+                    account[5] != null ? (Long) account[5] : 0L,
+                    account[6] != null ? (BigDecimal) account[6] : BigDecimal.ZERO,
+                    (Long) account[3], (BigDecimal) account[4]);
+            long transactionsBefore = tally.transactions;
+            while (transaction != null && transaction[0].equals(accountId)) {
+                chain.accept((Long) transaction[1], (TransactionType) transaction[2],
+                        (BigDecimal) transaction[3], (BigDecimal) transaction[4]);
+                tally.transactions++;
+                transaction = transactions.hasNext() ? transactions.next() : null;
+            }
+            chain.finish((BigDecimal) account[1], (Long) account[2]);
+            transactionsChecked.increment(tally.transactions - transactionsBefore);
+            tally.accounts++;
+            onAccount.accept(chain);
+        }
+        while (transaction != null) {
+            onOrphan.accept(orphan(transaction));
+            tally.transactions++;
+            transaction = transactions.hasNext() ? transactions.next() : null;
+        }
+    }
+
+    private static LedgerDiscrepancy orphan(Object[] transaction) {
+        return new LedgerDiscrepancy((String) transaction[0], (Long) transaction[1],
+                LedgerDiscrepancy.Kind.ORPHAN_TRANSACTION, "an account row", "none");
+    }
+
+    // Forward-only scroll over a scalar projection, so rows arrive in fetch-size chunks and
+    // nothing is attached to the persistence context
+    private Stream<Object[]> scroll(String select, String idPath, AccountIdRange range, String accountId) {
+        StringBuilder jpql = new StringBuilder(select);
+        if (accountId != null) {
+            jpql.append(" and ").append(idPath).append(" = :accountId");
+        }
+        if (range != null && range.afterId() != null) {
+            jpql.append(" and ").append(idPath).append(" > :afterId");
+        }
+        if (range != null && range.beforeId() != null) {
+            jpql.append(" and ").append(idPath).append(" < :beforeId");
+        }
+        jpql.append(" order by ").append(idPath);
+        if (select.equals(TRANSACTIONS)) {
+            jpql.append(", t.sequence");
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (accountId != null) {
+            query.setParameter("accountId", accountId);
+        }
+        if (range != null && range.afterId() != null) {
+            query.setParameter("afterId", range.afterId());
+        }
+        if (range != null && range.beforeId() != null) {
+            query.setParameter("beforeId", range.beforeId());
+        }
+        return query.getResultStream();
+    }
+
+    private static final class Tally {
+        long accounts;
+        long transactions;
+        long inconsistentAccounts;
+        long discrepancies;
+
+        void add(Tally other) {
+            accounts += other.accounts;
+            transactions += other.transactions;
+            inconsistentAccounts += other.inconsistentAccounts;
+            discrepancies += other.discrepancies;
+        }
+    }
+
+    /** CSV of confirmed discrepancies, shared by all ranges of a run. */
+    private static final class DiscrepancyReport implements Closeable {
+        private final BufferedWriter writer;
+
+        private DiscrepancyReport(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        static DiscrepancyReport create(Path file) throws IOException {
+            Files.createDirectories(file.getParent());
+            DiscrepancyReport report = new DiscrepancyReport(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            report.writeLine("account_id,sequence,kind,expected,actual");
+            return report;
+        }
+
+        synchronized void write(LedgerDiscrepancy discrepancy) {
+            writeLine(String.join(",", discrepancy.accountId(),
+                    discrepancy.sequence() != null ? discrepancy.sequence().toString() : "",
+                    discrepancy.kind().name(), discrepancy.expected(), discrepancy.actual()));
+        }
+
+        private void writeLine(String line) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.banking.infrastructure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only record log split into fixed-size, memory-mapped segment files.
+ *
+ * Records are framed as [length][crc32][payload]. A zero length marks the unused tail of a
+ * segment, and a checksum mismatch marks a torn write, which {@link #replay} truncates.
+ * Positions are global byte offsets (segment index * segment size + offset within it),
+ * so a position alone is enough to read a record back.
+ */
+final class SegmentedEventLog implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PATTERN = "segment-%010d.log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    // Replaced, never modified, when a segment is added, so read() can index it without the lock
+    private volatile MappedByteBuffer[] segments;
+    private long endPosition = -1;
+
+    SegmentedEventLog(Path directory, int segmentSize, boolean forceOnAppend) throws IOException {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+
+        List<MappedByteBuffer> existing = new ArrayList<>();
+        for (int index = 0; Files.exists(segmentPath(index)); index++) {
+            existing.add(map(index));
+        }
+        if (existing.isEmpty()) {
+            existing.add(map(0));
+        }
+        this.segments = existing.toArray(MappedByteBuffer[]::new);
+    }
+
+    /**
+     * Feeds every intact record from the given position onwards to the consumer and
+     * positions the log for appending right after the last one. Must be called before
+     * the first append.
+     */
+    synchronized void replay(long fromPosition, BiConsumer<Long, byte[]> consumer) {
+        long position = fromPosition;
+        while (true) {
+            int segment = segmentOf(position);
+            int offset = offsetOf(position);
+            if (segment >= segments.length) {
+                break;
+            }
+            MappedByteBuffer buffer = segments[segment];
+            int length = offset + HEADER_BYTES <= segmentSize ? buffer.getInt(offset) : 0;
+
+            if (length == 0) {
+                // Unused tail of this segment - the next one, if any, carries on
+                if (segment + 1 < segments.length) {
+                    position = (long) (segment + 1) * segmentSize;
+                    continue;
+                }
+                break;
+            }
+
+            byte[] payload = length > 0 && offset + HEADER_BYTES + length <= segmentSize
+                    ? new byte[length] : null;
+            if (payload != null) {
+                buffer.get(offset + HEADER_BYTES, payload);
+            }
+            if (payload == null || checksum(payload) != buffer.getInt(offset + 4)) {
+                truncate(segment, offset);
+                break;
+            }
+
+            consumer.accept(position, payload);
+            position += HEADER_BYTES + length;
+        }
+        this.endPosition = position;
+    }
+
+    synchronized long append(byte[] payload) {
+        if (endPosition < 0) {
+            throw new IllegalStateException("Log has not been replayed yet");
+        }
+        if (payload.length == 0 || payload.length > segmentSize - HEADER_BYTES) {
+            throw new IllegalArgumentException("Record size out of range: " + payload.length);
+        }
+
+        int segment = segmentOf(endPosition);
+        int offset = offsetOf(endPosition);
+        if (offset + HEADER_BYTES + payload.length > segmentSize) {
+            segment++;
+            offset = 0;
+        }
+        if (segment == segments.length) {
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segment + 1);
+            try {
+                grown[segment] = map(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create log segment " + segment, e);
+            }
+            segments = grown;
+        }
+
+        MappedByteBuffer buffer = segments[segment];
+        buffer.put(offset + HEADER_BYTES, payload);
+        buffer.putInt(offset + 4, checksum(payload));
+        // Length goes last so a scan never sees a record before its payload
+        buffer.putInt(offset, payload.length);
+        if (forceOnAppend) {
+            buffer.force();
+        }
+
+        long position = (long) segment * segmentSize + offset;
+        endPosition = position + HEADER_BYTES + payload.length;
+        return position;
+    }
+
+    // Positions handed out by append() are published after their record is written, and the
+    // record is never touched again, so reads need no lock
+    byte[] read(long position) {
+        MappedByteBuffer buffer = segments[segmentOf(position)];
+        int offset = offsetOf(position);
+        byte[] payload = new byte[buffer.getInt(offset)];
+        buffer.get(offset + HEADER_BYTES, payload);
+        return payload;
+    }
+
+    synchronized long endPosition() {
+        return endPosition;
+    }
+
+    synchronized void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        segments = new MappedByteBuffer[0];
+    }
+
+    private void truncate(int segment, int offset) {
+        MappedByteBuffer buffer = segments[segment];
+        for (int i = offset; i < segmentSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel; new files are zero-filled up to the segment size
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format(SEGMENT_PATTERN, index));
+    }
+
+    private int segmentOf(long position) {
+        return (int) (position / segmentSize);
+    }
+
+    private int offsetOf(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
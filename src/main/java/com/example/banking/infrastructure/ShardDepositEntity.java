@@ -0,0 +1,65 @@
+package com.example.banking.infrastructure;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "shard_deposits", indexes = {
+    @Index(name = "idx_shard_deposits_account_timestamp", columnList = "accountId, timestamp")
+})
+public class ShardDepositEntity {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    protected ShardDepositEntity() {}
+
+    public ShardDepositEntity(String id, String accountId, int shardIndex, BigDecimal amount,
+                              String description, LocalDateTime timestamp) {
+        this.id = id;
+        this.accountId = accountId;
+        this.shardIndex = shardIndex;
+        this.amount = amount;
+        this.description = description;
+        this.timestamp = timestamp;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public Integer getShardIndex() {
+        return shardIndex;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.banking.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpringDataArchiveCheckpointRepository extends JpaRepository<ArchiveCheckpointEntity, String> {
+}
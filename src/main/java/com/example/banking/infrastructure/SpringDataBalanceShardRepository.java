@@ -0,0 +1,22 @@
+package com.example.banking.infrastructure;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface SpringDataBalanceShardRepository extends JpaRepository<BalanceShardEntity, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceShardEntity s where s.accountId = :accountId order by s.shardIndex")
+    List<BalanceShardEntity> lockByAccountId(String accountId);
+
+    int countByAccountId(String accountId);
+
+    @Query("select distinct s.accountId from BalanceShardEntity s order by s.accountId")
+    List<String> findAccountIds();
+
+    @Query("select distinct s.accountId from BalanceShardEntity s where s.balance > 0 order by s.accountId")
+    List<String> findAccountIdsWithBalance();
+}
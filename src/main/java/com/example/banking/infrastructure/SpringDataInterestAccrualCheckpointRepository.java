@@ -0,0 +1,14 @@
+package com.example.banking.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SpringDataInterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpointEntity, String> {
+    List<InterestAccrualCheckpointEntity> findByRunDateOrderByPartitionIndexAsc(LocalDate runDate);
+
+    @Query("select max(c.runDate) from InterestAccrualCheckpointEntity c")
+    LocalDate findLatestRunDate();
+}
@@ -0,0 +1,9 @@
+package com.example.banking.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SpringDataShardDepositRepository extends JpaRepository<ShardDepositEntity, String> {
+    List<ShardDepositEntity> findByAccountIdOrderByTimestampAscIdAsc(String accountId);
+}
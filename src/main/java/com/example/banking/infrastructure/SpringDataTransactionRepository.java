@@ -0,0 +1,13 @@
+package com.example.banking.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SpringDataTransactionRepository extends JpaRepository<TransactionEntity, String> {
+    // Working set for a loaded aggregate: only what has not been folded into the checkpoint.
+    // The upper bound comes from the same account row, so a commit racing the load can't add rows.
+    List<TransactionEntity> findByAccountIdAndSequenceBetweenOrderBySequenceAsc(String accountId, Long fromSequence, Long toSequence);
+    
+    List<TransactionEntity> findByAccountIdOrderBySequenceAsc(String accountId);
+}
@@ -0,0 +1,115 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for transactions moved out of the transactions table by {@link TransactionArchiver}:
+ * one {@link TransactionArchiveSegment} per account and month, under {@code <directory>/<accountId>/<yyyy-MM>.seg}.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
+public class TransactionArchive {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final Comparator<Transaction> OLDEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp)
+            .thenComparing(transaction -> transaction.getId().value());
+
+    private final Path directory;
+    private final int blockSize;
+
+    public TransactionArchive(@Value("${banking.archive.directory:${java.io.tmpdir}/banking-archive}") Path directory,
+                              @Value("${banking.archive.block-size:256}") int blockSize) {
+        this.directory = directory;
+        this.blockSize = blockSize;
+    }
+
+    void write(AccountId accountId, YearMonth month, List<Transaction> transactions) {
+        try {
+            Path accountDirectory = Files.createDirectories(directory.resolve(accountId.value()));
+            TransactionArchiveSegment.write(accountDirectory.resolve(month + SEGMENT_SUFFIX), transactions, blockSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Every archived transaction of the account, in sequence order. */
+    public List<Transaction> read(AccountId accountId) {
+        // Months archived together can interleave by sequence, see TransactionArchiver
+        return segments(accountId).stream()
+                .flatMap(segment -> readSegment(segment, null, null).stream())
+                .sorted(Comparator.comparingLong(Transaction::getSequence))
+                .toList();
+    }
+
+    /**
+     * Archived transactions with {@code from <= timestamp < to}, in timestamp order; null bounds
+     * are open. Holds only one month in memory at a time.
+     */
+    public Stream<Transaction> stream(AccountId accountId, LocalDateTime from, LocalDateTime to) {
+        return segments(accountId).stream()
+                .filter(segment -> overlaps(monthOf(segment), from, to))
+                .flatMap(segment -> readSegment(segment, from, to).stream().sorted(OLDEST_FIRST));
+    }
+
+    /**
+     * The archived months that overlap {@code from <= timestamp < to}, newest month first, each in
+     * sequence order. A month is only read when the stream reaches it, so a reader that stops
+     * early never opens the older ones.
+     */
+    public Stream<List<Transaction>> monthsNewestFirst(AccountId accountId, LocalDateTime from, LocalDateTime to) {
+        List<Path> segments = new ArrayList<>(segments(accountId));
+        Collections.reverse(segments);
+        return segments.stream()
+                .filter(segment -> overlaps(monthOf(segment), from, to))
+                .map(segment -> readSegment(segment, from, to));
+    }
+
+    private static List<Transaction> readSegment(Path segment, LocalDateTime from, LocalDateTime to) {
+        try {
+            return TransactionArchiveSegment.read(segment, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Whole months outside the range are skipped without opening the file
+    private static boolean overlaps(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        return (to == null || month.atDay(1).atStartOfDay().isBefore(to))
+                && (from == null || !month.plusMonths(1).atDay(1).atStartOfDay().isBefore(from));
+    }
+
+    private static YearMonth monthOf(Path segment) {
+        return YearMonth.parse(segment.getFileName().toString().replace(SEGMENT_SUFFIX, ""));
+    }
+
+    private List<Path> segments(AccountId accountId) {
+        Path accountDirectory = directory.resolve(accountId.value());
+        if (!Files.isDirectory(accountDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(accountDirectory)) {
+            // yyyy-MM names sort chronologically
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.Transaction;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable file of archived transactions for one account and month.
+ *
+ * Layout: [magic][format] [block]* [index] [index offset]. Each block holds up to
+ * {@code blockSize} consecutive transactions, deflated on its own. The sparse index stores the
+ * first sequence, the timestamp range, the offset and the length of every block, so a range read
+ * inflates only the blocks that overlap it. Settled shard deposits keep the time they were
+ * accepted, so timestamps are not always in sequence order; the range is a block's earliest and
+ * latest timestamp rather than its first and last.
+ */
+final class TransactionArchiveSegment {
+    private static final int MAGIC = 0x54584152;
+
+    private TransactionArchiveSegment() {}
+
+    record BlockEntry(long firstSequence, LocalDateTime minTimestamp, LocalDateTime maxTimestamp,
+                      long offset, int length) {}
+
+    /** Writes the segment under a temporary name and moves it into place once it is durable. */
+    static void write(Path target, List<Transaction> transactions, int blockSize) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        List<BlockEntry> index = new ArrayList<>();
+
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeByte(AccountEventCodec.FORMAT_VERSION);
+
+            for (int from = 0; from < transactions.size(); from += blockSize) {
+                List<Transaction> block = transactions.subList(from, Math.min(from + blockSize, transactions.size()));
+                byte[] compressed = compress(block);
+                LocalDateTime min = block.stream().map(Transaction::getTimestamp).min(LocalDateTime::compareTo).orElseThrow();
+                LocalDateTime max = block.stream().map(Transaction::getTimestamp).max(LocalDateTime::compareTo).orElseThrow();
+                index.add(new BlockEntry(block.get(0).getSequence(), min, max, out.size(), compressed.length));
+                out.write(compressed);
+            }
+
+            long indexOffset = out.size();
+            out.writeInt(index.size());
+            for (BlockEntry entry : index) {
+                out.writeLong(entry.firstSequence());
+                AccountEventCodec.writeTimestamp(out, entry.minTimestamp());
+                AccountEventCodec.writeTimestamp(out, entry.maxTimestamp());
+                out.writeLong(entry.offset());
+                out.writeInt(entry.length());
+            }
+            out.writeLong(indexOffset);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Transactions with {@code from <= timestamp < to}, in sequence order; null bounds are open. */
+    static List<Transaction> read(Path file, LocalDateTime from, LocalDateTime to) throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, Integer.BYTES + 1);
+            if (header.getInt() != MAGIC || header.get() != AccountEventCodec.FORMAT_VERSION) {
+                throw new IOException("Not a transaction archive segment: " + file);
+            }
+            long indexOffset = readFully(channel, channel.size() - Long.BYTES, Long.BYTES).getLong();
+            List<BlockEntry> index = readIndex(channel, indexOffset);
+
+            for (BlockEntry block : index) {
+                if ((to != null && !block.minTimestamp().isBefore(to))
+                        || (from != null && block.maxTimestamp().isBefore(from))) {
+                    continue;
+                }
+                ByteBuffer compressed = readFully(channel, block.offset(), block.length());
+                try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                        new ByteArrayInputStream(compressed.array())))) {
+                    for (Transaction transaction : AccountEventCodec.readTransactions(in)) {
+                        if ((from == null || !transaction.getTimestamp().isBefore(from))
+                                && (to == null || transaction.getTimestamp().isBefore(to))) {
+                            transactions.add(transaction);
+                        }
+                    }
+                }
+            }
+        }
+        return transactions;
+    }
+
+    private static byte[] compress(List<Transaction> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(
+                new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION)))) {
+            AccountEventCodec.writeTransactions(out, block);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<BlockEntry> readIndex(FileChannel channel, long indexOffset) throws IOException {
+        ByteBuffer buffer = readFully(channel, indexOffset, Math.toIntExact(channel.size() - Long.BYTES - indexOffset));
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()))) {
+            int count = in.readInt();
+            List<BlockEntry> index = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                index.add(new BlockEntry(in.readLong(), AccountEventCodec.readTimestamp(in),
+                        AccountEventCodec.readTimestamp(in), in.readLong(), in.readInt()));
+            }
+            return index;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves transactions older than {@code banking.archive.min-age} out of the transactions table
+ * into {@link TransactionArchive}, oldest month first, one month per database transaction.
+ *
+ * Only whole calendar months are archived, and only rows already folded into the account's
+ * checkpoint, which loading the aggregate never reads again. A month is written to its segment
+ * file before its rows are deleted. If the delete does not commit, the next run rewrites the
+ * same file from the same rows, so a segment never changes once its rows are gone.
+ *
+ * Settled shard deposits keep the time they were accepted, so a month can hold a later sequence
+ * than a row of the following month. The archived rows must stay a prefix of the sequence, which
+ * the archive checkpoint and the ledger chain rely on, so such months are archived together.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.repository", havingValue = "jpa", matchIfMissing = true)
+public class TransactionArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiver.class);
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive archive;
+    private final BankAccountMapper bankAccountMapper;
+    private final SpringDataArchiveCheckpointRepository checkpointRepository;
+    private final Duration minAge;
+    private final Duration interval;
+    private final Counter archivedTransactions;
+    private final Timer runTimer;
+    private ScheduledExecutorService scheduler;
+
+    public TransactionArchiver(EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               TransactionArchive archive,
+                               BankAccountMapper bankAccountMapper,
+                               SpringDataArchiveCheckpointRepository checkpointRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${banking.archive.min-age:365d}") Duration minAge,
+                               @Value("${banking.archive.interval:0s}") Duration interval) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archive = archive;
+        this.bankAccountMapper = bankAccountMapper;
+        this.checkpointRepository = checkpointRepository;
+        this.minAge = minAge;
+        this.interval = interval;
+        this.archivedTransactions = Counter.builder("banking.archive.transactions").register(meterRegistry);
+        this.runTimer = Timer.builder("banking.archive.run").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (interval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.warn("Transaction archival failed; will retry on the next run", e);
+        }
+    }
+
+    /** Archives every whole month that ended at least min-age before {@code now}; returns the rows moved. */
+    public long archive(LocalDateTime now) {
+        LocalDateTime cutoff = YearMonth.from(now.minus(minAge)).atDay(1).atStartOfDay();
+        return runTimer.record(() -> {
+            List<String> accountIds = entityManager.createQuery("""
+                    select distinct t.account.id from TransactionEntity t
+                    where t.timestamp < :cutoff""", String.class)
+                    .setParameter("cutoff", cutoff)
+                    .getResultList();
+
+            long archived = 0;
+            for (String accountId : accountIds) {
+                try {
+                    archived += archiveAccount(accountId, cutoff, now);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not archive transactions of account {}", accountId, e);
+                }
+            }
+            if (archived > 0) {
+                logger.info("Archived {} transactions older than {} from {} accounts", archived, cutoff, accountIds.size());
+            }
+            return archived;
+        });
+    }
+
+    private long archiveAccount(String accountId, LocalDateTime cutoff, LocalDateTime now) {
+        long archived = 0;
+        Long moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveOldestMonth(accountId, cutoff, now));
+            archived += moved != null ? moved : 0;
+        } while (moved != null && moved > 0);
+        return archived;
+    }
+
+    private long archiveOldestMonth(String accountId, LocalDateTime cutoff, LocalDateTime now) {
+        BankAccountEntity account = entityManager.find(BankAccountEntity.class, accountId);
+        LocalDateTime oldest = entityManager.createQuery("""
+                select min(t.timestamp) from TransactionEntity t
+                where t.account.id = :accountId""", LocalDateTime.class)
+                .setParameter("accountId", accountId)
+                .getSingleResult();
+        if (oldest == null) {
+            return 0;
+        }
+        ArchiveCheckpointEntity checkpoint = checkpointRepository.findById(accountId)
+                .orElseGet(() -> new ArchiveCheckpointEntity(accountId));
+        if (checkpoint.getArchivedThroughMonth() != null
+                && !YearMonth.from(oldest).isAfter(YearMonth.parse(checkpoint.getArchivedThroughMonth()))) {
+            // Rewriting the month's segment would drop what it already holds
+            throw new IllegalStateException("Account " + accountId + " has transactions in " + YearMonth.from(oldest)
+                    + ", which is already archived");
+        }
+
+        Map<YearMonth, List<TransactionEntity>> months = new LinkedHashMap<>();
+        TransactionEntity last = null;
+        for (YearMonth month = YearMonth.from(oldest); ; month = month.plusMonths(1)) {
+            // The cutoff is the first day of a month, so whole months before it are old enough
+            if (!month.isBefore(YearMonth.from(cutoff))) {
+                return 0;
+            }
+            List<TransactionEntity> transactions = transactionsOf(accountId, month);
+            months.put(month, transactions);
+            for (TransactionEntity transaction : transactions) {
+                if (last == null || transaction.getSequence() > last.getSequence()) {
+                    last = transaction;
+                }
+            }
+            if (last.getSequence() > account.getCheckpointSequence()) {
+                // The rest of this month is still needed to verify the balance; leave it for a later run
+                return 0;
+            }
+            if (!hasEarlierTransactionsAfter(accountId, last.getSequence(), month)) {
+                break;
+            }
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (Map.Entry<YearMonth, List<TransactionEntity>> month : months.entrySet()) {
+            if (month.getValue().isEmpty()) {
+                continue;
+            }
+            List<Transaction> transactions = bankAccountMapper.transactionEntitiesToDomain(month.getValue());
+            archive.write(AccountId.of(accountId), month.getKey(), transactions);
+            month.getValue().forEach(transaction -> ids.add(transaction.getId()));
+        }
+
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            deleted += entityManager.createQuery("delete from TransactionEntity t where t.id in :ids")
+                    .setParameter("ids", ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size())))
+                    .executeUpdate();
+        }
+        if (deleted != ids.size()) {
+            throw new IllegalStateException("Archived " + ids.size() + " transactions of " + accountId
+                    + " but deleted " + deleted);
+        }
+
+        YearMonth throughMonth = months.keySet().stream().reduce((first, second) -> second).orElseThrow();
+        checkpoint.recordArchived(last.getSequence(), last.getBalanceAfter(), throughMonth.toString(), ids.size(), now);
+        checkpointRepository.save(checkpoint);
+
+        archivedTransactions.increment(ids.size());
+        return ids.size();
+    }
+
+    private List<TransactionEntity> transactionsOf(String accountId, YearMonth month) {
+        return entityManager.createQuery("""
+                select t from TransactionEntity t
+                where t.account.id = :accountId and t.timestamp >= :from and t.timestamp < :to
+                order by t.sequence""", TransactionEntity.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", month.atDay(1).atStartOfDay())
+                .setParameter("to", month.plusMonths(1).atDay(1).atStartOfDay())
+                .getResultList();
+    }
+
+    // Whether a row of a later month comes before the given sequence
+    private boolean hasEarlierTransactionsAfter(String accountId, long sequence, YearMonth month) {
+        return entityManager.createQuery("""
+                select count(t) from TransactionEntity t
+                where t.account.id = :accountId and t.sequence < :sequence and t.timestamp >= :after""", Long.class)
+                .setParameter("accountId", accountId)
+                .setParameter("sequence", sequence)
+                .setParameter("after", month.plusMonths(1).atDay(1).atStartOfDay())
+                .getSingleResult() > 0;
+    }
+}
@@ -7,11 +7,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_account_sequence", columnList = "account_id, sequence"),
+    // Keyset pagination of history, see JpaTransactionHistoryRepository
+    @Index(name = "idx_transactions_account_timestamp", columnList = "account_id, timestamp, id"),
+    @Index(name = "idx_transactions_account_type_timestamp", columnList = "account_id, type, timestamp, id")
+})
 public class TransactionEntity {
     @Id
     private String id;
     
+    @Column(nullable = false)
+    private Long sequence;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TransactionType type;
@@ -34,10 +42,11 @@ public class TransactionEntity {
 
     protected TransactionEntity() {}
 
-    public TransactionEntity(String id, TransactionType type, BigDecimal amount, 
+    public TransactionEntity(String id, Long sequence, TransactionType type, BigDecimal amount, 
                            String description, BigDecimal balanceAfter, 
                            LocalDateTime timestamp, BankAccountEntity account) {
         this.id = id;
+        this.sequence = sequence;
         this.type = type;
         this.amount = amount;
         this.description = description;
@@ -50,6 +59,10 @@ public class TransactionEntity {
         return id;
     }
 
+    public Long getSequence() {
+        return sequence;
+    }
+
     public TransactionType getType() {
         return type;
     }
@@ -0,0 +1,10 @@
+package com.example.banking.query;
+
+import com.example.banking.domain.AccountStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Balance and status of an account as last seen by the balance cache, with the time it was recorded. */
+public record AccountBalanceView(String accountId, String accountNumber, BigDecimal balance,
+                                 AccountStatus status, LocalDateTime asOf) {}
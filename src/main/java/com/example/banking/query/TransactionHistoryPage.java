@@ -0,0 +1,9 @@
+package com.example.banking.query;
+
+import java.util.List;
+
+/**
+ * One page of history, newest first. {@code nextCursor} is null on the last page and is
+ * otherwise passed back unchanged to fetch the following page.
+ */
+public record TransactionHistoryPage(List<TransactionView> transactions, String nextCursor) {}
@@ -0,0 +1,27 @@
+package com.example.banking.query;
+
+import com.example.banking.domain.Transaction;
+import com.example.banking.domain.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for one line of an account's history, projected straight from the
+ * transactions table without loading the aggregate.
+ */
+public record TransactionView(String transactionId, Long sequence, TransactionType type,
+                              BigDecimal amount, String description, BigDecimal balanceAfter,
+                              LocalDateTime timestamp) {
+
+    public static TransactionView from(Transaction transaction) {
+        return new TransactionView(
+                transaction.getId().value(),
+                transaction.getSequence(),
+                transaction.getType(),
+                transaction.getAmount().toBigDecimal(),
+                transaction.getDescription(),
+                transaction.getBalanceAfter().toBigDecimal(),
+                transaction.getTimestamp());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orders.read.api;
+
+import com.example.orders.read.application.CustomerOrderAnalyticsProjector;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operator commands for the order read model. A rebuild replaces every customer's analytics
+ * with figures recomputed from the order summaries, to recover from drift.
+ */
+@RestController
+@RequestMapping("/api/orders/analytics")
+public class OrderAnalyticsAdminController {
+    private final CustomerOrderAnalyticsProjector analyticsProjector;
+
+    public OrderAnalyticsAdminController(CustomerOrderAnalyticsProjector analyticsProjector) {
+        this.analyticsProjector = analyticsProjector;
+    }
+
+    @PostMapping("/rebuild")
+    public RebuildResponse rebuild() {
+        return new RebuildResponse(analyticsProjector.rebuild());
+    }
+
+    public record RebuildResponse(int customers) {}
+}
@@ -2,6 +2,7 @@ package com.example.orders.read.api;
 
 import com.example.orders.shared.domain.OrderStatus;
 import com.example.orders.read.application.OrderQueryService;
+import com.example.orders.read.query.OrderSummaryPage;
 import com.example.orders.read.query.OrderSummaryView;
 import com.example.orders.read.query.OrderView;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -14,6 +15,9 @@ import java.util.List;
 /**
  * Controller dedicated to read operations.
  * Optimized for fast queries and different projections.
+ *
+ * Order listings are paged newest first: pass a page's {@code nextCursor} back as
+ * {@code cursor} to get the next one.
  */
 @RestController
 @RequestMapping("/api/orders/query")
@@ -32,13 +36,17 @@ public class OrderQueryController {
     }
 
     @GetMapping("/customer/{customerId}")
-    public List<OrderSummaryView> getCustomerOrders(@PathVariable String customerId) {
-        return queryService.getOrdersByCustomer(customerId);
+    public OrderSummaryPage getCustomerOrders(@PathVariable String customerId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size) {
+        return queryService.getOrdersByCustomer(customerId, cursor, size);
     }
 
     @GetMapping("/status/{status}")
-    public List<OrderSummaryView> getOrdersByStatus(@PathVariable OrderStatus status) {
-        return queryService.getOrdersByStatus(status);
+    public OrderSummaryPage getOrdersByStatus(@PathVariable OrderStatus status,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "50") int size) {
+        return queryService.getOrdersByStatus(status, cursor, size);
     }
 
     @GetMapping("/recent")
@@ -47,14 +55,21 @@ public class OrderQueryController {
     }
 
     @GetMapping("/date-range")
-    public List<OrderSummaryView> getOrdersByDateRange(
+    public OrderSummaryPage getOrdersByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
-        return queryService.getOrdersByDateRange(from, to);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return queryService.getOrdersByDateRange(from, to, cursor, size);
     }
 
     @GetMapping("/analytics/{customerId}")
     public OrderQueryService.OrderAnalytics getOrderAnalytics(@PathVariable String customerId) {
         return queryService.getOrderAnalytics(customerId);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
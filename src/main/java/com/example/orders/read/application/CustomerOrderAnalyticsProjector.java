@@ -0,0 +1,61 @@
+package com.example.orders.read.application;
+
+import com.example.orders.shared.domain.events.OrderCreated;
+import com.example.orders.shared.domain.events.OrderStatusChanged;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps each customer's order analytics current from order events, in the command's
+ * transaction like {@link OrderSummaryProjector}, so reading them is a single-row lookup.
+ * {@link #rebuild()} recomputes them from the order summaries to recover from drift. Operators
+ * run it through OrderAnalyticsAdminController; with orders.analytics.rebuild-on-startup it
+ * also runs at every startup.
+ */
+@Component
+public class CustomerOrderAnalyticsProjector {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerOrderAnalyticsProjector.class);
+
+    private final CustomerOrderAnalyticsStore analyticsStore;
+    private final boolean rebuildOnStartup;
+
+    public CustomerOrderAnalyticsProjector(CustomerOrderAnalyticsStore analyticsStore,
+                                           @Value("${orders.analytics.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.analyticsStore = analyticsStore;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener
+    public void on(OrderCreated event) {
+        analyticsStore.addOrder(event.getCustomerId(), event.getStatus(), event.getTotalAmount());
+    }
+
+    @EventListener
+    public void on(OrderStatusChanged event) {
+        analyticsStore.moveOrder(event.getCustomerId(), event.getPreviousStatus(), event.getNewStatus());
+    }
+
+    @Transactional
+    public int rebuild() {
+        int customers = analyticsStore.rebuild();
+        logger.info("Rebuilt order analytics for {} customers", customers);
+        return customers;
+    }
+
+    // After OrderSummaryProjector has summarized any orders stored without a summary
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.orders.read.application;
+
+import com.example.orders.shared.domain.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Write access to the per-customer order analytics behind
+ * {@link OrderViewRepository#getOrderAnalytics}. Only {@link CustomerOrderAnalyticsProjector} writes to it.
+ */
+public interface CustomerOrderAnalyticsStore {
+    void addOrder(String customerId, OrderStatus status, BigDecimal totalAmount);
+
+    void moveOrder(String customerId, OrderStatus from, OrderStatus to);
+
+    // Replaces every customer's analytics with totals recomputed from the order summaries;
+    // returns how many customers were rebuilt
+    int rebuild();
+}
@@ -0,0 +1,31 @@
+package com.example.orders.read.application;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (createdAt, orderId) order of an order listing: the last row of the previous
+ * page. Handed to clients as an opaque token.
+ */
+public record OrderCursor(LocalDateTime createdAt, String orderId) {
+
+    public String encode() {
+        String raw = createdAt + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid order cursor");
+            }
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid order cursor", e);
+        }
+    }
+}
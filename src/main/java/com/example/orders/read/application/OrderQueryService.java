@@ -1,6 +1,7 @@
 package com.example.orders.read.application;
 
 import com.example.orders.shared.domain.OrderStatus;
+import com.example.orders.read.query.OrderSummaryPage;
 import com.example.orders.read.query.OrderSummaryView;
 import com.example.orders.read.query.OrderView;
 import org.springframework.stereotype.Service;
@@ -9,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 /**
  * Query service optimized for read operations.
@@ -17,6 +19,8 @@ import java.util.Optional;
 @Service
 @Transactional(readOnly = true)
 public class OrderQueryService {
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final OrderViewRepository orderViewRepository;
 
     public OrderQueryService(OrderViewRepository orderViewRepository) {
@@ -27,22 +31,51 @@ public class OrderQueryService {
         return orderViewRepository.findByOrderId(orderId);
     }
 
-    public List<OrderSummaryView> getOrdersByCustomer(String customerId) {
-        return orderViewRepository.findSummariesByCustomerId(customerId);
+    public OrderSummaryPage getOrdersByCustomer(String customerId, String cursor, int pageSize) {
+        return page(cursor, pageSize, (after, limit) ->
+                orderViewRepository.findSummariesByCustomerId(customerId, after, limit));
     }
 
-    public List<OrderSummaryView> getOrdersByStatus(OrderStatus status) {
-        return orderViewRepository.findSummariesByStatus(status);
+    public OrderSummaryPage getOrdersByStatus(OrderStatus status, String cursor, int pageSize) {
+        return page(cursor, pageSize, (after, limit) ->
+                orderViewRepository.findSummariesByStatus(status, after, limit));
     }
 
-    public List<OrderSummaryView> getOrdersByDateRange(LocalDateTime from, LocalDateTime to) {
-        return orderViewRepository.findSummariesByDateRange(from, to);
+    public OrderSummaryPage getOrdersByDateRange(LocalDateTime from, LocalDateTime to, String cursor, int pageSize) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Date range must not end before it starts");
+        }
+        return page(cursor, pageSize, (after, limit) ->
+                orderViewRepository.findSummariesByDateRange(from, to, after, limit));
     }
 
     public List<OrderSummaryView> getRecentOrders(int limit) {
+        checkPageSize(limit);
         return orderViewRepository.findRecentOrderSummaries(limit);
     }
 
+    private OrderSummaryPage page(String cursor, int pageSize,
+                                  BiFunction<OrderCursor, Integer, List<OrderSummaryView>> query) {
+        checkPageSize(pageSize);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // One extra row tells us whether another page exists without a count query
+        List<OrderSummaryView> rows = query.apply(after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new OrderSummaryPage(rows, null);
+        }
+
+        List<OrderSummaryView> page = rows.subList(0, pageSize);
+        OrderSummaryView last = page.get(pageSize - 1);
+        return new OrderSummaryPage(List.copyOf(page), new OrderCursor(last.getCreatedAt(), last.getOrderId()).encode());
+    }
+
+    private static void checkPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
     // Analytics queries
     public OrderAnalytics getOrderAnalytics(String customerId) {
         return orderViewRepository.getOrderAnalytics(customerId);
@@ -0,0 +1,55 @@
+package com.example.orders.read.application;
+
+import com.example.orders.shared.domain.events.OrderCreated;
+import com.example.orders.shared.domain.events.OrderStatusChanged;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Projects order events into the order summary read model. It runs inside the command's
+ * transaction, so a summary is written or changed exactly when its order is. Orders stored
+ * before the read model existed are summarized once at startup.
+ */
+@Component
+public class OrderSummaryProjector {
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryProjector.class);
+
+    private final OrderSummaryStore summaryStore;
+
+    public OrderSummaryProjector(OrderSummaryStore summaryStore) {
+        this.summaryStore = summaryStore;
+    }
+
+    @EventListener
+    public void on(OrderCreated event) {
+        summaryStore.add(
+                event.getOrderId().getValue(),
+                event.getCustomerId(),
+                event.getCreatedAt(),
+                event.getStatus(),
+                event.getTotalAmount(),
+                event.getTotalItems()
+        );
+    }
+
+    @EventListener
+    public void on(OrderStatusChanged event) {
+        summaryStore.updateStatus(event.getOrderId().getValue(), event.getNewStatus());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void addMissingSummaries() {
+        int added = summaryStore.addMissing();
+        if (added > 0) {
+            logger.info("Added summaries for {} orders stored without one", added);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.orders.read.application;
+
+import com.example.orders.shared.domain.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Write access to the denormalized order summaries that back the summary queries
+ * of {@link OrderViewRepository}. Only {@link OrderSummaryProjector} writes to it.
+ */
+public interface OrderSummaryStore {
+    void add(String orderId, String customerId, LocalDateTime createdAt, OrderStatus status,
+             BigDecimal totalAmount, int totalItems);
+
+    void updateStatus(String orderId, OrderStatus status);
+
+    // Summarizes every order that has no summary yet; returns how many were added
+    int addMissing();
+}
@@ -11,14 +11,17 @@ import java.util.Optional;
 /**
  * Repository interface for read-optimized order queries.
  * Implementations can use different storage optimizations.
+ *
+ * Summary listings are newest first in (createdAt, orderId) order and return at most
+ * {@code limit} rows after {@code after}, or from the start when it is null.
  */
 public interface OrderViewRepository {
     Optional<OrderView> findByOrderId(String orderId);
     
-    List<OrderSummaryView> findSummariesByCustomerId(String customerId);
-    List<OrderSummaryView> findSummariesByStatus(OrderStatus status);
-    List<OrderSummaryView> findSummariesByDateRange(LocalDateTime from, LocalDateTime to);
+    List<OrderSummaryView> findSummariesByCustomerId(String customerId, OrderCursor after, int limit);
+    List<OrderSummaryView> findSummariesByStatus(OrderStatus status, OrderCursor after, int limit);
+    List<OrderSummaryView> findSummariesByDateRange(LocalDateTime from, LocalDateTime to, OrderCursor after, int limit);
     List<OrderSummaryView> findRecentOrderSummaries(int limit);
     
     OrderQueryService.OrderAnalytics getOrderAnalytics(String customerId);
-}
\ No newline at end of file
+}
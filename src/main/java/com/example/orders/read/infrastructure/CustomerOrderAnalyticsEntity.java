@@ -0,0 +1,88 @@
+package com.example.orders.read.infrastructure;
+
+import com.example.orders.shared.domain.OrderStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One row per customer with their order count, total spent and how many of their orders are
+ * in each status, kept current as orders are placed and change status.
+ */
+@Entity
+@Table(name = "customer_order_analytics")
+public class CustomerOrderAnalyticsEntity {
+    @Id
+    private String customerId;
+
+    @Column(nullable = false)
+    private long totalOrders;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSpent;
+
+    @Column(nullable = false)
+    private long pendingOrders;
+
+    @Column(nullable = false)
+    private long confirmedOrders;
+
+    @Column(nullable = false)
+    private long shippedOrders;
+
+    @Column(nullable = false)
+    private long deliveredOrders;
+
+    @Column(nullable = false)
+    private long cancelledOrders;
+
+    protected CustomerOrderAnalyticsEntity() {}
+
+    public CustomerOrderAnalyticsEntity(String customerId) {
+        this.customerId = customerId;
+        this.totalSpent = BigDecimal.ZERO;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+
+    public long getOrders(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> pendingOrders;
+            case CONFIRMED -> confirmedOrders;
+            case SHIPPED -> shippedOrders;
+            case DELIVERED -> deliveredOrders;
+            case CANCELLED -> cancelledOrders;
+        };
+    }
+
+    public void addOrder(OrderStatus status, BigDecimal amount) {
+        totalOrders++;
+        totalSpent = totalSpent.add(amount);
+        adjust(status, 1);
+    }
+
+    public void moveOrder(OrderStatus from, OrderStatus to) {
+        adjust(from, -1);
+        adjust(to, 1);
+    }
+
+    private void adjust(OrderStatus status, long delta) {
+        switch (status) {
+            case PENDING -> pendingOrders += delta;
+            case CONFIRMED -> confirmedOrders += delta;
+            case SHIPPED -> shippedOrders += delta;
+            case DELIVERED -> deliveredOrders += delta;
+            case CANCELLED -> cancelledOrders += delta;
+        }
+    }
+}
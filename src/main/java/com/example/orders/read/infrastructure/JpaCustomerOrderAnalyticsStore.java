@@ -0,0 +1,71 @@
+package com.example.orders.read.infrastructure;
+
+import com.example.orders.read.application.CustomerOrderAnalyticsStore;
+import com.example.orders.shared.domain.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+@Repository
+public class JpaCustomerOrderAnalyticsStore implements CustomerOrderAnalyticsStore {
+    private static final Logger logger = LoggerFactory.getLogger(JpaCustomerOrderAnalyticsStore.class);
+
+    private final SpringDataCustomerOrderAnalyticsRepository analyticsRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate insertTransaction;
+
+    public JpaCustomerOrderAnalyticsStore(SpringDataCustomerOrderAnalyticsRepository analyticsRepository,
+                                          EntityManager entityManager,
+                                          PlatformTransactionManager transactionManager) {
+        this.analyticsRepository = analyticsRepository;
+        this.entityManager = entityManager;
+        // A customer's first row is committed on its own, so a lost insert race never fails the order
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void addOrder(String customerId, OrderStatus status, BigDecimal totalAmount) {
+        // Locked until the order commits so concurrent orders of one customer add up instead of
+        // overwriting each other
+        CustomerOrderAnalyticsEntity analytics = analyticsRepository.lockByCustomerId(customerId)
+                .orElseGet(() -> {
+                    insertIfAbsent(customerId);
+                    return analyticsRepository.lockByCustomerId(customerId)
+                            .orElseThrow(() -> new IllegalStateException("No order analytics for customer " + customerId));
+                });
+        analytics.addOrder(status, totalAmount);
+    }
+
+    @Override
+    public void moveOrder(String customerId, OrderStatus from, OrderStatus to) {
+        // A missing row is read-model drift; it must not fail the status change that runs in this transaction
+        analyticsRepository.lockByCustomerId(customerId).ifPresentOrElse(
+                analytics -> analytics.moveOrder(from, to),
+                () -> logger.warn("No order analytics for customer {}; skipped {} -> {}, rebuild to recover",
+                        customerId, from, to));
+    }
+
+    @Override
+    public int rebuild() {
+        analyticsRepository.deleteAllAnalytics();
+        return analyticsRepository.insertFromSummaries();
+    }
+
+    private void insertIfAbsent(String customerId) {
+        try {
+            // persist, not save: a merge would overwrite a row another order committed meanwhile
+            insertTransaction.executeWithoutResult(transaction ->
+                    entityManager.persist(new CustomerOrderAnalyticsEntity(customerId)));
+        } catch (DataIntegrityViolationException e) {
+            // Another order of the same customer inserted it first
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.orders.read.infrastructure;
+
+import com.example.orders.read.application.OrderSummaryStore;
+import com.example.orders.shared.domain.OrderStatus;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public class JpaOrderSummaryStore implements OrderSummaryStore {
+    private final SpringDataOrderSummaryRepository summaryRepository;
+
+    public JpaOrderSummaryStore(SpringDataOrderSummaryRepository summaryRepository) {
+        this.summaryRepository = summaryRepository;
+    }
+
+    @Override
+    public void add(String orderId, String customerId, LocalDateTime createdAt, OrderStatus status,
+                    BigDecimal totalAmount, int totalItems) {
+        summaryRepository.save(new OrderSummaryEntity(orderId, customerId, createdAt, status, totalAmount, totalItems));
+    }
+
+    @Override
+    public void updateStatus(String orderId, OrderStatus status) {
+        // Loaded rather than bulk-updated, so a summary already read in this transaction stays current
+        summaryRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalStateException("No summary for order " + orderId))
+                .setStatus(status);
+    }
+
+    @Override
+    public int addMissing() {
+        return summaryRepository.insertMissingSummaries();
+    }
+}
@@ -3,27 +3,40 @@ package com.example.orders.read.infrastructure;
 import com.example.orders.shared.domain.OrderStatus;
 import com.example.orders.shared.infrastructure.OrderEntity;
 import com.example.orders.shared.infrastructure.SpringDataOrderRepository;
+import com.example.orders.read.application.OrderCursor;
 import com.example.orders.read.application.OrderQueryService;
 import com.example.orders.read.application.OrderViewRepository;
 import com.example.orders.read.query.OrderSummaryView;
 import com.example.orders.read.query.OrderView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Read repository implementation using the same JPA entities as write side,
- * but with read-optimized queries and projections.
+ * Read repository implementation. Order details come from the write side's JPA entities;
+ * summaries come from the order_summaries read model kept by the OrderSummaryProjector, and
+ * analytics from the per-customer rows kept by the CustomerOrderAnalyticsProjector.
  */
 @Repository
 public class JpaOrderViewRepository implements OrderViewRepository {
     private final SpringDataOrderRepository springDataRepository;
+    private final SpringDataCustomerOrderAnalyticsRepository analyticsRepository;
+    private final EntityManager entityManager;
 
-    public JpaOrderViewRepository(SpringDataOrderRepository springDataRepository) {
+    public JpaOrderViewRepository(SpringDataOrderRepository springDataRepository,
+                                  SpringDataCustomerOrderAnalyticsRepository analyticsRepository,
+                                  EntityManager entityManager) {
         this.springDataRepository = springDataRepository;
+        this.analyticsRepository = analyticsRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -33,61 +46,79 @@ public class JpaOrderViewRepository implements OrderViewRepository {
     }
 
     @Override
-    public List<OrderSummaryView> findSummariesByCustomerId(String customerId) {
-        return springDataRepository.findByCustomerId(customerId)
-                .stream()
-                .map(this::toOrderSummaryView)
-                .toList();
+    public List<OrderSummaryView> findSummariesByCustomerId(String customerId, OrderCursor after, int limit) {
+        return findSummaries("s.customerId = :customerId", Map.of("customerId", customerId), after, limit);
     }
 
     @Override
-    public List<OrderSummaryView> findSummariesByStatus(OrderStatus status) {
-        return springDataRepository.findByStatus(status)
-                .stream()
-                .map(this::toOrderSummaryView)
-                .toList();
+    public List<OrderSummaryView> findSummariesByStatus(OrderStatus status, OrderCursor after, int limit) {
+        return findSummaries("s.status = :status", Map.of("status", status), after, limit);
     }
 
     @Override
-    public List<OrderSummaryView> findSummariesByDateRange(LocalDateTime from, LocalDateTime to) {
-        return springDataRepository.findByCreatedAtBetween(from, to)
-                .stream()
-                .map(this::toOrderSummaryView)
-                .toList();
+    public List<OrderSummaryView> findSummariesByDateRange(LocalDateTime from, LocalDateTime to,
+                                                           OrderCursor after, int limit) {
+        return findSummaries("s.createdAt between :from and :to", Map.of("from", from, "to", to), after, limit);
     }
 
     @Override
     public List<OrderSummaryView> findRecentOrderSummaries(int limit) {
-        return springDataRepository.findTopByOrderByCreatedAtDesc(limit)
-                .stream()
-                .map(this::toOrderSummaryView)
-                .toList();
+        return findSummaries(null, Map.of(), null, limit);
+    }
+
+    // Seeks past the cursor along (createdAt, orderId) so every page is one index range scan,
+    // however deep into the listing it is
+    private List<OrderSummaryView> findSummaries(String condition, Map<String, Object> parameters,
+                                                 OrderCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.example.orders.read.query.OrderSummaryView(
+                    s.orderId, s.customerId, 'Unknown Customer', s.createdAt, s.status, s.totalAmount, s.totalItems)
+                from OrderSummaryEntity s""");
+        List<String> conditions = new ArrayList<>();
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        if (after != null) {
+            conditions.add("(s.createdAt < :afterCreatedAt or (s.createdAt = :afterCreatedAt and s.orderId < :afterId))");
+        }
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by s.createdAt desc, s.orderId desc");
+
+        TypedQuery<OrderSummaryView> query = entityManager.createQuery(jpql.toString(), OrderSummaryView.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.orderId());
+        }
+        return query.getResultList();
     }
 
     @Override
     public OrderQueryService.OrderAnalytics getOrderAnalytics(String customerId) {
-        List<OrderEntity> customerOrders = springDataRepository.findByCustomerId(customerId);
-        
-        int totalOrders = customerOrders.size();
-        BigDecimal totalSpent = customerOrders.stream()
-                .map(this::calculateOrderTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal averageOrderValue = totalOrders > 0 
-                ? totalSpent.divide(BigDecimal.valueOf(totalOrders), 2, java.math.RoundingMode.HALF_UP)
+        return analyticsRepository.findById(customerId)
+                .map(this::toOrderAnalytics)
+                .orElseGet(() -> new OrderQueryService.OrderAnalytics(
+                        0, BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.PENDING));
+    }
+
+    private OrderQueryService.OrderAnalytics toOrderAnalytics(CustomerOrderAnalyticsEntity analytics) {
+        long totalOrders = analytics.getTotalOrders();
+        BigDecimal averageOrderValue = totalOrders > 0
+                ? analytics.getTotalSpent().divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
-        
-        OrderStatus mostCommonStatus = customerOrders.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    OrderEntity::getStatus,
-                    java.util.stream.Collectors.counting()))
-                .entrySet().stream()
-                .max(java.util.Map.Entry.comparingByValue())
-                .map(java.util.Map.Entry::getKey)
-                .orElse(OrderStatus.PENDING);
+
+        OrderStatus mostCommonStatus = OrderStatus.PENDING;
+        for (OrderStatus status : OrderStatus.values()) {
+            if (analytics.getOrders(status) > analytics.getOrders(mostCommonStatus)) {
+                mostCommonStatus = status;
+            }
+        }
 
         return new OrderQueryService.OrderAnalytics(
-                totalOrders, totalSpent, averageOrderValue, mostCommonStatus);
+                (int) totalOrders, analytics.getTotalSpent(), averageOrderValue, mostCommonStatus);
     }
 
     private OrderView toOrderView(OrderEntity entity) {
@@ -117,20 +148,6 @@ public class JpaOrderViewRepository implements OrderViewRepository {
         );
     }
 
-    private OrderSummaryView toOrderSummaryView(OrderEntity entity) {
-        BigDecimal totalAmount = calculateOrderTotal(entity);
-
-        return new OrderSummaryView(
-                entity.getId(),
-                entity.getCustomerId(),
-                "Unknown Customer", // In real app, fetch from customer context or cache
-                entity.getCreatedAt(),
-                entity.getStatus(),
-                totalAmount,
-                entity.getItems().size()
-        );
-    }
-
     private BigDecimal calculateOrderTotal(OrderEntity entity) {
         return entity.getItems().stream()
                 .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
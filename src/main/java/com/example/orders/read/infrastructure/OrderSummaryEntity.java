@@ -0,0 +1,78 @@
+package com.example.orders.read.infrastructure;
+
+import com.example.orders.shared.domain.OrderStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row per order with its total and item count already worked out, so summary
+ * queries never touch order items.
+ */
+@Entity
+@Table(name = "order_summaries", indexes = {
+    @Index(name = "idx_order_summaries_customer", columnList = "customerId, createdAt, orderId"),
+    @Index(name = "idx_order_summaries_status", columnList = "status, createdAt, orderId"),
+    @Index(name = "idx_order_summaries_created_at", columnList = "createdAt, orderId")
+})
+public class OrderSummaryEntity {
+    @Id
+    private String orderId;
+
+    @Column(nullable = false)
+    private String customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Integer totalItems;
+
+    protected OrderSummaryEntity() {}
+
+    public OrderSummaryEntity(String orderId, String customerId, LocalDateTime createdAt, OrderStatus status,
+                              BigDecimal totalAmount, Integer totalItems) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.totalItems = totalItems;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Integer getTotalItems() {
+        return totalItems;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.orders.read.infrastructure;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface SpringDataCustomerOrderAnalyticsRepository extends JpaRepository<CustomerOrderAnalyticsEntity, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from CustomerOrderAnalyticsEntity a where a.customerId = :customerId")
+    Optional<CustomerOrderAnalyticsEntity> lockByCustomerId(String customerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CustomerOrderAnalyticsEntity")
+    int deleteAllAnalytics();
+
+    // The same totals the increments maintain, worked out from scratch with one pass over the summaries
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            INSERT INTO CustomerOrderAnalyticsEntity (customerId, totalOrders, totalSpent, pendingOrders,
+                confirmedOrders, shippedOrders, deliveredOrders, cancelledOrders)
+            SELECT s.customerId, COUNT(s), SUM(s.totalAmount),
+                SUM(CASE WHEN s.status = com.example.orders.shared.domain.OrderStatus.PENDING THEN 1 ELSE 0 END),
+                SUM(CASE WHEN s.status = com.example.orders.shared.domain.OrderStatus.CONFIRMED THEN 1 ELSE 0 END),
+                SUM(CASE WHEN s.status = com.example.orders.shared.domain.OrderStatus.SHIPPED THEN 1 ELSE 0 END),
+                SUM(CASE WHEN s.status = com.example.orders.shared.domain.OrderStatus.DELIVERED THEN 1 ELSE 0 END),
+                SUM(CASE WHEN s.status = com.example.orders.shared.domain.OrderStatus.CANCELLED THEN 1 ELSE 0 END)
+            FROM OrderSummaryEntity s
+            GROUP BY s.customerId""")
+    int insertFromSummaries();
+}
@@ -0,0 +1,22 @@
+package com.example.orders.read.infrastructure;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Summaries are written through {@link JpaOrderSummaryStore} and listed, keyset-paged, by
+ * {@link JpaOrderViewRepository}.
+ */
+public interface SpringDataOrderSummaryRepository extends JpaRepository<OrderSummaryEntity, String> {
+    // Summarizes orders that predate the read model, or were written without the projector,
+    // with one aggregate over their items
+    @Modifying
+    @Query("""
+            INSERT INTO OrderSummaryEntity (orderId, customerId, createdAt, status, totalAmount, totalItems)
+            SELECT o.id, o.customerId, o.createdAt, o.status, SUM(i.unitPrice * i.quantity), CAST(COUNT(i) AS Integer)
+            FROM OrderEntity o JOIN o.items i
+            WHERE NOT EXISTS (SELECT 1 FROM OrderSummaryEntity s WHERE s.orderId = o.id)
+            GROUP BY o.id, o.customerId, o.createdAt, o.status""")
+    int insertMissingSummaries();
+}
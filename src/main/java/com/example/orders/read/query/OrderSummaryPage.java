@@ -0,0 +1,9 @@
+package com.example.orders.read.query;
+
+import java.util.List;
+
+/**
+ * One page of order summaries, newest first. {@code nextCursor} is null on the last page and
+ * is otherwise passed back unchanged to fetch the following page.
+ */
+public record OrderSummaryPage(List<OrderSummaryView> orders, String nextCursor) {}
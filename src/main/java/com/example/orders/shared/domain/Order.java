@@ -26,6 +26,20 @@ public class Order extends Entity<OrderId> {
         }
     }
 
+    // Static factory method for reconstruction from persistence (keeps creation time and status)
+    public static Order reconstruct(OrderId id, String customerId, LocalDateTime createdAt,
+                                    OrderStatus status, List<OrderItem> items) {
+        return new Order(id, customerId, createdAt, status, items);
+    }
+
+    private Order(OrderId id, String customerId, LocalDateTime createdAt, OrderStatus status, List<OrderItem> items) {
+        super(id);
+        this.customerId = customerId;
+        this.items = new ArrayList<>(items);
+        this.createdAt = createdAt;
+        this.status = status;
+    }
+
     public void confirm() {
         if (status != OrderStatus.PENDING) {
             throw new IllegalStateException("Only pending orders can be confirmed");
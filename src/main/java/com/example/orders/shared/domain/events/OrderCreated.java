@@ -1,20 +1,34 @@
 package com.example.orders.shared.domain.events;
 
 import com.example.orders.shared.domain.OrderId;
+import com.example.orders.shared.domain.OrderStatus;
 import com.example.shared.domain.DomainEvent;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 /**
  * Domain event internal to the Orders bounded context.
  * Used for orders-specific business logic and event handlers.
+ * Carries the order's totals so read models can be built without loading the order.
  */
 public class OrderCreated extends DomainEvent {
     private final OrderId orderId;
     private final String customerId;
+    private final LocalDateTime createdAt;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final int totalItems;
 
-    public OrderCreated(OrderId orderId, String customerId) {
+    public OrderCreated(OrderId orderId, String customerId, LocalDateTime createdAt, OrderStatus status,
+                        BigDecimal totalAmount, int totalItems) {
         super();
         this.orderId = orderId;
         this.customerId = customerId;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.totalItems = totalItems;
     }
 
     public OrderId getOrderId() {
@@ -24,4 +38,20 @@ public class OrderCreated extends DomainEvent {
     public String getCustomerId() {
         return customerId;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.orders.shared.domain.events;
+
+import com.example.orders.shared.domain.OrderId;
+import com.example.orders.shared.domain.OrderStatus;
+import com.example.shared.domain.DomainEvent;
+
+public class OrderStatusChanged extends DomainEvent {
+    private final OrderId orderId;
+    private final String customerId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus newStatus;
+
+    public OrderStatusChanged(OrderId orderId, String customerId, OrderStatus previousStatus, OrderStatus newStatus) {
+        super();
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+    }
+
+    public OrderId getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return newStatus;
+    }
+}
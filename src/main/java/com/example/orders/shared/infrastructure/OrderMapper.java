@@ -18,9 +18,15 @@ public interface OrderMapper {
     @Mapping(source = "items", target = "items", qualifiedByName = "orderItemsToEntities")
     OrderEntity toEntity(Order order);
 
-    @Mapping(source = "id", target = "id", qualifiedByName = "stringToOrderId")
-    @Mapping(source = "items", target = "items", qualifiedByName = "orderItemEntitiesToDomain")
-    Order toDomain(OrderEntity orderEntity);
+    // Not generated: the public constructor would reset the creation time and status
+    default Order toDomain(OrderEntity orderEntity) {
+        return Order.reconstruct(
+                stringToOrderId(orderEntity.getId()),
+                orderEntity.getCustomerId(),
+                orderEntity.getCreatedAt(),
+                orderEntity.getStatus(),
+                orderItemEntitiesToDomain(orderEntity.getItems()));
+    }
 
     @Named("stringToOrderId")
     default OrderId stringToOrderId(String id) {
@@ -2,7 +2,6 @@ package com.example.orders.write.api;
 
 import com.example.orders.shared.domain.Order;
 import com.example.orders.shared.domain.OrderId;
-import com.example.orders.shared.domain.OrderRepository;
 import com.example.orders.write.application.OrderCommandService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,17 +15,14 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/orders/command")
 public class OrderCommandController {
     private final OrderCommandService commandService;
-    private final OrderRepository orderRepository; // For immediate response after creation
 
-    public OrderCommandController(OrderCommandService commandService, OrderRepository orderRepository) {
+    public OrderCommandController(OrderCommandService commandService) {
         this.commandService = commandService;
-        this.orderRepository = orderRepository;
     }
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request) {
-        OrderId orderId = commandService.createOrder(request);
-        Order order = orderRepository.findById(orderId).orElseThrow();
+        Order order = commandService.createOrder(request);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(OrderResponse.fromDomain(order));
@@ -3,6 +3,7 @@ package com.example.orders.write.application;
 import com.example.orders.write.api.CreateOrderRequest;
 import com.example.orders.shared.domain.*;
 import com.example.orders.shared.domain.events.OrderCreated;
+import com.example.orders.shared.domain.events.OrderStatusChanged;
 import com.example.shared.domain.DomainEventPublisher;
 import com.example.shared.integration.OrderPlacedIntegrationEvent;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,8 @@ public class OrderCommandService {
         this.eventPublisher = eventPublisher;
     }
 
-    public OrderId createOrder(CreateOrderRequest request) {
+    // Returns the order as saved, so callers can answer without loading it again
+    public Order createOrder(CreateOrderRequest request) {
         OrderId orderId = OrderId.generate();
         
         List<OrderItem> orderItems = request.items().stream()
@@ -43,7 +45,14 @@ public class OrderCommandService {
         orderRepository.save(order);
         
         // Publish domain event (internal to orders context)
-        eventPublisher.publishEvent(new OrderCreated(orderId, request.customerId()));
+        eventPublisher.publishEvent(new OrderCreated(
+                orderId,
+                request.customerId(),
+                order.getCreatedAt(),
+                order.getStatus(),
+                order.getTotalAmount().getAmount(),
+                orderItems.size()
+        ));
         
         // Publish integration event (for other contexts)
         List<OrderPlacedIntegrationEvent.ProductQuantityData> productsToReduce = orderItems.stream()
@@ -56,26 +65,28 @@ public class OrderCommandService {
                 productsToReduce
         ));
         
-        return orderId;
+        return order;
     }
 
     public void confirmOrder(OrderId orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
         
+        OrderStatus previousStatus = order.getStatus();
         order.confirm();
         orderRepository.save(order);
         
-        // Could publish OrderConfirmed event here
+        eventPublisher.publishEvent(new OrderStatusChanged(orderId, order.getCustomerId(), previousStatus, order.getStatus()));
     }
 
     public void cancelOrder(OrderId orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
         
+        OrderStatus previousStatus = order.getStatus();
         order.cancel();
         orderRepository.save(order);
         
-        // Could publish OrderCancelled event here
+        eventPublisher.publishEvent(new OrderStatusChanged(orderId, order.getCustomerId(), previousStatus, order.getStatus()));
     }
 }
\ No newline at end of file
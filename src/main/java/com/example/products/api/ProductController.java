@@ -23,8 +23,7 @@ public class ProductController {
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@RequestBody CreateProductRequest request) {
-        ProductId productId = productService.createProduct(request);
-        Product product = productRepository.findById(productId).orElseThrow();
+        Product product = productService.createProduct(request);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ProductResponse.fromDomain(product));
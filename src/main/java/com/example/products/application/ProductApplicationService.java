@@ -17,7 +17,7 @@ public class ProductApplicationService {
         this.productRepository = productRepository;
     }
 
-    public ProductId createProduct(CreateProductRequest request) {
+    public Product createProduct(CreateProductRequest request) {
         ProductId productId = ProductId.generate();
         Price price = Price.of(request.price(), "USD");
         
@@ -30,7 +30,7 @@ public class ProductApplicationService {
         );
         
         productRepository.save(product);
-        return productId;
+        return product;
     }
 
     public void updateProductPrice(ProductId productId, BigDecimal newPrice) {
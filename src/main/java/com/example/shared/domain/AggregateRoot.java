@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
  */
 public abstract class AggregateRoot<T> extends Entity<T> {
     private Long version = 0L;
+    // Version last read from or written to the store - the expected version for the next save
+    private Long persistedVersion = 0L;
     private LocalDateTime lastModified;
     
     protected AggregateRoot(T id) {
@@ -29,6 +31,16 @@ public abstract class AggregateRoot<T> extends Entity<T> {
         this.version = version;
     }
 
+    public final Long getPersistedVersion() {
+        return persistedVersion;
+    }
+
+    // Called by repositories once the aggregate has been written with the given version
+    public void markPersisted(Long storedVersion) {
+        this.version = storedVersion;
+        this.persistedVersion = storedVersion;
+    }
+
     public final LocalDateTime getLastModified() {
         return lastModified;
     }
@@ -44,18 +56,34 @@ public abstract class AggregateRoot<T> extends Entity<T> {
         }
     }
 
+    // Predefined rules: nothing is allocated unless the rule fails
+    protected final <S, A> void checkBusinessRule(BusinessRuleDefinition<S, A> rule, S subject, A argument) {
+        if (!rule.isSatisfiedBy(subject, argument)) {
+            throw new BusinessRuleViolationException(rule.getMessage());
+        }
+    }
+
+    protected final <S> void checkBusinessRule(BusinessRuleDefinition<S, Void> rule, S subject) {
+        checkBusinessRule(rule, subject, null);
+    }
+
     // Aggregate Boundary Protection
     protected final void markAsModified() {
         this.lastModified = LocalDateTime.now();
         this.version++;
     }
 
-    // Template method for aggregate-specific validation
+    // Template method for aggregate-specific validation; must not change state
     protected abstract void validateAggregateInvariants();
 
+    // Hook for aggregates that record how far their state has been verified
+    protected void onInvariantsVerified() {
+    }
+
     // Called before any state change to ensure aggregate consistency
     protected final void beforeStateChange() {
         validateAggregateInvariants();
+        onInvariantsVerified();
         markAsModified();
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.shared.domain;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A business rule declared once, typically as a static constant of the aggregate, and evaluated
+ * against the values passed to {@link AggregateRoot#checkBusinessRule(BusinessRuleDefinition, Object, Object)}.
+ * Unlike a {@link BusinessRule} instance it needs no allocation per check, and its message is a
+ * constant that is only used when the rule fails.
+ *
+ * Every evaluation is counted and timed in the rule's {@link BusinessRuleStatistics}; defined
+ * rules are listed in the {@link BusinessRuleRegistry}.
+ */
+public final class BusinessRuleDefinition<T, A> {
+    private final String name;
+    private final String message;
+    private final BiPredicate<T, A> condition;
+    private final BusinessRuleStatistics statistics = new BusinessRuleStatistics();
+
+    private BusinessRuleDefinition(String name, String message, BiPredicate<T, A> condition) {
+        this.name = Objects.requireNonNull(name, "Rule name cannot be null");
+        this.message = Objects.requireNonNull(message, "Rule message cannot be null");
+        this.condition = Objects.requireNonNull(condition, "Rule condition cannot be null");
+    }
+
+    public static <T, A> BusinessRuleDefinition<T, A> of(String name, String message, BiPredicate<T, A> condition) {
+        BusinessRuleDefinition<T, A> rule = new BusinessRuleDefinition<>(name, message, condition);
+        BusinessRuleRegistry.register(rule);
+        return rule;
+    }
+
+    public static <T> BusinessRuleDefinition<T, Void> of(String name, String message, Predicate<T> condition) {
+        return of(name, message, (T subject, Void ignored) -> condition.test(subject));
+    }
+
+    public boolean isSatisfiedBy(T subject, A argument) {
+        long started = System.nanoTime();
+        boolean satisfied = condition.test(subject, argument);
+        statistics.record(satisfied, System.nanoTime() - started);
+        return satisfied;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public BusinessRuleStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.shared.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Every {@link BusinessRuleDefinition} created so far. Rules are usually static constants and
+ * so appear when their aggregate class is first loaded; subscribers are told about the rules
+ * that already exist and about every one defined later.
+ */
+public final class BusinessRuleRegistry {
+    private static final List<BusinessRuleDefinition<?, ?>> rules = new ArrayList<>();
+    private static final List<Consumer<BusinessRuleDefinition<?, ?>>> subscribers = new ArrayList<>();
+
+    private BusinessRuleRegistry() {}
+
+    static synchronized void register(BusinessRuleDefinition<?, ?> rule) {
+        for (BusinessRuleDefinition<?, ?> existing : rules) {
+            if (existing.getName().equals(rule.getName())) {
+                throw new IllegalArgumentException("Business rule already defined: " + rule.getName());
+            }
+        }
+        rules.add(rule);
+        subscribers.forEach(subscriber -> subscriber.accept(rule));
+    }
+
+    public static synchronized List<BusinessRuleDefinition<?, ?>> getRules() {
+        return List.copyOf(rules);
+    }
+
+    /** Calls the subscriber for every rule, existing and future, until the returned handle is run. */
+    public static synchronized Runnable subscribe(Consumer<BusinessRuleDefinition<?, ?>> subscriber) {
+        subscribers.add(subscriber);
+        rules.forEach(subscriber);
+        return () -> {
+            synchronized (BusinessRuleRegistry.class) {
+                subscribers.remove(subscriber);
+            }
+        };
+    }
+}
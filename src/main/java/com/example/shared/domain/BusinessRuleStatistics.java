@@ -0,0 +1,35 @@
+package com.example.shared.domain;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Running evaluation count, failure count and total evaluation time of one rule. */
+public final class BusinessRuleStatistics {
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    void record(boolean satisfied, long elapsedNanos) {
+        evaluations.increment();
+        totalNanos.add(elapsedNanos);
+        if (!satisfied) {
+            failures.increment();
+        }
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public double getFailureRate() {
+        long total = getEvaluations();
+        return total == 0 ? 0.0 : (double) getFailures() / total;
+    }
+}
@@ -12,6 +12,12 @@ public abstract class DomainEvent {
         this.occurredOn = LocalDateTime.now();
     }
 
+    // Restores an event read back from storage with its original identity
+    protected DomainEvent(String eventId, LocalDateTime occurredOn) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+    }
+
     public String getEventId() {
         return eventId;
     }
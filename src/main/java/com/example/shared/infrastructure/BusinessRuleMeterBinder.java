@@ -0,0 +1,52 @@
+package com.example.shared.infrastructure;
+
+import com.example.shared.domain.BusinessRuleDefinition;
+import com.example.shared.domain.BusinessRuleRegistry;
+import com.example.shared.domain.BusinessRuleStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the statistics the domain keeps for each {@link BusinessRuleDefinition}, tagged
+ * with the rule name: evaluation count and time, failure count and failure ratio.
+ */
+@Component
+public class BusinessRuleMeterBinder implements MeterBinder, DisposableBean {
+    private final List<Runnable> subscriptions = new ArrayList<>();
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        subscriptions.add(BusinessRuleRegistry.subscribe(rule -> bind(rule, registry)));
+    }
+
+    private void bind(BusinessRuleDefinition<?, ?> rule, MeterRegistry registry) {
+        BusinessRuleStatistics statistics = rule.getStatistics();
+        FunctionTimer.builder("domain.rule.evaluation", statistics,
+                        BusinessRuleStatistics::getEvaluations,
+                        BusinessRuleStatistics::getTotalNanos,
+                        TimeUnit.NANOSECONDS)
+                .tag("rule", rule.getName())
+                .register(registry);
+        FunctionCounter.builder("domain.rule.failures", statistics, BusinessRuleStatistics::getFailures)
+                .tag("rule", rule.getName())
+                .register(registry);
+        Gauge.builder("domain.rule.failure.ratio", statistics, BusinessRuleStatistics::getFailureRate)
+                .tag("rule", rule.getName())
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        subscriptions.forEach(Runnable::run);
+        subscriptions.clear();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.banking.api;
+
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.domain.AccountId;
+import com.example.shared.domain.BusinessRuleViolationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BankAccountController.class,
+        properties = "banking.idempotency.in-flight-wait=100ms")
+@Import({IdempotencyStore.class, BankAccountControllerTest.Metrics.class})
+class BankAccountControllerTest {
+    private static final String ACCOUNT_ID = "acc-1";
+    private static final String TRANSACTION = "{\"amount\": 25.00, \"description\": \"Salary\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BankAccountApplicationService accountService;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void openAccount_shouldReplayTheFirstResponseForARepeatedKey() throws Exception {
+        when(accountService.openAccount(any(), any(), any(), any())).thenReturn(AccountId.of("acc-opened"));
+        String key = UUID.randomUUID().toString();
+        String request = """
+            {"accountNumber": "12345", "accountHolderName": "John Doe",
+             "initialDeposit": 500.00, "dailyWithdrawalLimit": 1000.00}
+            """;
+
+        MvcResult first = openAccount(key, request)
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(BankAccountController.REPLAYED))
+            .andReturn();
+        openAccount(key, request)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(BankAccountController.REPLAYED, "true"))
+            .andExpect(content().string(first.getResponse().getContentAsString()));
+
+        verify(accountService, times(1)).openAccount(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdraw_shouldReplayARejectionWithItsStatusAndBody() throws Exception {
+        doThrow(new BusinessRuleViolationException("Insufficient balance for withdrawal"))
+            .when(accountService).withdraw(any(), any(), any());
+        String key = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            ResultActions response = mockMvc.perform(post("/api/accounts/{id}/withdrawals", ACCOUNT_ID)
+                    .header(BankAccountController.IDEMPOTENCY_KEY, key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TRANSACTION))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string("Insufficient balance for withdrawal"));
+            if (attempt > 0) {
+                response.andExpect(header().string(BankAccountController.REPLAYED, "true"));
+            }
+        }
+
+        verify(accountService, times(1)).withdraw(any(), any(), any());
+    }
+
+    @Test
+    void deposit_shouldRejectAKeyReusedWithADifferentBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        deposit(key, TRANSACTION).andExpect(status().isOk());
+        deposit(key, "{\"amount\": 30.00, \"description\": \"Salary\"}")
+            .andExpect(status().isUnprocessableEntity());
+
+        verify(accountService, times(1)).deposit(any(), any(), any());
+    }
+
+    @Test
+    void deposit_shouldAnswerConflictWhileTheKeyIsStillInFlight() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(accountService).deposit(eq(AccountId.of(ACCOUNT_ID)), eq(new BigDecimal("25.00")), eq("Salary"));
+        String key = UUID.randomUUID().toString();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MvcResult> first = executor.submit(() -> deposit(key, TRANSACTION).andReturn());
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            deposit(key, TRANSACTION).andExpect(status().isConflict());
+
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getResponse().getStatus());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        verify(accountService, times(1)).deposit(any(), any(), any());
+    }
+
+    private ResultActions openAccount(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/accounts")
+            .header(BankAccountController.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body));
+    }
+
+    private ResultActions deposit(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/accounts/{id}/deposits", ACCOUNT_ID)
+            .header(BankAccountController.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.banking.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void concurrentRetries_shouldRunCommandOnceAndReplayItsResult() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 100,
+                Duration.ofHours(1), Duration.ofSeconds(10), Clock.systemUTC());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        int retries = 200;
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<IdempotencyStore.Outcome<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < retries; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute("key-1", "deposit 10.00", () -> {
+                        sleep(20);
+                        return executions.incrementAndGet();
+                    }, result -> true);
+                }));
+            }
+            start.countDown();
+
+            int replays = 0;
+            for (Future<IdempotencyStore.Outcome<Integer>> result : results) {
+                IdempotencyStore.Outcome<Integer> outcome = result.get();
+                assertEquals(1, outcome.result());
+                replays += outcome.replayed() ? 1 : 0;
+            }
+            assertEquals(1, executions.get());
+            assertEquals(retries - 1, replays);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_shouldRunAgainAfterFailureButRejectKeyReuse() {
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 100,
+                Duration.ofHours(1), Duration.ofSeconds(1), Clock.systemUTC());
+
+        assertThrows(IllegalStateException.class, () -> store.execute("key-1", "withdraw 5.00",
+                () -> { throw new IllegalStateException("Database unavailable"); }, result -> true));
+        assertEquals("retried", store.execute("key-1", "withdraw 5.00", () -> "retried", result -> false).result());
+        IdempotencyStore.Outcome<String> outcome = store.execute("key-1", "withdraw 5.00", () -> "final", result -> true);
+        assertFalse(outcome.replayed());
+
+        assertTrue(store.execute("key-1", "withdraw 5.00", () -> "again", result -> true).replayed());
+        assertThrows(IdempotencyStore.KeyReuseException.class,
+                () -> store.execute("key-1", "withdraw 6.00", () -> "other", result -> true));
+    }
+
+    @Test
+    void execute_shouldForgetKeysAfterTtlAndBeyondMaximumSize() {
+        MutableClock clock = new MutableClock();
+        IdempotencyStore store = new IdempotencyStore(new SimpleMeterRegistry(), 2,
+                Duration.ofMinutes(10), Duration.ofSeconds(1), clock);
+
+        store.execute("key-1", "a", () -> 1, result -> true);
+        store.execute("key-2", "b", () -> 2, result -> true);
+        store.execute("key-3", "c", () -> 3, result -> true);
+        assertEquals(2, store.size());
+        assertFalse(store.execute("key-1", "a", () -> 4, result -> true).replayed());
+
+        clock.advance(Duration.ofMinutes(11));
+        assertFalse(store.execute("key-3", "c", () -> 5, result -> true).replayed());
+        assertEquals(1, store.size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.banking.api;
+
+import com.example.banking.domain.TransactionType;
+import com.example.banking.query.TransactionView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final TransactionView line = new TransactionView("tx-1", 7L, TransactionType.DEPOSIT,
+        new BigDecimal("12.50"), "Refund, \"late\" fee", new BigDecimal("112.50"),
+        LocalDateTime.of(2024, 1, 31, 23, 59, 1));
+
+    @Test
+    void csv_shouldWriteHeaderAndQuoteDescriptions() throws IOException {
+        StringWriter out = new StringWriter();
+        StatementWriter writer = StatementWriter.open(StatementFormat.CSV, out, objectMapper);
+        writer.write(line);
+        writer.finish();
+
+        assertEquals("""
+            transaction_id,sequence,timestamp,type,amount,balance_after,description
+            tx-1,7,2024-01-31T23:59:01,DEPOSIT,12.50,112.50,"Refund, ""late"" fee"
+            """, out.toString());
+    }
+
+    @Test
+    void ndjson_shouldWriteOneObjectPerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        StatementWriter writer = StatementWriter.open(StatementFormat.NDJSON, out, objectMapper);
+        writer.write(line);
+        writer.write(line);
+        writer.finish();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("tx-1", objectMapper.readTree(lines[1]).get("transactionId").asText());
+        assertEquals("2024-01-31T23:59:01", objectMapper.readTree(lines[1]).get("timestamp").asText());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.banking.api;
+
+import com.example.banking.application.TransactionHistoryQueryService;
+import com.example.banking.domain.AccountId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TransactionHistoryController.class)
+class TransactionHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionHistoryQueryService queryService;
+
+    @Test
+    void exportStatement_shouldRejectAnEmptyPeriodWithoutLabellingItADownload() throws Exception {
+        mockMvc.perform(get("/api/accounts/{id}/transactions/statement", "acc-1")
+                .param("from", "2024-02-01T00:00:00")
+                .param("to", "2024-01-01T00:00:00"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+            .andExpect(content().string("Statement period must end after it starts"));
+
+        verifyNoInteractions(queryService);
+    }
+
+    @Test
+    void exportStatement_shouldKeepOnlySafeCharactersOfTheAccountIdInTheFilename() throws Exception {
+        mockMvc.perform(get("/api/accounts/{id}/transactions/statement", "acc\"1")
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-02-01T00:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"statement-acc_1.csv\""));
+
+        verify(queryService).streamStatement(eq(AccountId.of("acc\"1")), eq(LocalDateTime.of(2024, 1, 1, 0, 0)),
+            eq(LocalDateTime.of(2024, 2, 1, 0, 0)), any());
+    }
+}
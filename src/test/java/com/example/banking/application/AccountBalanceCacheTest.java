@@ -0,0 +1,98 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.banking.query.AccountBalanceView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceCacheTest {
+
+    @Mock
+    private BankAccountRepository accountRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void getBalance_shouldLoadOnceAndServeLaterReadsFromMemory() {
+        AccountBalanceCache cache = new AccountBalanceCache(accountRepository, meterRegistry, Optional.empty(), 10);
+        BankAccount account = newAccount("CACHE-1");
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+
+        cache.getBalance(account.getId());
+        AccountBalanceView byNumber = cache.getBalanceByAccountNumber("CACHE-1").orElseThrow();
+
+        assertEquals(new BigDecimal("500.00"), byNumber.balance());
+        verify(accountRepository, times(1)).findById(account.getId());
+        verify(accountRepository, never()).findByAccountNumber(any());
+        assertEquals(1.0, meterRegistry.get("banking.balance.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("banking.balance.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void events_shouldOnlyMoveEntryForward() {
+        AccountBalanceCache cache = new AccountBalanceCache(accountRepository, meterRegistry, Optional.empty(), 10);
+        BankAccount account = newAccount("CACHE-2");
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        cache.getBalance(account.getId());
+
+        cache.onDeposit(new DepositMadeEvent(account.getId(), Amount.parse("20.00"), Amount.parse("530.00"), 3));
+        // Committed earlier but delivered later
+        cache.onDeposit(new DepositMadeEvent(account.getId(), Amount.parse("10.00"), Amount.parse("510.00"), 2));
+        cache.onAccountFrozen(new AccountFrozenEvent(account.getId()));
+
+        AccountBalanceView view = cache.getBalance(account.getId()).orElseThrow();
+        assertEquals(new BigDecimal("530.00"), view.balance());
+        assertEquals(AccountStatus.FROZEN, view.status());
+        assertEquals(1.0, meterRegistry.get("banking.balance.cache.stale.updates").counter().count());
+    }
+
+    @Test
+    void getBalance_shouldNotLetALoadThatReadBeforeAnEventWin() {
+        AccountBalanceCache cache = new AccountBalanceCache(accountRepository, meterRegistry, Optional.empty(), 10);
+        BankAccount account = newAccount("CACHE-3");
+        // The events commit after the aggregate was read but before the load reaches the cache
+        when(accountRepository.findById(account.getId())).thenAnswer(invocation -> {
+            cache.onDeposit(new DepositMadeEvent(account.getId(), Amount.parse("25.00"), Amount.parse("525.00"), 2));
+            cache.onAccountFrozen(new AccountFrozenEvent(account.getId()));
+            return Optional.of(account);
+        });
+
+        AccountBalanceView loaded = cache.getBalance(account.getId()).orElseThrow();
+
+        assertEquals(new BigDecimal("525.00"), loaded.balance());
+        assertEquals(AccountStatus.FROZEN, loaded.status());
+        AccountBalanceView cached = cache.getBalanceByAccountNumber("CACHE-3").orElseThrow();
+        assertEquals(new BigDecimal("525.00"), cached.balance());
+        assertEquals(AccountStatus.FROZEN, cached.status());
+    }
+
+    @Test
+    void cache_shouldEvictLeastRecentlyUsedAccountsBeyondMaxSize() {
+        AccountBalanceCache cache = new AccountBalanceCache(accountRepository, meterRegistry, Optional.empty(), 2);
+        for (int i = 0; i < 3; i++) {
+            BankAccount account = newAccount("CACHE-EVICT-" + i);
+            when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+            cache.getBalance(account.getId());
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("banking.balance.cache.evictions").counter().count());
+        when(accountRepository.findByAccountNumber("CACHE-EVICT-0")).thenReturn(Optional.empty());
+        assertTrue(cache.getBalanceByAccountNumber("CACHE-EVICT-0").isEmpty());
+    }
+
+    private BankAccount newAccount(String accountNumber) {
+        return new BankAccount(AccountId.generate(), accountNumber, "Jane Doe",
+            Amount.parse("500.00"), Amount.parse("2000.00"));
+    }
+}
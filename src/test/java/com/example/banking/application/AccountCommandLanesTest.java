@@ -0,0 +1,105 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.shared.domain.BusinessRuleViolationException;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCommandLanesTest {
+
+    @Mock
+    private BankAccountRepository accountRepository;
+    
+    @Mock
+    private DomainEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private AccountCommandLanes lanes;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OptimisticLockRetryPolicy retryPolicy = new OptimisticLockRetryPolicy(
+            transactionManager, meterRegistry, 3, Duration.ZERO, Duration.ZERO);
+        lanes = new AccountCommandLanes(
+            accountRepository, eventPublisher, retryPolicy, meterRegistry, 4, 1000, 50, 16);
+        lanes.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        lanes.stop();
+    }
+
+    @Test
+    void deposits_shouldBeAppliedInOrderAgainstOneCachedAggregate() throws Exception {
+        AccountId accountId = AccountId.generate();
+        BankAccount account = new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(lanes.deposit(accountId, new BigDecimal("1.00"), "Deposit " + i));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Amount.parse("1200.00"), account.getBalance());
+        verify(accountRepository, times(1)).findById(accountId);
+        verify(accountRepository, atMost(200)).save(account);
+        verify(eventPublisher, times(200)).publishEvent(any(DepositMadeEvent.class));
+    }
+
+    @Test
+    void rejectedCommand_shouldFailAloneWithoutAffectingTheBatch() throws Exception {
+        AccountId accountId = AccountId.generate();
+        BankAccount account = new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("500.00"), Amount.parse("2000.00"));
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        CompletableFuture<Void> first = lanes.withdraw(accountId, new BigDecimal("400.00"), "First");
+        CompletableFuture<Void> overdraft = lanes.withdraw(accountId, new BigDecimal("400.00"), "Overdraft");
+        CompletableFuture<Void> deposit = lanes.deposit(accountId, new BigDecimal("50.00"), "Deposit");
+
+        first.get(10, TimeUnit.SECONDS);
+        deposit.get(10, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, 
+            () -> overdraft.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessRuleViolationException.class, failure.getCause());
+        assertEquals(Amount.parse("150.00"), account.getBalance());
+    }
+
+    @Test
+    void unknownAccount_shouldFailTheCommand() {
+        AccountId accountId = AccountId.generate();
+        when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+
+        ExecutionException failure = assertThrows(ExecutionException.class, 
+            () -> lanes.deposit(accountId, new BigDecimal("10.00"), "Deposit").get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        verify(accountRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountIdRangeTest {
+
+    @Test
+    void split_shouldCoverIdSpaceWithContiguousRanges() {
+        List<AccountIdRange> ranges = AccountIdRange.split(4);
+
+        assertEquals(new AccountIdRange(0, null, "4000"), ranges.get(0));
+        assertEquals(new AccountIdRange(1, "4000", "8000"), ranges.get(1));
+        assertEquals(new AccountIdRange(3, "c000", null), ranges.get(3));
+
+        for (int i = 0; i < 100; i++) {
+            String accountId = AccountId.generate().value();
+            assertEquals(1, ranges.stream().filter(range -> range.contains(accountId)).count());
+        }
+    }
+}
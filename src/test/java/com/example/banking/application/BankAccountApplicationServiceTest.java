@@ -1,19 +1,26 @@
 package com.example.banking.application;
 
 import com.example.banking.domain.*;
+import com.example.shared.domain.BusinessRuleViolationException;
 import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,11 +32,19 @@ class BankAccountApplicationServiceTest {
     @Mock
     private DomainEventPublisher eventPublisher;
     
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
     private BankAccountApplicationService applicationService;
 
     @BeforeEach
     void setUp() {
-        applicationService = new BankAccountApplicationService(accountRepository, eventPublisher);
+        meterRegistry = new SimpleMeterRegistry();
+        OptimisticLockRetryPolicy retryPolicy = new OptimisticLockRetryPolicy(
+            transactionManager, meterRegistry, 3, Duration.ZERO, Duration.ZERO);
+        applicationService = new BankAccountApplicationService(accountRepository, eventPublisher, retryPolicy, Optional.empty(), Optional.empty(), 2);
     }
 
     @Test
@@ -54,7 +69,7 @@ class BankAccountApplicationServiceTest {
         assertEquals(accountId, publishedEvent.getAccountId());
         assertEquals("12345", publishedEvent.getAccountNumber());
         assertEquals("John Doe", publishedEvent.getAccountHolderName());
-        assertEquals(new BigDecimal("500.00"), publishedEvent.getInitialDeposit());
+        assertEquals(Amount.parse("500.00"), publishedEvent.getInitialDeposit());
     }
 
     @Test
@@ -64,8 +79,8 @@ class BankAccountApplicationServiceTest {
             accountId,
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
@@ -81,8 +96,8 @@ class BankAccountApplicationServiceTest {
         
         WithdrawalMadeEvent publishedEvent = eventCaptor.getValue();
         assertEquals(accountId, publishedEvent.getAccountId());
-        assertEquals(new BigDecimal("100.00"), publishedEvent.getAmount());
-        assertEquals(new BigDecimal("900.00"), publishedEvent.getNewBalance());
+        assertEquals(Amount.parse("100.00"), publishedEvent.getAmount());
+        assertEquals(Amount.parse("900.00"), publishedEvent.getNewBalance());
     }
 
     @Test
@@ -92,8 +107,8 @@ class BankAccountApplicationServiceTest {
             accountId,
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
@@ -109,8 +124,8 @@ class BankAccountApplicationServiceTest {
         
         DepositMadeEvent publishedEvent = eventCaptor.getValue();
         assertEquals(accountId, publishedEvent.getAccountId());
-        assertEquals(new BigDecimal("250.00"), publishedEvent.getAmount());
-        assertEquals(new BigDecimal("1250.00"), publishedEvent.getNewBalance());
+        assertEquals(Amount.parse("250.00"), publishedEvent.getAmount());
+        assertEquals(Amount.parse("1250.00"), publishedEvent.getNewBalance());
     }
 
     @Test
@@ -120,8 +135,8 @@ class BankAccountApplicationServiceTest {
             accountId,
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
@@ -139,4 +154,134 @@ class BankAccountApplicationServiceTest {
         AccountFrozenEvent publishedEvent = eventCaptor.getValue();
         assertEquals(accountId, publishedEvent.getAccountId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void withdraw_shouldRetryWithFreshAccountOnVersionConflict() {
+        AccountId accountId = AccountId.generate();
+        BankAccount staleAccount = new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        BankAccount freshAccount = new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        
+        when(accountRepository.findById(accountId))
+            .thenReturn(Optional.of(staleAccount))
+            .thenReturn(Optional.of(freshAccount));
+        doThrow(new ObjectOptimisticLockingFailureException("bank_accounts", accountId.value()))
+            .doNothing()
+            .when(accountRepository).save(any(BankAccount.class));
+
+        applicationService.withdraw(accountId, new BigDecimal("100.00"), "ATM withdrawal");
+
+        verify(accountRepository, times(2)).save(any(BankAccount.class));
+        verify(eventPublisher, times(1)).publishEvent(any(WithdrawalMadeEvent.class));
+        assertEquals(Amount.parse("900.00"), freshAccount.getBalance());
+        assertEquals(1.0, meterRegistry.counter("banking.command.conflicts", "command", "withdraw").count());
+        assertEquals(1.0, meterRegistry.counter("banking.command.retries", "command", "withdraw").count());
+    }
+
+    @Test
+    void deposit_shouldGiveUpAfterMaxAttempts() {
+        AccountId accountId = AccountId.generate();
+        
+        when(accountRepository.findById(accountId)).thenAnswer(invocation -> Optional.of(new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"))));
+        doThrow(new ObjectOptimisticLockingFailureException("bank_accounts", accountId.value()))
+            .when(accountRepository).save(any(BankAccount.class));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> applicationService.deposit(accountId, new BigDecimal("250.00"), "Direct deposit"));
+
+        verify(accountRepository, times(3)).save(any(BankAccount.class));
+        verifyNoInteractions(eventPublisher);
+        assertEquals(3.0, meterRegistry.counter("banking.command.conflicts", "command", "deposit").count());
+        assertEquals(1.0, meterRegistry.counter("banking.command.retries.exhausted", "command", "deposit").count());
+    }
+
+    @Test
+    void depositBatch_shouldApplyEntriesPerAccountAndSaveEachAccountOnce() {
+        AccountId firstId = AccountId.generate();
+        AccountId secondId = AccountId.generate();
+        BankAccount first = new BankAccount(
+            firstId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        BankAccount second = new BankAccount(
+            secondId, "67890", "Jane Doe", Amount.parse("500.00"), Amount.parse("2000.00"));
+        
+        when(accountRepository.findById(firstId)).thenReturn(Optional.of(first));
+        when(accountRepository.findById(secondId)).thenReturn(Optional.of(second));
+
+        List<BatchEntryResult> results = applicationService.depositBatch(List.of(
+            new BatchEntry(firstId, new BigDecimal("100.00"), "Payroll"),
+            new BatchEntry(secondId, new BigDecimal("50.00"), "Payroll"),
+            new BatchEntry(firstId, new BigDecimal("25.00"), "Bonus")
+        ));
+
+        assertTrue(results.stream().allMatch(BatchEntryResult::isApplied));
+        assertEquals(Amount.parse("1125.00"), first.getBalance());
+        assertEquals(Amount.parse("550.00"), second.getBalance());
+        verify(accountRepository, times(1)).findById(firstId);
+        verify(accountRepository).saveAll(List.of(first, second));
+        verify(eventPublisher, times(3)).publishEvent(any(DepositMadeEvent.class));
+    }
+
+    @Test
+    void withdrawBatch_shouldReportRuleViolationsPerEntry() {
+        AccountId accountId = AccountId.generate();
+        AccountId missingId = AccountId.generate();
+        BankAccount account = new BankAccount(
+            accountId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(missingId)).thenReturn(Optional.empty());
+
+        List<BatchEntryResult> results = applicationService.withdrawBatch(List.of(
+            new BatchEntry(accountId, new BigDecimal("5000.00"), "Too much"),
+            new BatchEntry(accountId, new BigDecimal("100.00"), "Settlement"),
+            new BatchEntry(missingId, new BigDecimal("100.00"), "Settlement")
+        ));
+
+        assertEquals(BatchEntryResult.Outcome.REJECTED, results.get(0).outcome());
+        assertEquals(BatchEntryResult.Outcome.APPLIED, results.get(1).outcome());
+        assertEquals(BatchEntryResult.Outcome.REJECTED, results.get(2).outcome());
+        assertEquals(Amount.parse("900.00"), account.getBalance());
+        verify(accountRepository).saveAll(List.of(account));
+        verify(eventPublisher, times(1)).publishEvent(any(WithdrawalMadeEvent.class));
+    }
+
+    @Test
+    void transfer_shouldMoveFundsAndSaveBothAccountsInIdOrder() {
+        AccountId sourceId = new AccountId("b-account");
+        AccountId targetId = new AccountId("a-account");
+        BankAccount source = new BankAccount(
+            sourceId, "12345", "John Doe", Amount.parse("1000.00"), Amount.parse("2000.00"));
+        BankAccount target = new BankAccount(
+            targetId, "67890", "Jane Doe", Amount.parse("500.00"), Amount.parse("2000.00"));
+        
+        when(accountRepository.findById(sourceId)).thenReturn(Optional.of(source));
+        when(accountRepository.findById(targetId)).thenReturn(Optional.of(target));
+
+        applicationService.transfer(sourceId, targetId, new BigDecimal("300.00"), "Rent");
+
+        assertEquals(Amount.parse("700.00"), source.getBalance());
+        assertEquals(Amount.parse("800.00"), target.getBalance());
+        verify(accountRepository).saveAll(argThat(accounts -> List.copyOf(accounts).equals(List.of(target, source))));
+        verify(eventPublisher).publishEvent(any(WithdrawalMadeEvent.class));
+        verify(eventPublisher).publishEvent(any(DepositMadeEvent.class));
+    }
+
+    @Test
+    void transfer_shouldNotSaveAnythingWhenDebitIsRejected() {
+        AccountId sourceId = AccountId.generate();
+        AccountId targetId = AccountId.generate();
+        
+        when(accountRepository.findById(sourceId)).thenReturn(Optional.of(new BankAccount(
+            sourceId, "12345", "John Doe", Amount.parse("100.00"), Amount.parse("2000.00"))));
+        when(accountRepository.findById(targetId)).thenReturn(Optional.of(new BankAccount(
+            targetId, "67890", "Jane Doe", Amount.parse("500.00"), Amount.parse("2000.00"))));
+
+        assertThrows(BusinessRuleViolationException.class,
+            () -> applicationService.transfer(sourceId, targetId, new BigDecimal("300.00"), "Rent"));
+
+        verify(accountRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.*;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InterestAccrualBatchTest {
+    private static final LocalDate RUN_DATE = LocalDate.of(2023, 6, 30);
+
+    @Mock
+    private BankAccountRepository accountRepository;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final NavigableMap<String, BankAccount> accounts = new TreeMap<>();
+    private final InMemoryCheckpoints checkpoints = new InMemoryCheckpoints();
+    private int pagesBeforeFailure = Integer.MAX_VALUE;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(accountRepository.findInIdRange(any(), any(), anyInt())).thenAnswer(invocation -> {
+            if (pagesBeforeFailure-- == 0) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            String after = invocation.getArgument(0);
+            String before = invocation.getArgument(1);
+            NavigableMap<String, BankAccount> range = after == null ? accounts : accounts.tailMap(after, false);
+            return range.values().stream()
+                .filter(account -> before == null || account.getId().value().compareTo(before) < 0)
+                .limit(invocation.<Integer>getArgument(2))
+                .toList();
+        });
+    }
+
+    @Test
+    void accrue_shouldCreditDailyInterestOncePerRunDate() {
+        BankAccount first = addAccount("0a", "3650.00");
+        BankAccount second = addAccount("8b", "1000.00");
+        BankAccount frozen = addAccount("f0", "3650.00");
+        frozen.freeze();
+
+        InterestAccrualReport report = batch(4, 2).accrue(RUN_DATE);
+
+        assertTrue(report.isCompleted());
+        assertEquals(4, report.partitions().size());
+        // 3650.00 at 10% over 365 days is exactly 1.00 a day; 1000.00 gives 0.27397.. rounded down
+        assertEquals(Amount.parse("3651.00"), first.getBalance());
+        assertEquals(Amount.parse("1000.27"), second.getBalance());
+        assertEquals(Amount.parse("3650.00"), frozen.getBalance());
+        assertEquals(2, report.accountsCredited());
+        assertEquals(Amount.parse("1.27"), report.interestPosted());
+        verify(eventPublisher, times(2)).publishEvent(any(DepositMadeEvent.class));
+
+        InterestAccrualReport rerun = batch(4, 2).accrue(RUN_DATE);
+
+        assertEquals(0, rerun.accountsCredited());
+        assertEquals(Amount.parse("3651.00"), first.getBalance());
+    }
+
+    @Test
+    void accrue_shouldResumeAfterLastCommittedChunk() {
+        List<BankAccount> book = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            book.add(addAccount("a" + i, "3650.00"));
+        }
+        pagesBeforeFailure = 1;
+
+        InterestAccrualReport interrupted = batch(1, 2).accrue(RUN_DATE);
+
+        assertFalse(interrupted.isCompleted());
+        assertEquals(2, interrupted.accountsCredited());
+        assertEquals("a1", checkpoints.find(RUN_DATE, 0).orElseThrow().lastAccountId());
+
+        pagesBeforeFailure = Integer.MAX_VALUE;
+        InterestAccrualReport resumed = batch(1, 2).accrue(RUN_DATE);
+
+        assertTrue(resumed.isCompleted());
+        assertEquals(3, resumed.accountsCredited());
+        assertEquals(5, checkpoints.find(RUN_DATE, 0).orElseThrow().accountsCredited());
+        book.forEach(account -> assertEquals(Amount.parse("3651.00"), account.getBalance()));
+    }
+
+    @Test
+    void catchUp_shouldAccrueEveryDateSinceTheLastRunThroughYesterday() {
+        BankAccount account = addAccount("0a", "3650.00");
+        InterestAccrualBatch batch = batch(2, 10);
+
+        // Nothing has run yet: only yesterday
+        assertEquals(List.of(RUN_DATE), runDates(batch.catchUp(RUN_DATE.plusDays(1))));
+        assertEquals(Amount.parse("3651.00"), account.getBalance());
+
+        // Three days without a run, e.g. the service was down at the scheduled time
+        List<InterestAccrualReport> reports = batch.catchUp(RUN_DATE.plusDays(4));
+
+        assertEquals(List.of(RUN_DATE, RUN_DATE.plusDays(1), RUN_DATE.plusDays(2), RUN_DATE.plusDays(3)),
+            runDates(reports));
+        assertEquals(0, reports.get(0).accountsCredited());
+        assertEquals(Amount.parse("3654.00"), account.getBalance());
+    }
+
+    @Test
+    void catchUp_shouldNotRunPastADateThatDidNotComplete() {
+        addAccount("0a", "3650.00");
+        addAccount("0b", "3650.00");
+        InterestAccrualBatch batch = batch(1, 1);
+        pagesBeforeFailure = 1;
+
+        List<InterestAccrualReport> interrupted = batch.catchUp(RUN_DATE.plusDays(3));
+
+        assertEquals(1, interrupted.size());
+        assertFalse(interrupted.get(0).isCompleted());
+        assertEquals(RUN_DATE.plusDays(2), interrupted.get(0).runDate());
+
+        pagesBeforeFailure = Integer.MAX_VALUE;
+        List<InterestAccrualReport> resumed = batch.catchUp(RUN_DATE.plusDays(3));
+
+        assertEquals(List.of(RUN_DATE.plusDays(2)), runDates(resumed));
+        assertTrue(resumed.get(0).isCompleted());
+        assertEquals(1, resumed.get(0).accountsCredited());
+    }
+
+    private static List<LocalDate> runDates(List<InterestAccrualReport> reports) {
+        return reports.stream().map(InterestAccrualReport::runDate).toList();
+    }
+
+    private InterestAccrualBatch batch(int partitions, int chunkSize) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OptimisticLockRetryPolicy retryPolicy = new OptimisticLockRetryPolicy(
+            transactionManager, meterRegistry, 3, Duration.ZERO, Duration.ZERO);
+        return new InterestAccrualBatch(accountRepository, checkpoints, eventPublisher, retryPolicy, Optional.empty(), meterRegistry,
+            new BigDecimal("0.10"), partitions, 2, chunkSize, "-");
+    }
+
+    private BankAccount addAccount(String id, String balance) {
+        BankAccount account = new BankAccount(AccountId.of(id), "ACC-" + id, "Jane Doe",
+            Amount.parse(balance), Amount.parse("1000.00"));
+        accounts.put(id, account);
+        return account;
+    }
+
+    private static class InMemoryCheckpoints implements InterestAccrualCheckpointRepository {
+        private final Map<String, InterestAccrualCheckpoint> checkpoints = new HashMap<>();
+
+        @Override
+        public synchronized List<InterestAccrualCheckpoint> findByRunDate(LocalDate runDate) {
+            return checkpoints.values().stream().filter(checkpoint -> checkpoint.runDate().equals(runDate)).toList();
+        }
+
+        @Override
+        public synchronized Optional<InterestAccrualCheckpoint> find(LocalDate runDate, int partition) {
+            return Optional.ofNullable(checkpoints.get(runDate + "/" + partition));
+        }
+
+        @Override
+        public synchronized Optional<LocalDate> findLatestRunDate() {
+            return checkpoints.values().stream().map(InterestAccrualCheckpoint::runDate).max(Comparator.naturalOrder());
+        }
+
+        @Override
+        public synchronized void save(InterestAccrualCheckpoint checkpoint) {
+            checkpoints.put(checkpoint.runDate() + "/" + checkpoint.partition(), checkpoint);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.TransactionType;
+import com.example.banking.query.TransactionHistoryPage;
+import com.example.banking.query.TransactionView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionHistoryQueryServiceTest {
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Test
+    void getHistory_shouldReturnCursorOfLastRowWhenMoreRowsExist() {
+        AccountId accountId = AccountId.generate();
+        TransactionHistoryQueryService service = new TransactionHistoryQueryService(historyRepository);
+        LocalDateTime now = LocalDateTime.now();
+        when(historyRepository.findPage(eq(accountId), any(), isNull(), eq(3)))
+            .thenReturn(List.of(view("c", now), view("b", now), view("a", now.minusSeconds(1))));
+
+        TransactionHistoryPage page = service.getHistory(accountId, TransactionHistoryFilter.none(), null, 2);
+
+        assertEquals(2, page.transactions().size());
+        assertEquals(new TransactionCursor(now, "b"), TransactionCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getHistory_shouldPassDecodedCursorAndEndOnShortPage() {
+        AccountId accountId = AccountId.generate();
+        TransactionHistoryQueryService service = new TransactionHistoryQueryService(historyRepository);
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.now(), "b");
+        when(historyRepository.findPage(accountId, TransactionHistoryFilter.none(), cursor, 3))
+            .thenReturn(List.of(view("a", cursor.timestamp())));
+
+        TransactionHistoryPage page = service.getHistory(accountId, TransactionHistoryFilter.none(), cursor.encode(), 2);
+
+        assertEquals(1, page.transactions().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getHistory_shouldRejectMalformedCursorAndPageSize() {
+        TransactionHistoryQueryService service = new TransactionHistoryQueryService(historyRepository);
+        AccountId accountId = AccountId.generate();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getHistory(accountId, TransactionHistoryFilter.none(), "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getHistory(accountId, TransactionHistoryFilter.none(), null, 0));
+        verifyNoInteractions(historyRepository);
+    }
+
+    private TransactionView view(String id, LocalDateTime timestamp) {
+        return new TransactionView(id, 1L, TransactionType.DEPOSIT, new BigDecimal("1.00"), "Deposit",
+            new BigDecimal("1.00"), timestamp);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.WithdrawalMadeEvent;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cost of {@link WithdrawalVelocityDetector#record} per withdrawal, against a target of under a
+ * microsecond. Events are built up front, so only the detector is measured; alerts go to a
+ * publisher that drops them. Opt-in, as the numbers only mean something on an otherwise idle
+ * machine: {@code mvn test -Dtest=WithdrawalVelocityDetectorBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WithdrawalVelocityDetectorBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(WithdrawalVelocityDetectorBenchmark.class);
+    private static final int ACCOUNTS = 10_000;
+    private static final int EVENTS = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final int THREADS = 4;
+    private static final double TARGET_NANOS = 1_000;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Test
+    void record_shouldTakeUnderAMicrosecondPerWithdrawal() throws Exception {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId[] accountIds = new AccountId[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = AccountId.generate();
+        }
+
+        // The first rounds warm up the JIT and create every account's state. Each round is a new
+        // day, so no round replays times the detector has already moved past
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            WithdrawalMadeEvent[] events = events(accountIds, round);
+            long started = System.nanoTime();
+            for (WithdrawalMadeEvent event : events) {
+                detector.record(event);
+            }
+            best = Math.min(best, (System.nanoTime() - started) / (double) EVENTS);
+        }
+        double concurrent = concurrentNanosPerEvent(detector, events(accountIds, ROUNDS));
+
+        logger.info("{} accounts: {} ns per withdrawal on one thread, {} ns per withdrawal across {} threads",
+                ACCOUNTS, Math.round(best), Math.round(concurrent), THREADS);
+        assertEquals(ACCOUNTS, detector.trackedAccounts());
+        assertTrue(best < TARGET_NANOS, "Recording took " + best + " ns per withdrawal");
+    }
+
+    // Wall-clock time per event with the day's events dealt out round-robin, so threads share accounts
+    private double concurrentNanosPerEvent(WithdrawalVelocityDetector detector, WithdrawalMadeEvent[] events)
+            throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int first = i;
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    for (int e = first; e < events.length; e += THREADS) {
+                        detector.record(events[e]);
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            ready.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            return (System.nanoTime() - started) / (double) EVENTS;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private WithdrawalVelocityDetector detector() {
+        DomainEventPublisher discard = new DomainEventPublisher(event -> {});
+        return new WithdrawalVelocityDetector(discard, new SimpleMeterRegistry(), List.of(
+            new WithdrawalVelocityDetector.Window("minute", Duration.ofMinutes(1), 5, Amount.parse("2000.00")),
+            new WithdrawalVelocityDetector.Window("hour", Duration.ofHours(1), 20, Amount.parse("5000.00")),
+            new WithdrawalVelocityDetector.Window("day", Duration.ofHours(24), 50, Amount.parse("10000.00"))),
+            Duration.ofHours(25));
+    }
+
+    // The given day's withdrawals spread over the accounts, in time order
+    private WithdrawalMadeEvent[] events(AccountId[] accountIds, int day) {
+        SplittableRandom random = new SplittableRandom(day);
+        LocalDateTime dayStart = start.plusDays(day);
+        long stepMillis = Duration.ofDays(1).toMillis() / EVENTS;
+        WithdrawalMadeEvent[] events = new WithdrawalMadeEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = new WithdrawalMadeEvent("evt-" + i, dayStart.plusNanos(i * stepMillis * 1_000_000),
+                accountIds[random.nextInt(ACCOUNTS)], Amount.ofMinorUnits(100 + random.nextInt(50_000)), Amount.ZERO, i);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.banking.application;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.WithdrawalMadeEvent;
+import com.example.banking.domain.WithdrawalVelocityExceededEvent;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WithdrawalVelocityDetectorTest {
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Test
+    void record_shouldAlertOnceWhenCountLimitIsCrossed() {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId accountId = AccountId.generate();
+
+        for (int i = 0; i < 6; i++) {
+            detector.record(withdrawal(accountId, "10.00", start.plusSeconds(i)));
+        }
+
+        ArgumentCaptor<WithdrawalVelocityExceededEvent> alert = ArgumentCaptor.forClass(WithdrawalVelocityExceededEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(alert.capture());
+        assertEquals("minute", alert.getValue().getWindow());
+        assertEquals(4, alert.getValue().getWithdrawals());
+    }
+
+    @Test
+    void record_shouldAlertOnTheLongerWindowWhileTheShorterStaysWithinLimits() {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId accountId = AccountId.generate();
+
+        // Three per minute never exceeds the minute limit, but the hour window keeps adding up
+        for (int i = 0; i < 12; i++) {
+            detector.record(withdrawal(accountId, "10.00", start.plusSeconds(i * 20L)));
+        }
+        ArgumentCaptor<WithdrawalVelocityExceededEvent> alert = ArgumentCaptor.forClass(WithdrawalVelocityExceededEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(alert.capture());
+        assertEquals("hour", alert.getValue().getWindow());
+    }
+
+    @Test
+    void record_shouldForgetWithdrawalsWhoseBucketsExpired() {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId accountId = AccountId.generate();
+
+        // At the minute limit on count and amount, twice, a little over a minute apart
+        for (int i = 0; i < 3; i++) {
+            detector.record(withdrawal(accountId, "60.00", start.plusSeconds(i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            detector.record(withdrawal(accountId, "60.00", start.plusSeconds(62 + i)));
+        }
+        // After a gap longer than the whole ring
+        for (int i = 0; i < 3; i++) {
+            detector.record(withdrawal(accountId, "60.00", start.plusMinutes(10).plusSeconds(i)));
+        }
+
+        verify(eventPublisher, never()).publishEvent(any(WithdrawalVelocityExceededEvent.class));
+    }
+
+    @Test
+    void record_shouldAlertAgainAfterTheWindowDroppedBackWithinLimits() {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId accountId = AccountId.generate();
+
+        for (int i = 0; i < 5; i++) {
+            detector.record(withdrawal(accountId, "10.00", start.plusSeconds(i)));
+        }
+        // The first burst has expired, so this one is within the limits again
+        detector.record(withdrawal(accountId, "10.00", start.plusSeconds(70)));
+        for (int i = 0; i < 3; i++) {
+            detector.record(withdrawal(accountId, "10.00", start.plusSeconds(71 + i)));
+        }
+
+        ArgumentCaptor<WithdrawalVelocityExceededEvent> alert = ArgumentCaptor.forClass(WithdrawalVelocityExceededEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(alert.capture());
+        assertEquals(List.of("minute", "minute"), alert.getAllValues().stream()
+            .map(WithdrawalVelocityExceededEvent::getWindow).toList());
+        assertEquals(4, alert.getAllValues().get(1).getWithdrawals());
+    }
+
+    @Test
+    void record_shouldAlertOnAmountAndEvictIdleAccounts() {
+        WithdrawalVelocityDetector detector = detector();
+        AccountId accountId = AccountId.generate();
+
+        detector.record(withdrawal(accountId, "150.00", start));
+        detector.record(withdrawal(accountId, "100.00", start.plusSeconds(5)));
+
+        verify(eventPublisher).publishEvent(any(WithdrawalVelocityExceededEvent.class));
+        assertEquals(0, detector.evictIdle(start.plusHours(1)));
+        assertEquals(1, detector.evictIdle(start.plusHours(3)));
+        assertEquals(0, detector.trackedAccounts());
+    }
+
+    private WithdrawalVelocityDetector detector() {
+        return new WithdrawalVelocityDetector(eventPublisher, new SimpleMeterRegistry(), List.of(
+            new WithdrawalVelocityDetector.Window("minute", Duration.ofMinutes(1), 3, Amount.parse("200.00")),
+            new WithdrawalVelocityDetector.Window("hour", Duration.ofHours(1), 10, Amount.parse("1000.00"))),
+            Duration.ofHours(2));
+    }
+
+    private WithdrawalMadeEvent withdrawal(AccountId accountId, String amount, LocalDateTime at) {
+        return new WithdrawalMadeEvent("evt", at, accountId, Amount.parse(amount), Amount.ZERO, 1);
+    }
+}
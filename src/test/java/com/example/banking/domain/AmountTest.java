@@ -0,0 +1,33 @@
+package com.example.banking.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmountTest {
+
+    @Test
+    void of_shouldConvertToMinorUnitsAndBack() {
+        Amount amount = Amount.of(new BigDecimal("1234.5"));
+
+        assertEquals(123450L, amount.getMinorUnits());
+        assertEquals(new BigDecimal("1234.50"), amount.toBigDecimal());
+        assertEquals(Amount.parse("1234.50"), amount);
+    }
+
+    @Test
+    void of_shouldRejectFractionsOfAMinorUnit() {
+        assertThrows(IllegalArgumentException.class, () -> Amount.of(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void arithmetic_shouldFailInsteadOfOverflowing() {
+        Amount largest = Amount.ofMinorUnits(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> largest.plus(Amount.ofMinorUnits(1)));
+        assertThrows(ArithmeticException.class, () -> Amount.ofMinorUnits(Long.MIN_VALUE).minus(Amount.ofMinorUnits(1)));
+        assertEquals(Amount.parse("0.99"), Amount.parse("1.00").minus(Amount.parse("0.01")));
+    }
+}
@@ -3,7 +3,8 @@ package com.example.banking.domain;
 import com.example.shared.domain.BusinessRuleViolationException;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,8 +17,8 @@ class BankAccountTest {
                 AccountId.generate(),
                 "12345",
                 "John Doe",
-                new BigDecimal("50.00"), // Below minimum of $100
-                new BigDecimal("1000.00")
+                Amount.parse("50.00"), // Below minimum of $100
+                Amount.parse("1000.00")
             );
         });
     }
@@ -28,36 +29,65 @@ class BankAccountTest {
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("500.00"),
-            new BigDecimal("1000.00")
+            Amount.parse("500.00"),
+            Amount.parse("1000.00")
         );
 
         // Should work fine
-        account.withdraw(new BigDecimal("100.00"), "ATM Withdrawal");
-        assertEquals(new BigDecimal("400.00"), account.getBalance());
+        account.withdraw(Amount.parse("100.00"), "ATM Withdrawal");
+        assertEquals(Amount.parse("400.00"), account.getBalance());
 
         // Should fail - insufficient balance
         assertThrows(BusinessRuleViolationException.class, () -> {
-            account.withdraw(new BigDecimal("500.00"), "Large withdrawal");
+            account.withdraw(Amount.parse("500.00"), "Large withdrawal");
         });
     }
 
+    @Test
+    void rejectedCommands_shouldLeaveVersionAndLastModifiedUnchanged() {
+        BankAccount account = new BankAccount(
+            AccountId.generate(),
+            "12345",
+            "John Doe",
+            Amount.parse("500.00"),
+            Amount.parse("1000.00")
+        );
+        Long version = account.getVersion();
+        LocalDateTime lastModified = account.getLastModified();
+
+        assertThrows(BusinessRuleViolationException.class,
+            () -> account.withdraw(Amount.parse("600.00"), "Large withdrawal"));
+        assertThrows(BusinessRuleViolationException.class,
+            () -> account.deposit(Amount.ZERO, "Empty deposit"));
+        assertEquals(version, account.getVersion());
+        assertSame(lastModified, account.getLastModified());
+
+        account.freeze();
+        Long frozenVersion = account.getVersion();
+        assertThrows(BusinessRuleViolationException.class, account::freeze);
+
+        assertEquals(version + 1, frozenVersion);
+        assertEquals(frozenVersion, account.getVersion());
+        assertEquals(Amount.parse("500.00"), account.getBalance());
+        assertEquals(1, account.getTransactions().size());
+    }
+
     @Test
     void withdraw_shouldEnforceDailyLimit() {
         BankAccount account = new BankAccount(
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("5000.00"),
-            new BigDecimal("1000.00") // Daily limit
+            Amount.parse("5000.00"),
+            Amount.parse("1000.00") // Daily limit
         );
 
         // First withdrawal should work
-        account.withdraw(new BigDecimal("600.00"), "First withdrawal");
+        account.withdraw(Amount.parse("600.00"), "First withdrawal");
         
         // Second withdrawal should fail (would exceed daily limit)
         assertThrows(BusinessRuleViolationException.class, () -> {
-            account.withdraw(new BigDecimal("500.00"), "Second withdrawal");
+            account.withdraw(Amount.parse("500.00"), "Second withdrawal");
         });
     }
 
@@ -67,16 +97,16 @@ class BankAccountTest {
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
 
-        account.withdraw(new BigDecimal("100.00"), "Withdrawal 1");
-        account.deposit(new BigDecimal("50.00"), "Deposit 1");
-        account.withdraw(new BigDecimal("75.00"), "Withdrawal 2");
+        account.withdraw(Amount.parse("100.00"), "Withdrawal 1");
+        account.deposit(Amount.parse("50.00"), "Deposit 1");
+        account.withdraw(Amount.parse("75.00"), "Withdrawal 2");
 
         // Balance should be consistent with transaction history
-        assertEquals(new BigDecimal("875.00"), account.getBalance());
+        assertEquals(Amount.parse("875.00"), account.getBalance());
         assertEquals(4, account.getTransactions().size());
         
         // Aggregate invariants should pass
@@ -89,16 +119,16 @@ class BankAccountTest {
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
 
         // Business logic should work correctly
-        account.withdraw(new BigDecimal("100.00"), "Test withdrawal");
-        assertEquals(new BigDecimal("900.00"), account.getBalance());
+        account.withdraw(Amount.parse("100.00"), "Test withdrawal");
+        assertEquals(Amount.parse("900.00"), account.getBalance());
         
-        account.deposit(new BigDecimal("50.00"), "Test deposit");
-        assertEquals(new BigDecimal("950.00"), account.getBalance());
+        account.deposit(Amount.parse("50.00"), "Test deposit");
+        assertEquals(Amount.parse("950.00"), account.getBalance());
         
         // Domain events are handled by application service, not aggregate
         // This test focuses on business logic only
@@ -110,17 +140,17 @@ class BankAccountTest {
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
 
         Long initialVersion = account.getVersion();
         
-        account.withdraw(new BigDecimal("100.00"), "Test");
+        account.withdraw(Amount.parse("100.00"), "Test");
         assertTrue(account.getVersion() > initialVersion);
         
         Long afterWithdrawal = account.getVersion();
-        account.deposit(new BigDecimal("50.00"), "Test");
+        account.deposit(Amount.parse("50.00"), "Test");
         assertTrue(account.getVersion() > afterWithdrawal);
     }
 
@@ -130,8 +160,8 @@ class BankAccountTest {
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
 
         account.freeze();
@@ -139,11 +169,105 @@ class BankAccountTest {
 
         // Should reject operations on frozen account
         assertThrows(BusinessRuleViolationException.class, () -> {
-            account.withdraw(new BigDecimal("100.00"), "Should fail");
+            account.withdraw(Amount.parse("100.00"), "Should fail");
         });
 
         assertThrows(BusinessRuleViolationException.class, () -> {
-            account.deposit(new BigDecimal("100.00"), "Should fail");
+            account.deposit(Amount.parse("100.00"), "Should fail");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkpoint_shouldAdvanceAsTransactionsAreVerified() {
+        BankAccount account = new BankAccount(
+            AccountId.generate(),
+            "12345",
+            "John Doe",
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
+        );
+
+        account.withdraw(Amount.parse("100.00"), "Withdrawal 1");
+        account.deposit(Amount.parse("50.00"), "Deposit 1");
+
+        // The latest deposit is the only transaction not yet folded into the checkpoint
+        assertEquals(2, account.getCheckpointSequence());
+        assertEquals(Amount.parse("900.00"), account.getCheckpointBalance());
+        assertEquals(3, account.getTransactions().get(2).getSequence());
+
+        // Validating alone has no side effects
+        account.validateAggregateInvariants();
+        assertEquals(2, account.getCheckpointSequence());
+
+        account.freeze();
+        assertEquals(3, account.getCheckpointSequence());
+        assertEquals(Amount.parse("950.00"), account.getCheckpointBalance());
+    }
+
+    @Test
+    void reconstructedAccount_shouldOnlyNeedTransactionsAfterCheckpoint() {
+        Transaction latest = new Transaction(
+            TransactionId.generate(), 42, TransactionType.DEPOSIT,
+            Amount.parse("25.00"), "Deposit", Amount.parse("525.00"));
+
+        BankAccount account = BankAccount.reconstruct(
+            AccountId.generate(), "12345", "John Doe",
+            Amount.parse("525.00"), AccountStatus.ACTIVE,
+            Amount.parse("2000.00"), Amount.ZERO,
+            LocalDateTime.now(), LocalDateTime.now(), 41L,
+            Amount.parse("500.00"), 41, List.of(latest)
+        );
+
+        account.withdraw(Amount.parse("25.00"), "Withdrawal");
+
+        assertEquals(Amount.parse("500.00"), account.getBalance());
+        assertEquals(43, account.getTransactions().get(1).getSequence());
+    }
+
+    @Test
+    void reconstructedAccount_shouldDetectBalanceInconsistency() {
+        Transaction latest = new Transaction(
+            TransactionId.generate(), 42, TransactionType.DEPOSIT,
+            Amount.parse("25.00"), "Deposit", Amount.parse("525.00"));
+
+        BankAccount account = BankAccount.reconstruct(
+            AccountId.generate(), "12345", "John Doe",
+            Amount.parse("600.00"), AccountStatus.ACTIVE,
+            Amount.parse("2000.00"), Amount.ZERO,
+            LocalDateTime.now(), LocalDateTime.now(), 41L,
+            Amount.parse("500.00"), 41, List.of(latest)
+        );
+
+        assertThrows(IllegalStateException.class,
+            () -> account.withdraw(Amount.parse("25.00"), "Withdrawal"));
+    }
+
+    @Test
+    void settle_shouldMoveShardDepositsIntoLedgerAfterFreeze() {
+        BankAccount account = new BankAccount(
+            AccountId.generate(),
+            "12345",
+            "John Doe",
+            Amount.parse("500.00"),
+            Amount.parse("1000.00")
+        );
+        BalanceShard shard = new BalanceShard(BalanceShardId.of(account.getId(), 0));
+        ShardDeposit first = shard.deposit(Amount.parse("10.00"), "Card payment");
+        ShardDeposit second = shard.deposit(Amount.parse("15.00"), "Card payment");
+        shard.close();
+
+        assertThrows(BusinessRuleViolationException.class,
+            () -> shard.deposit(Amount.parse("5.00"), "Card payment"));
+        assertEquals(Amount.parse("25.00"), shard.getBalance());
+
+        account.freeze();
+        account.settle(List.of(first, second));
+
+        assertEquals(Amount.parse("525.00"), account.getBalance());
+        Transaction settled = account.getTransactions().get(2);
+        assertEquals(second.id(), settled.getId());
+        assertEquals(3, settled.getSequence());
+        assertEquals(Amount.parse("525.00"), settled.getBalanceAfter());
+        assertEquals(second.timestamp(), settled.getTimestamp());
+    }
+}
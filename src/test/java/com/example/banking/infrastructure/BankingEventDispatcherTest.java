@@ -0,0 +1,184 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.application.BankingEventHandler;
+import com.example.banking.application.WithdrawalVelocityDetector;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.DepositMadeEvent;
+import com.example.banking.infrastructure.BankingEventDispatcher.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BankingEventDispatcherTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingHandler handler = new RecordingHandler();
+    private BankingEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        handler.release.countDown();
+        dispatcher.stop();
+    }
+
+    @Test
+    void events_shouldBeHandledInOrderPerAccount() throws Exception {
+        handler.release.countDown();
+        dispatcher = start(4, 100, OverflowPolicy.BLOCK);
+        List<AccountId> accounts = List.of(AccountId.generate(), AccountId.generate(), AccountId.generate());
+
+        for (long sequence = 1; sequence <= 300; sequence++) {
+            dispatcher.onDeposit(deposit(accounts.get((int) (sequence % 3)), sequence));
+        }
+
+        handler.awaitHandled(300);
+        for (AccountId accountId : accounts) {
+            List<Long> sequences = handler.sequences.get(accountId);
+            assertEquals(100, sequences.size());
+            for (int i = 1; i < sequences.size(); i++) {
+                assertTrue(sequences.get(i) > sequences.get(i - 1));
+            }
+        }
+    }
+
+    @Test
+    void spill_shouldKeepOrderWhenQueueOverflows() throws Exception {
+        dispatcher = start(1, 2, OverflowPolicy.SPILL);
+        AccountId accountId = AccountId.generate();
+
+        for (long sequence = 1; sequence <= 50; sequence++) {
+            dispatcher.onDeposit(deposit(accountId, sequence));
+        }
+        assertTrue(meterRegistry.get("banking.events.spilled").counter().count() > 0);
+        handler.release.countDown();
+
+        handler.awaitHandled(50);
+        assertEquals(50, handler.sequences.get(accountId).size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i + 1, handler.sequences.get(accountId).get(i));
+        }
+    }
+
+    @Test
+    void block_shouldSpillOnceTheWaitForSpaceTimesOut() throws Exception {
+        dispatcher = start(1, 2, OverflowPolicy.BLOCK, Duration.ofMillis(20), Duration.ofSeconds(5));
+        AccountId accountId = AccountId.generate();
+
+        // The handler is held, so only the first events fit; the rest must not hold up the caller
+        for (long sequence = 1; sequence <= 10; sequence++) {
+            dispatcher.onDeposit(deposit(accountId, sequence));
+        }
+        assertTrue(meterRegistry.get("banking.events.spilled").counter().count() > 0);
+        handler.release.countDown();
+
+        handler.awaitHandled(10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, handler.sequences.get(accountId).get(i));
+        }
+    }
+
+    @Test
+    void stop_shouldKeepUnhandledEventsForTheNextStart() throws Exception {
+        dispatcher = start(1, 2, OverflowPolicy.SPILL, Duration.ofSeconds(5), Duration.ofMillis(100));
+        AccountId accountId = AccountId.generate();
+        for (long sequence = 1; sequence <= 20; sequence++) {
+            dispatcher.onDeposit(deposit(accountId, sequence));
+        }
+
+        // The held handler overruns the shutdown timeout with events queued and spilled
+        dispatcher.stop();
+        int handledBeforeStop = handler.sequences.get(accountId).size();
+        assertTrue(handledBeforeStop < 20);
+
+        handler.release.countDown();
+        dispatcher = start(1, 2, OverflowPolicy.SPILL);
+        handler.awaitHandled(20);
+        List<Long> sequences = handler.sequences.get(accountId);
+        assertEquals(20, sequences.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + 1, sequences.get(i));
+        }
+    }
+
+    @Test
+    void drop_shouldDiscardAndCountEventsThatDoNotFit() throws Exception {
+        dispatcher = start(1, 2, OverflowPolicy.DROP);
+        AccountId accountId = AccountId.generate();
+
+        for (long sequence = 1; sequence <= 10; sequence++) {
+            dispatcher.onDeposit(deposit(accountId, sequence));
+        }
+
+        double dropped = meterRegistry.get("banking.events.dropped").counter().count();
+        assertTrue(dropped >= 7);
+        handler.release.countDown();
+        handler.awaitHandled(10 - (int) dropped);
+    }
+
+    private BankingEventDispatcher start(int workers, int capacity, OverflowPolicy policy) throws Exception {
+        return start(workers, capacity, policy, Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
+    private BankingEventDispatcher start(int workers, int capacity, OverflowPolicy policy,
+                                         Duration blockTimeout, Duration shutdownTimeout) throws Exception {
+        BankingEventDispatcher started = new BankingEventDispatcher(handler, meterRegistry, workers, capacity,
+            policy, spillDirectory, blockTimeout, shutdownTimeout);
+        started.start();
+        return started;
+    }
+
+    private DepositMadeEvent deposit(AccountId accountId, long sequence) {
+        return new DepositMadeEvent(accountId, Amount.parse("1.00"), Amount.parse("1.00"), sequence);
+    }
+
+    private static class RecordingHandler extends BankingEventHandler {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final Map<AccountId, List<Long>> sequences = new ConcurrentHashMap<>();
+        private int count;
+
+        RecordingHandler() {
+            super(mock(WithdrawalVelocityDetector.class));
+        }
+
+        @Override
+        public void handleDeposit(DepositMadeEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sequences.computeIfAbsent(event.getAccountId(), id -> new CopyOnWriteArrayList<>())
+                .add(event.getTransactionSequence());
+            synchronized (this) {
+                count++;
+                notifyAll();
+            }
+        }
+
+        synchronized void awaitHandled(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count < expected) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                assertTrue(remaining > 0, "Timed out after " + count + " of " + expected + " events");
+                wait(remaining);
+            }
+        }
+    }
+}
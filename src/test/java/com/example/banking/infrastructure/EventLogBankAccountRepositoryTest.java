@@ -0,0 +1,209 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.AccountStatus;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogBankAccountRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private EventLogBankAccountRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void save_shouldMakeAccountLoadableWithItsState() {
+        BankAccount account = newAccount("EL-1");
+        account.deposit(Amount.parse("250.00"), "Salary");
+        repository.save(account);
+
+        BankAccount loaded = repository.findByAccountNumber("EL-1").orElseThrow();
+
+        assertEquals(account.getId(), loaded.getId());
+        assertEquals(Amount.parse("1250.00"), loaded.getBalance());
+        assertEquals(account.getVersion(), loaded.getPersistedVersion());
+        assertEquals(2, repository.findTransactionHistory(account.getId()).size());
+    }
+
+    @Test
+    void save_shouldRejectWriteBasedOnStaleVersion() {
+        BankAccount account = newAccount("EL-2");
+        repository.save(account);
+
+        BankAccount first = repository.findById(account.getId()).orElseThrow();
+        BankAccount second = repository.findById(account.getId()).orElseThrow();
+        first.deposit(Amount.parse("10.00"), "First");
+        repository.save(first);
+        second.deposit(Amount.parse("20.00"), "Second");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(second));
+    }
+
+    @Test
+    void saveAll_shouldWriteEveryAccountOrNoneOfThem() throws IOException {
+        BankAccount source = newAccount("EL-7");
+        BankAccount target = newAccount("EL-8");
+        repository.saveAll(List.of(source, target));
+
+        BankAccount staleTarget = repository.findById(target.getId()).orElseThrow();
+        target.deposit(Amount.parse("1.00"), "Moves the version on");
+        repository.save(target);
+
+        source.withdraw(Amount.parse("50.00"), "Transfer");
+        staleTarget.deposit(Amount.parse("50.00"), "Transfer");
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> repository.saveAll(List.of(source, staleTarget)));
+        assertEquals(Amount.parse("1000.00"), repository.findById(source.getId()).orElseThrow().getBalance());
+
+        BankAccount freshTarget = repository.findById(target.getId()).orElseThrow();
+        freshTarget.deposit(Amount.parse("50.00"), "Transfer");
+        repository.saveAll(List.of(source, freshTarget));
+
+        EventLogBankAccountRepository reopened = open();
+        try {
+            assertEquals(Amount.parse("950.00"), reopened.findById(source.getId()).orElseThrow().getBalance());
+            assertEquals(Amount.parse("1051.00"), reopened.findById(target.getId()).orElseThrow().getBalance());
+            assertEquals(2, reopened.findTransactionHistory(source.getId()).size());
+            assertEquals(3, reopened.findTransactionHistory(target.getId()).size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void open_shouldRecoverStateFromLogAlone() throws IOException {
+        BankAccount account = newAccount("EL-3");
+        account.withdraw(Amount.parse("100.00"), "Rent");
+        repository.save(account);
+        account.freeze();
+        repository.save(account);
+
+        // Reopen without a snapshot, so everything comes from replaying the log
+        EventLogBankAccountRepository reopened = open();
+        try {
+            BankAccount loaded = reopened.findById(account.getId()).orElseThrow();
+            assertEquals(Amount.parse("900.00"), loaded.getBalance());
+            assertEquals(AccountStatus.FROZEN, loaded.getStatus());
+            assertEquals(account.getPersistedVersion(), loaded.getPersistedVersion());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void open_shouldRecoverFromSnapshotPlusLaterRecords() throws IOException {
+        BankAccount account = newAccount("EL-4");
+        repository.save(account);
+        repository.writeSnapshot();
+        account.deposit(Amount.parse("5.00"), "After snapshot");
+        repository.save(account);
+
+        EventLogBankAccountRepository reopened = open();
+        try {
+            assertEquals(Amount.parse("1005.00"), reopened.findById(account.getId()).orElseThrow().getBalance());
+            List<Transaction> history = reopened.findTransactionHistory(account.getId());
+            assertEquals(List.of(1L, 2L), history.stream().map(Transaction::getSequence).toList());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void save_shouldRollOverToNewSegmentsWhenFull() throws IOException {
+        repository.close();
+        repository = new EventLogBankAccountRepository(directory, DataSize.ofBytes(512), false,
+                Duration.ZERO, new SimpleMeterRegistry());
+        repository.open();
+
+        BankAccount account = newAccount("EL-5");
+        repository.save(account);
+        for (int i = 0; i < 20; i++) {
+            account.deposit(Amount.parse("1.00"), "Deposit " + i);
+            repository.save(account);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.getFileName().toString().startsWith("segment-")).count() > 1);
+        }
+        assertEquals(21, repository.findTransactionHistory(account.getId()).size());
+        assertEquals(Amount.parse("1020.00"), repository.findById(account.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void findTransactionHistory_shouldReadWhileAppendsAddSegments() throws Exception {
+        repository.close();
+        repository = new EventLogBankAccountRepository(directory, DataSize.ofBytes(512), false,
+                Duration.ZERO, new SimpleMeterRegistry());
+        repository.open();
+        BankAccount account = newAccount("EL-6");
+        repository.save(account);
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reads = reader.submit(() -> {
+                int count = 0;
+                while (writing.get()) {
+                    assertFalse(repository.findTransactionHistory(account.getId()).isEmpty());
+                    count++;
+                }
+                return count;
+            });
+            for (int i = 0; i < 200; i++) {
+                account.deposit(Amount.parse("1.00"), "Deposit " + i);
+                repository.save(account);
+            }
+            writing.set(false);
+            assertTrue(reads.get(10, TimeUnit.SECONDS) > 0);
+        } finally {
+            writing.set(false);
+            reader.shutdownNow();
+        }
+        assertEquals(201, repository.findTransactionHistory(account.getId()).size());
+    }
+
+    private EventLogBankAccountRepository open() throws IOException {
+        EventLogBankAccountRepository opened = new EventLogBankAccountRepository(directory,
+                DataSize.ofMegabytes(1), false, Duration.ZERO, new SimpleMeterRegistry());
+        opened.open();
+        return opened;
+    }
+
+    private BankAccount newAccount(String accountNumber) {
+        return new BankAccount(AccountId.generate(), accountNumber, "Jane Doe",
+                Amount.parse("1000.00"), Amount.parse("2000.00"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.banking.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryPositionsTest {
+
+    @Test
+    void append_shouldKeepEveryPositionAcrossChunks() {
+        HistoryPositions positions = new HistoryPositions();
+        int size = 0;
+        for (long position = 0; position < 1000; position++) {
+            size = positions.append(position * 10);
+        }
+
+        assertEquals(1000, size);
+        assertArrayEquals(LongStream.range(0, 1000).map(position -> position * 10).toArray(),
+                positions.stream(size).toArray());
+    }
+
+    @Test
+    void stream_shouldOnlySeePositionsUpToTheGivenSize() {
+        HistoryPositions positions = new HistoryPositions();
+        int earlier = 0;
+        for (long position = 0; position < 300; position++) {
+            earlier = positions.append(position);
+        }
+        for (long position = 300; position < 600; position++) {
+            positions.append(position);
+        }
+
+        assertArrayEquals(LongStream.range(0, 300).toArray(), positions.stream(earlier).toArray());
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.banking.infrastructure;
 
 import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
 import com.example.banking.domain.BankAccount;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -22,49 +25,143 @@ class JpaBankAccountRepositoryTest {
     @Mock
     private SpringDataBankAccountRepository springDataRepository;
     
+    @Mock
+    private SpringDataTransactionRepository transactionRepository;
+    
     @Mock
     private BankAccountMapper bankAccountMapper;
     
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private TransactionArchive archive;
+    
     private JpaBankAccountRepository repository;
 
     @BeforeEach
     void setUp() {
-        repository = new JpaBankAccountRepository(springDataRepository, bankAccountMapper);
+        repository = new JpaBankAccountRepository(springDataRepository, transactionRepository, bankAccountMapper, entityManager, archive);
     }
 
     @Test
-    void save_shouldMapAndSaveAccountWithTransactions() {
+    void save_shouldPersistNewAccountWithTransactions() {
         BankAccount account = new BankAccount(
             AccountId.generate(),
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         BankAccountEntity mockEntity = new BankAccountEntity(
             account.getId().value(),
             account.getAccountNumber(),
             account.getAccountHolderName(),
-            account.getBalance(),
+            account.getBalance().toBigDecimal(),
             account.getStatus(),
-            account.getDailyWithdrawalLimit(),
-            account.getTotalWithdrawnToday(),
+            account.getDailyWithdrawalLimit().toBigDecimal(),
+            account.getTotalWithdrawnToday().toBigDecimal(),
             account.getCreatedAt(),
             account.getLastModified(),
             account.getVersion()
         );
         
+        when(springDataRepository.findById(account.getId().value())).thenReturn(Optional.empty());
         when(bankAccountMapper.toEntity(account)).thenReturn(mockEntity);
 
         repository.save(account);
 
         ArgumentCaptor<BankAccountEntity> entityCaptor = ArgumentCaptor.forClass(BankAccountEntity.class);
-        verify(springDataRepository).save(entityCaptor.capture());
+        verify(entityManager).persist(entityCaptor.capture());
         verify(bankAccountMapper).toEntity(account);
+        verify(springDataRepository, never()).save(any());
+        
+        verify(entityManager).flush();
         
         BankAccountEntity savedEntity = entityCaptor.getValue();
         assertEquals(mockEntity, savedEntity);
+        assertTrue(account.getPendingTransactions().isEmpty());
+        assertEquals(mockEntity.getVersion(), account.getPersistedVersion());
+    }
+
+    @Test
+    void save_shouldOnlyAppendNewTransactionsForExistingAccount() {
+        BankAccount account = new BankAccount(
+            AccountId.generate(),
+            "12345",
+            "John Doe",
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
+        );
+        account.markPersisted(1L);
+        account.deposit(Amount.parse("50.00"), "Deposit");
+        
+        BankAccountEntity managedEntity = new BankAccountEntity(
+            account.getId().value(),
+            account.getAccountNumber(),
+            account.getAccountHolderName(),
+            new BigDecimal("1000.00"),
+            account.getStatus(),
+            account.getDailyWithdrawalLimit().toBigDecimal(),
+            account.getTotalWithdrawnToday().toBigDecimal(),
+            account.getCreatedAt(),
+            account.getLastModified(),
+            1L
+        );
+        TransactionEntity newTransaction = new TransactionEntity(
+            "tx-2", 2L, com.example.banking.domain.TransactionType.DEPOSIT,
+            new BigDecimal("50.00"), "Deposit", new BigDecimal("1050.00"),
+            java.time.LocalDateTime.now(), null
+        );
+        
+        when(springDataRepository.findById(account.getId().value())).thenReturn(Optional.of(managedEntity));
+        when(bankAccountMapper.transactionsToEntities(account.getPendingTransactions()))
+            .thenReturn(java.util.List.of(newTransaction));
+
+        repository.save(account);
+
+        verify(bankAccountMapper).updateEntity(account, managedEntity);
+        verify(entityManager).persist(newTransaction);
+        verify(entityManager, times(1)).persist(any());
+        verify(bankAccountMapper, never()).toEntity(any());
+        assertSame(managedEntity, newTransaction.getAccount());
+        verify(entityManager).flush();
+        assertTrue(account.getPendingTransactions().isEmpty());
+    }
+
+    @Test
+    void save_shouldRejectAccountLoadedAtStaleVersion() {
+        BankAccount account = new BankAccount(
+            AccountId.generate(),
+            "12345",
+            "John Doe",
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
+        );
+        account.markPersisted(1L);
+        account.deposit(Amount.parse("50.00"), "Deposit");
+        
+        BankAccountEntity concurrentlyUpdated = new BankAccountEntity(
+            account.getId().value(),
+            account.getAccountNumber(),
+            account.getAccountHolderName(),
+            new BigDecimal("1100.00"),
+            account.getStatus(),
+            account.getDailyWithdrawalLimit().toBigDecimal(),
+            account.getTotalWithdrawnToday().toBigDecimal(),
+            account.getCreatedAt(),
+            account.getLastModified(),
+            2L
+        );
+        
+        when(springDataRepository.findById(account.getId().value())).thenReturn(Optional.of(concurrentlyUpdated));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(account));
+
+        verify(bankAccountMapper, never()).updateEntity(any(), any());
+        verifyNoInteractions(entityManager);
+        assertEquals(1, account.getPendingTransactions().size());
     }
 
     @Test
@@ -87,19 +184,23 @@ class JpaBankAccountRepositoryTest {
             accountId,
             "12345",
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         when(springDataRepository.findById(accountId.value())).thenReturn(Optional.of(mockEntity));
-        when(bankAccountMapper.toDomainWithReconstruction(mockEntity)).thenReturn(mockAccount);
+        when(transactionRepository.findByAccountIdAndSequenceBetweenOrderBySequenceAsc(accountId.value(), 1L, 0L))
+            .thenReturn(java.util.List.of());
+        when(bankAccountMapper.toDomainWithReconstruction(mockEntity, java.util.List.of())).thenReturn(mockAccount);
 
         Optional<BankAccount> result = repository.findById(accountId);
 
         assertTrue(result.isPresent());
         assertEquals(mockAccount, result.get());
         verify(springDataRepository).findById(accountId.value());
-        verify(bankAccountMapper).toDomainWithReconstruction(mockEntity);
+        verify(transactionRepository).findByAccountIdAndSequenceBetweenOrderBySequenceAsc(accountId.value(), 1L, 0L);
+        verify(transactionRepository, never()).findByAccountIdOrderBySequenceAsc(any());
+        verify(bankAccountMapper).toDomainWithReconstruction(mockEntity, java.util.List.of());
     }
 
     @Test
@@ -113,6 +214,7 @@ class JpaBankAccountRepositoryTest {
         assertFalse(result.isPresent());
         verify(springDataRepository).findById(accountId.value());
         verifyNoInteractions(bankAccountMapper);
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
@@ -135,18 +237,20 @@ class JpaBankAccountRepositoryTest {
             AccountId.of(mockEntity.getId()),
             accountNumber,
             "John Doe",
-            new BigDecimal("1000.00"),
-            new BigDecimal("2000.00")
+            Amount.parse("1000.00"),
+            Amount.parse("2000.00")
         );
         
         when(springDataRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(mockEntity));
-        when(bankAccountMapper.toDomainWithReconstruction(mockEntity)).thenReturn(mockAccount);
+        when(transactionRepository.findByAccountIdAndSequenceBetweenOrderBySequenceAsc(mockEntity.getId(), 1L, 0L))
+            .thenReturn(java.util.List.of());
+        when(bankAccountMapper.toDomainWithReconstruction(mockEntity, java.util.List.of())).thenReturn(mockAccount);
 
         Optional<BankAccount> result = repository.findByAccountNumber(accountNumber);
 
         assertTrue(result.isPresent());
         assertEquals(mockAccount, result.get());
         verify(springDataRepository).findByAccountNumber(accountNumber);
-        verify(bankAccountMapper).toDomainWithReconstruction(mockEntity);
+        verify(bankAccountMapper).toDomainWithReconstruction(mockEntity, java.util.List.of());
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerChainTest {
+
+    @Test
+    void consistentChain_shouldHaveNoDiscrepancies() {
+        LedgerChain chain = new LedgerChain("acc-1", 10, new BigDecimal("500.00"), 11, new BigDecimal("600.00"));
+
+        chain.accept(11, TransactionType.DEPOSIT, new BigDecimal("100.00"), new BigDecimal("600.00"));
+        chain.accept(12, TransactionType.WITHDRAWAL, new BigDecimal("50.00"), new BigDecimal("550.00"));
+        chain.finish(new BigDecimal("550.00"), 12);
+
+        assertTrue(chain.isConsistent());
+    }
+
+    @Test
+    void brokenChain_shouldReportEachProblemOnce() {
+        LedgerChain chain = new LedgerChain("acc-1", 0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+
+        chain.accept(1, TransactionType.DEPOSIT, new BigDecimal("100.00"), new BigDecimal("100.00"));
+        chain.accept(2, TransactionType.DEPOSIT, new BigDecimal("10.00"), new BigDecimal("120.00"));
+        chain.accept(3, TransactionType.WITHDRAWAL, new BigDecimal("20.00"), new BigDecimal("100.00"));
+        chain.accept(5, TransactionType.DEPOSIT, new BigDecimal("5.00"), new BigDecimal("105.00"));
+        chain.finish(new BigDecimal("110.00"), 6);
+
+        List<LedgerDiscrepancy> found = chain.discrepancies();
+        assertEquals(4, chain.discrepancyCount());
+        assertEquals(new LedgerDiscrepancy("acc-1", 2L, LedgerDiscrepancy.Kind.BALANCE_CHAIN, "110.00", "120.00"),
+            found.get(0));
+        assertEquals(LedgerDiscrepancy.Kind.SEQUENCE_GAP, found.get(1).kind());
+        assertEquals(LedgerDiscrepancy.Kind.ACCOUNT_SEQUENCE, found.get(2).kind());
+        assertEquals(new LedgerDiscrepancy("acc-1", null, LedgerDiscrepancy.Kind.ACCOUNT_BALANCE, "105.00", "110.00"),
+            found.get(3));
+    }
+}
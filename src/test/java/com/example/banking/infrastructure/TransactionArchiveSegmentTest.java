@@ -0,0 +1,72 @@
+package com.example.banking.infrastructure;
+
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.Transaction;
+import com.example.banking.domain.TransactionId;
+import com.example.banking.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionArchiveSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Test
+    void read_shouldReturnEverythingWrittenInOrder() throws IOException {
+        List<Transaction> transactions = transactions(50);
+        Path segment = directory.resolve("2024-03.seg");
+
+        TransactionArchiveSegment.write(segment, transactions, 8);
+
+        List<Transaction> read = TransactionArchiveSegment.read(segment, null, null);
+        assertEquals(50, read.size());
+        assertEquals(transactions.get(49).getId(), read.get(49).getId());
+        assertEquals(Amount.parse("1050.00"), read.get(49).getBalanceAfter());
+    }
+
+    @Test
+    void read_shouldOnlyReturnTransactionsWithinRange() throws IOException {
+        Path segment = directory.resolve("2024-03.seg");
+        TransactionArchiveSegment.write(segment, transactions(50), 8);
+
+        List<Transaction> read = TransactionArchiveSegment.read(segment, start.plusHours(10), start.plusHours(20));
+
+        assertEquals(List.of(11L, 20L), List.of(read.get(0).getSequence(), read.get(read.size() - 1).getSequence()));
+        assertEquals(10, read.size());
+    }
+
+    @Test
+    void read_shouldFindTransactionsWhoseTimestampsAreOutOfSequenceOrder() throws IOException {
+        List<Transaction> transactions = new ArrayList<>(transactions(16));
+        // A settled shard deposit: the last sequence, accepted before everything else in its block
+        transactions.set(15, Transaction.reconstruct(TransactionId.generate(), 16, TransactionType.DEPOSIT,
+            Amount.parse("1.00"), "Settled", Amount.parse("1016.00"), start.minusMinutes(1)));
+        Path segment = directory.resolve("2024-03.seg");
+        TransactionArchiveSegment.write(segment, transactions, 8);
+
+        List<Transaction> read = TransactionArchiveSegment.read(segment, start.minusMinutes(1), start);
+
+        assertEquals(List.of(16L), read.stream().map(Transaction::getSequence).toList());
+    }
+
+    private List<Transaction> transactions(int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            transactions.add(Transaction.reconstruct(TransactionId.generate(), i, TransactionType.DEPOSIT,
+                Amount.parse("1.00"), "Deposit " + i, Amount.ofMinorUnits(1000_00 + i * 100L),
+                start.plusHours(i - 1)));
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.integration;
+
+import com.example.banking.application.AccountBalanceCache;
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.AccountStatus;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.shared.domain.BusinessRuleViolationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "banking.lanes.enabled=true",
+    "banking.lanes.workers=2"
+})
+@ActiveProfiles("test")
+class AccountLanesIntegrationTest {
+
+    @Autowired
+    private BankAccountApplicationService accountService;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceCache balanceCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentDeposits_shouldRunThroughTheLanes() throws Exception {
+        AccountId accountId = accountService.openAccount("ACC-" + UUID.randomUUID(), "Lane Holder",
+                new BigDecimal("100.00"), new BigDecimal("1000.00"));
+        long batchesBefore = meterRegistry.summary("banking.lanes.batch.size").count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                results.add(executor.submit(() ->
+                        accountService.deposit(accountId, new BigDecimal("5.00"), "Card payment")));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BankAccount account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(Amount.parse("300.00"), account.getBalance());
+        assertEquals(41, account.getLastTransactionSequence());
+        assertEquals(new BigDecimal("300.00"), balanceCache.getBalance(accountId).orElseThrow().balance());
+        assertTrue(meterRegistry.summary("banking.lanes.batch.size").count() > batchesBefore);
+    }
+
+    @Test
+    void rejectedWithdrawal_shouldReachTheCallerAndLeaveTheLaneUsable() {
+        AccountId accountId = accountService.openAccount("ACC-" + UUID.randomUUID(), "Lane Holder",
+                new BigDecimal("100.00"), new BigDecimal("1000.00"));
+
+        assertThrows(BusinessRuleViolationException.class,
+                () -> accountService.withdraw(accountId, new BigDecimal("500.00"), "Overdraft"));
+        assertThrows(IllegalArgumentException.class,
+                () -> accountService.withdraw(AccountId.generate(), new BigDecimal("10.00"), "Unknown"));
+
+        accountService.withdraw(accountId, new BigDecimal("40.00"), "ATM");
+        accountService.freezeAccount(accountId);
+
+        BankAccount account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(Amount.parse("60.00"), account.getBalance());
+        assertEquals(AccountStatus.FROZEN, account.getStatus());
+    }
+}
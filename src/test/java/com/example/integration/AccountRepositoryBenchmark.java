@@ -0,0 +1,207 @@
+package com.example.integration;
+
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.application.OptimisticLockRetryPolicy;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.infrastructure.EventLogBankAccountRepository;
+import com.example.shared.domain.DomainEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deposit throughput and recovery time of the JPA repository against the event log.
+ * Both run the same {@link BankAccountApplicationService} with the application's transaction
+ * manager, as they would when deployed. Opt-in, as the numbers only mean something on an
+ * otherwise idle machine: {@code mvn test -Dtest=AccountRepositoryBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "banking.retry.max-attempts=1000",
+    "banking.retry.initial-backoff=1ms",
+    "banking.retry.max-backoff=5ms",
+    "logging.level.com.example=INFO",
+    // Lost version races are retried; their batch errors would drown the results
+    "logging.level.org.hibernate.orm.jdbc.batch=OFF",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AccountRepositoryBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(AccountRepositoryBenchmark.class);
+    private static final int ACCOUNTS = 64;
+    private static final int THREADS = 8;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    @Autowired
+    private BankAccountApplicationService jpaAccountService;
+
+    @Autowired
+    private BankAccountRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compareDepositThroughputAndRecovery() throws Exception {
+        List<AccountId> jpaAccounts = openAccounts(jpaAccountService);
+        run(jpaAccountService, jpaAccounts, WARMUP_MILLIS);
+        long jpaDeposits = run(jpaAccountService, jpaAccounts, MEASURE_MILLIS);
+
+        long started = System.nanoTime();
+        int jpaLoaded = loadEveryAccount(jpaRepository);
+        long jpaColdReadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        EventLogBankAccountRepository eventLog = openEventLog();
+        long eventLogDeposits;
+        List<AccountId> eventLogAccounts;
+        Amount eventLogTotal;
+        try {
+            BankAccountApplicationService eventLogService = new BankAccountApplicationService(eventLog,
+                    eventPublisher, new OptimisticLockRetryPolicy(transactionManager, new SimpleMeterRegistry(),
+                    1000, Duration.ofMillis(1), Duration.ofMillis(5)), Optional.empty(), Optional.empty(), 200);
+            eventLogAccounts = openAccounts(eventLogService);
+            run(eventLogService, eventLogAccounts, WARMUP_MILLIS);
+            eventLogDeposits = run(eventLogService, eventLogAccounts, MEASURE_MILLIS);
+            eventLogTotal = totalBalance(eventLog, eventLogAccounts);
+        } finally {
+            // Writes a snapshot
+            eventLog.close();
+        }
+
+        started = System.nanoTime();
+        EventLogBankAccountRepository fromSnapshot = openEventLog();
+        long snapshotRecoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        fromSnapshot.close();
+
+        deleteSnapshots();
+        started = System.nanoTime();
+        EventLogBankAccountRepository fromLog = openEventLog();
+        long logRecoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        try {
+            assertEquals(eventLogTotal, totalBalance(fromLog, eventLogAccounts));
+        } finally {
+            fromLog.close();
+        }
+
+        logger.info("{} accounts, {} threads: JPA {} deposits/s, event log {} deposits/s",
+                ACCOUNTS, THREADS, perSecond(jpaDeposits), perSecond(eventLogDeposits));
+        logger.info("Recovery: event log {} ms from snapshot, {} ms replaying the whole log; "
+                + "JPA has nothing to replay and reads all {} accounts cold in {} ms",
+                snapshotRecoveryMillis, logRecoveryMillis, jpaLoaded, jpaColdReadMillis);
+        assertTrue(jpaDeposits > 0 && eventLogDeposits > 0);
+    }
+
+    private List<AccountId> openAccounts(BankAccountApplicationService accountService) {
+        List<AccountId> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.openAccount("ACC-" + UUID.randomUUID(), "Benchmark",
+                    new BigDecimal("100.00"), new BigDecimal("1000.00")));
+        }
+        return accountIds;
+    }
+
+    private long run(BankAccountApplicationService accountService, List<AccountId> accountIds, long millis)
+            throws Exception {
+        long deadline = System.currentTimeMillis() + millis;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long deposits = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        AccountId accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+                        accountService.deposit(accountId, new BigDecimal("1.00"), "Benchmark deposit");
+                        deposits++;
+                    }
+                    return deposits;
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int loadEveryAccount(BankAccountRepository repository) {
+        int loaded = 0;
+        String after = null;
+        List<BankAccount> page;
+        do {
+            page = repository.findInIdRange(after, null, 500);
+            loaded += page.size();
+            after = page.isEmpty() ? null : page.get(page.size() - 1).getId().value();
+        } while (!page.isEmpty());
+        return loaded;
+    }
+
+    private static Amount totalBalance(BankAccountRepository repository, List<AccountId> accountIds) {
+        return accountIds.stream()
+                .map(accountId -> repository.findById(accountId).orElseThrow().getBalance())
+                .reduce(Amount.ZERO, Amount::plus);
+    }
+
+    private EventLogBankAccountRepository openEventLog() throws IOException {
+        EventLogBankAccountRepository repository = new EventLogBankAccountRepository(directory,
+                DataSize.ofMegabytes(64), false, Duration.ZERO, new SimpleMeterRegistry());
+        repository.open();
+        return repository;
+    }
+
+    private void deleteSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static long perSecond(long deposits) {
+        return Math.round(deposits * 1000.0 / MEASURE_MILLIS);
+    }
+}
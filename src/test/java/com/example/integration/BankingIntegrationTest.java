@@ -0,0 +1,340 @@
+package com.example.integration;
+
+import com.example.banking.application.AccountBalanceCache;
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.application.BatchEntry;
+import com.example.banking.application.BatchEntryResult;
+import com.example.banking.application.InterestAccrualBatch;
+import com.example.banking.application.InterestAccrualReport;
+import com.example.banking.application.TransactionHistoryFilter;
+import com.example.banking.application.TransactionHistoryQueryService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.AccountStatus;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.domain.Transaction;
+import com.example.banking.domain.TransactionType;
+import com.example.banking.infrastructure.LedgerReconciliationJob;
+import com.example.banking.infrastructure.TransactionArchiver;
+import com.example.banking.query.AccountBalanceView;
+import com.example.banking.query.TransactionHistoryPage;
+import com.example.banking.query.TransactionView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "banking.retry.max-attempts=100")
+@ActiveProfiles("test")
+class BankingIntegrationTest {
+
+    @Autowired
+    private BankAccountApplicationService accountService;
+    
+    @Autowired
+    private BankAccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionHistoryQueryService historyQueryService;
+
+    @Autowired
+    private AccountBalanceCache balanceCache;
+
+    @Autowired
+    private TransactionArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InterestAccrualBatch interestAccrualBatch;
+
+    @Autowired
+    private LedgerReconciliationJob reconciliationJob;
+
+    @Test
+    void concurrentDeposits_shouldAllBeAppliedWithoutLostUpdates() throws Exception {
+        AccountId accountId = openAccount("1000.00");
+        int deposits = 40;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < deposits; i++) {
+                results.add(executor.submit(() -> 
+                    accountService.deposit(accountId, new BigDecimal("1.00"), "Concurrent deposit")));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BankAccount account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(Amount.parse("1040.00"), account.getBalance());
+        assertEquals(deposits + 1, accountService.getTransactionHistory(accountId).size());
+    }
+
+    @Test
+    void save_shouldRejectWriteBasedOnStaleRead() {
+        AccountId accountId = openAccount("1000.00");
+        BankAccount staleCopy = accountRepository.findById(accountId).orElseThrow();
+
+        accountService.withdraw(accountId, new BigDecimal("100.00"), "Concurrent withdrawal");
+
+        staleCopy.withdraw(Amount.parse("100.00"), "Lost update");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> 
+            transactionTemplate.executeWithoutResult(status -> accountRepository.save(staleCopy)));
+
+        BankAccount account = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(Amount.parse("900.00"), account.getBalance());
+    }
+
+    @Test
+    void depositBatch_shouldPersistAllAppliedEntries() {
+        AccountId firstId = openAccount("100.00");
+        AccountId secondId = openAccount("200.00");
+        List<BatchEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            entries.add(new BatchEntry(i % 2 == 0 ? firstId : secondId, new BigDecimal("10.00"), "Payroll " + i));
+        }
+        entries.add(new BatchEntry(firstId, new BigDecimal("0.00"), "Invalid amount"));
+
+        List<BatchEntryResult> results = accountService.depositBatch(entries);
+
+        assertEquals(30, results.stream().filter(BatchEntryResult::isApplied).count());
+        assertEquals(BatchEntryResult.Outcome.REJECTED, results.get(30).outcome());
+        assertEquals(Amount.parse("250.00"), accountRepository.findById(firstId).orElseThrow().getBalance());
+        assertEquals(Amount.parse("350.00"), accountRepository.findById(secondId).orElseThrow().getBalance());
+        assertEquals(16, accountService.getTransactionHistory(firstId).size());
+    }
+
+    @Test
+    void opposingTransfers_shouldConserveFundsWithoutDeadlock() throws Exception {
+        List<AccountId> accounts = List.of(openAccount("1000.00"), openAccount("1000.00"), openAccount("1000.00"));
+        int transfers = 30;
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < transfers; i++) {
+                // Alternate direction every round so transfers between the same pair oppose each other
+                int offset = (i / 3) % 2 + 1;
+                AccountId source = accounts.get(i % 3);
+                AccountId target = accounts.get((i + offset) % 3);
+                results.add(executor.submit(() ->
+                    accountService.transfer(source, target, new BigDecimal("5.00"), "Hot transfer")));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Amount total = accounts.stream()
+            .map(id -> accountRepository.findById(id).orElseThrow().getBalance())
+            .reduce(Amount.ZERO, Amount::plus);
+        assertEquals(Amount.parse("3000.00"), total);
+        int movements = accounts.stream().mapToInt(id -> accountService.getTransactionHistory(id).size() - 1).sum();
+        assertEquals(transfers * 2, movements);
+    }
+
+    @Test
+    void transactionHistory_shouldPageThroughEveryRowOnceNewestFirst() {
+        AccountId accountId = openAccount("1000.00");
+        for (int i = 0; i < 12; i++) {
+            accountService.deposit(accountId, new BigDecimal("1.00"), "Deposit " + i);
+            accountService.withdraw(accountId, new BigDecimal("1.00"), "Withdrawal " + i);
+        }
+
+        List<TransactionView> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionHistoryPage page = historyQueryService.getHistory(
+                accountId, TransactionHistoryFilter.none(), cursor, 5);
+            seen.addAll(page.transactions());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        Set<String> ids = new HashSet<>();
+        seen.forEach(view -> ids.add(view.transactionId()));
+        assertEquals(25, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).timestamp().isAfter(seen.get(i - 1).timestamp()));
+        }
+
+        TransactionHistoryPage withdrawals = historyQueryService.getHistory(accountId,
+            new TransactionHistoryFilter(TransactionType.WITHDRAWAL, null, null), null, 50);
+        assertEquals(12, withdrawals.transactions().size());
+        assertNull(withdrawals.nextCursor());
+    }
+
+    @Test
+    void statement_shouldStreamLinesOldestFirstWithinPeriod() {
+        LocalDateTime start = LocalDateTime.now();
+        AccountId accountId = openAccount("1000.00");
+        for (int i = 0; i < 10; i++) {
+            accountService.deposit(accountId, new BigDecimal("2.00"), "Deposit " + i);
+        }
+
+        List<TransactionView> lines = new ArrayList<>();
+        long count = historyQueryService.streamStatement(accountId, start, LocalDateTime.now().plusSeconds(1), lines::add);
+
+        assertEquals(11, count);
+        assertEquals(1L, lines.get(0).sequence());
+        assertEquals(new BigDecimal("1020.00"), lines.get(10).balanceAfter());
+        assertEquals(0, historyQueryService.streamStatement(accountId, start.minusDays(2), start.minusDays(1), lines::add));
+    }
+
+    @Test
+    void balanceCache_shouldFollowCommittedChanges() {
+        AccountId accountId = openAccount("1000.00");
+        assertEquals(new BigDecimal("1000.00"), balanceCache.getBalance(accountId).orElseThrow().balance());
+
+        accountService.deposit(accountId, new BigDecimal("15.00"), "Deposit");
+        accountService.transfer(accountId, openAccount("100.00"), new BigDecimal("5.00"), "Transfer");
+        accountService.freezeAccount(accountId);
+
+        AccountBalanceView cached = balanceCache.getBalance(accountId).orElseThrow();
+        assertEquals(new BigDecimal("1010.00"), cached.balance());
+        assertEquals(AccountStatus.FROZEN, cached.status());
+    }
+
+    @Test
+    void archivedTransactions_shouldStillAppearInHistoryAndStatements() {
+        AccountId accountId = openAccount("1000.00");
+        for (int i = 0; i < 5; i++) {
+            accountService.deposit(accountId, new BigDecimal("10.00"), "Deposit " + i);
+        }
+        // Backdate everything but the latest transaction, which is not yet checkpointed
+        LocalDateTime twoMonthsAgo = LocalDateTime.now().minusMonths(2).withDayOfMonth(1);
+        for (long sequence = 1; sequence < 6; sequence++) {
+            jdbcTemplate.update("update transactions set timestamp = ? where account_id = ? and sequence = ?",
+                twoMonthsAgo.plusMinutes(sequence), accountId.value(), sequence);
+        }
+
+        // Everything before the current month is older than the configured minimum age by then
+        archiver.archive(LocalDateTime.now().plusDays(365));
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "select count(*) from transactions where account_id = ?", Integer.class, accountId.value()));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), accountService.getTransactionHistory(accountId).stream()
+            .map(Transaction::getSequence).toList());
+        List<TransactionView> statement = new ArrayList<>();
+        historyQueryService.streamStatement(accountId, twoMonthsAgo, LocalDateTime.now().plusMinutes(1), statement::add);
+        assertEquals(6, statement.size());
+        TransactionHistoryPage page = historyQueryService.getHistory(accountId, TransactionHistoryFilter.none(), null, 10);
+        assertEquals(6, page.transactions().size());
+
+        accountService.withdraw(accountId, new BigDecimal("50.00"), "After archival");
+        assertEquals(Amount.parse("1000.00"), accountRepository.findById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    void archival_shouldMoveInterleavedMonthsTogetherAndPageBackThroughThem() {
+        AccountId accountId = openAccount("1000.00");
+        for (int i = 0; i < 5; i++) {
+            accountService.deposit(accountId, new BigDecimal("10.00"), "Deposit " + i);
+        }
+        // Sequence 4 was accepted three months ago but settled after sequence 3 of two months ago
+        LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3).withDayOfMonth(1);
+        LocalDateTime twoMonthsAgo = LocalDateTime.now().minusMonths(2).withDayOfMonth(1);
+        List<LocalDateTime> timestamps = List.of(threeMonthsAgo.plusMinutes(1), threeMonthsAgo.plusMinutes(2),
+            twoMonthsAgo.plusMinutes(1), threeMonthsAgo.plusMinutes(3), twoMonthsAgo.plusMinutes(2));
+        for (int i = 0; i < timestamps.size(); i++) {
+            jdbcTemplate.update("update transactions set timestamp = ? where account_id = ? and sequence = ?",
+                timestamps.get(i), accountId.value(), i + 1L);
+        }
+
+        assertEquals(5, archiver.archive(LocalDateTime.now().plusDays(365)));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), accountService.getTransactionHistory(accountId).stream()
+            .map(Transaction::getSequence).toList());
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionHistoryPage page = historyQueryService.getHistory(accountId, TransactionHistoryFilter.none(), cursor, 2);
+            page.transactions().forEach(transaction -> paged.add(transaction.sequence()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals(List.of(6L, 5L, 3L, 4L, 2L, 1L), paged);
+        assertTrue(reconciliationJob.reconcile(LocalDateTime.now().plusSeconds(2)).isClean());
+    }
+
+    @Test
+    void interestAccrual_shouldCreditEveryAccountOncePerRunDate() {
+        List<AccountId> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(openAccount("3650.00"));
+        }
+        LocalDate runDate = LocalDate.of(2023, 1, 31);
+
+        InterestAccrualReport report = interestAccrualBatch.accrue(runDate);
+        interestAccrualBatch.accrue(runDate);
+
+        assertTrue(report.isCompleted());
+        for (AccountId accountId : accounts) {
+            // 1% a year on 3650.00 is 0.10 a day
+            assertEquals(Amount.parse("3650.10"), accountRepository.findById(accountId).orElseThrow().getBalance());
+            List<Transaction> history = accountService.getTransactionHistory(accountId);
+            assertEquals("Interest 2023-01-31", history.get(history.size() - 1).getDescription());
+        }
+    }
+
+    @Test
+    void reconciliation_shouldReportOnlyCorruptedChains() throws Exception {
+        AccountId accountId = openAccount("1000.00");
+        accountService.deposit(accountId, new BigDecimal("25.00"), "Deposit");
+        accountService.withdraw(accountId, new BigDecimal("5.00"), "Withdrawal");
+
+        LedgerReconciliationJob.ReconciliationReport clean = reconciliationJob.reconcile(LocalDateTime.now());
+        assertTrue(clean.isClean());
+        assertTrue(clean.transactionsChecked() >= 3);
+
+        String corrupt = "update transactions set balance_after = ? where account_id = ? and sequence = 2";
+        jdbcTemplate.update(corrupt, new BigDecimal("1030.00"), accountId.value());
+        try {
+            LedgerReconciliationJob.ReconciliationReport report = reconciliationJob.reconcile(LocalDateTime.now().plusSeconds(1));
+
+            assertEquals(1, report.inconsistentAccounts());
+            List<String> lines = Files.readAllLines(report.reportFile());
+            assertTrue(lines.contains(accountId.value() + ",2,BALANCE_CHAIN,1025.00,1030.00"));
+        } finally {
+            jdbcTemplate.update(corrupt, new BigDecimal("1025.00"), accountId.value());
+        }
+    }
+
+    private AccountId openAccount(String initialDeposit) {
+        return accountService.openAccount(
+            "ACC-" + UUID.randomUUID(),
+            "Integration Test",
+            new BigDecimal(initialDeposit),
+            new BigDecimal("5000.00")
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.integration;
+
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.application.HotAccountService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deposit throughput on a single hot account for a growing number of balance shards.
+ * Opt-in, as the numbers only mean something on an otherwise idle machine:
+ * {@code mvn test -Dtest=HotAccountDepositBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "banking.hot-accounts.enabled=true",
+    "banking.hot-accounts.settle-interval=0s",
+    "banking.retry.max-attempts=1000",
+    "banking.retry.initial-backoff=1ms",
+    "banking.retry.max-backoff=5ms",
+    "logging.level.com.example=INFO",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotAccountDepositBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(HotAccountDepositBenchmark.class);
+    private static final int THREADS = 16;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    @Autowired
+    private BankAccountApplicationService accountService;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Test
+    void depositThroughput_shouldScaleWithShardCount() throws Exception {
+        List<Double> throughputs = new ArrayList<>();
+        for (int shards : new int[] {1, 2, 4, 8, 16}) {
+            AccountId accountId = accountService.openAccount("ACC-" + UUID.randomUUID(), "Benchmark",
+                    new BigDecimal("100.00"), new BigDecimal("1000.00"));
+            hotAccountService.enable(accountId, shards);
+
+            run(accountId, WARMUP_MILLIS);
+            long deposits = run(accountId, MEASURE_MILLIS);
+            double perSecond = deposits * 1000.0 / MEASURE_MILLIS;
+            throughputs.add(perSecond);
+            logger.info("{} shard(s), {} threads: {} deposits/s", shards, THREADS, Math.round(perSecond));
+
+            Amount expected = hotAccountService.getBalance(accountId).orElseThrow();
+            hotAccountService.settle(accountId);
+            assertEquals(expected, hotAccountService.getBalance(accountId).orElseThrow());
+        }
+        assertTrue(throughputs.get(throughputs.size() - 1) > throughputs.get(0),
+                "Sharded deposits should outrun a single shard: " + throughputs);
+    }
+
+    private long run(AccountId accountId, long millis) throws Exception {
+        long deadline = System.currentTimeMillis() + millis;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long deposits = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        hotAccountService.deposit(accountId, new BigDecimal("1.00"), "Benchmark deposit");
+                        deposits++;
+                    }
+                    return deposits;
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
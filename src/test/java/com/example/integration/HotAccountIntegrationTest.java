@@ -0,0 +1,126 @@
+package com.example.integration;
+
+import com.example.banking.application.AccountBalanceCache;
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.application.HotAccountService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.banking.domain.Transaction;
+import com.example.banking.domain.TransactionType;
+import com.example.shared.domain.BusinessRuleViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "banking.hot-accounts.enabled=true",
+    "banking.hot-accounts.settle-interval=0s",
+    "banking.retry.max-attempts=100"
+})
+@ActiveProfiles("test")
+class HotAccountIntegrationTest {
+
+    @Autowired
+    private BankAccountApplicationService accountService;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceCache balanceCache;
+
+    @Test
+    void concurrentDeposits_shouldGoToShardsAndAllCountTowardsWithdrawalsAndLedger() throws Exception {
+        AccountId accountId = openAccount("100.00", "1000.00");
+        hotAccountService.enable(accountId, 4);
+        int deposits = 40;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < deposits; i++) {
+                results.add(executor.submit(() ->
+                        accountService.deposit(accountId, new BigDecimal("25.00"), "Card payment")));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Amount.parse("1100.00"), hotAccountService.getBalance(accountId).orElseThrow());
+        assertEquals(Amount.parse("100.00"), accountRepository.findById(accountId).orElseThrow().getBalance());
+        assertEquals(new BigDecimal("1100.00"), balanceCache.getBalance(accountId).orElseThrow().balance());
+
+        // Only affordable with the shards, and the daily limit still applies to the account as a whole
+        accountService.withdraw(accountId, new BigDecimal("900.00"), "Payout");
+        assertThrows(BusinessRuleViolationException.class,
+                () -> accountService.withdraw(accountId, new BigDecimal("150.00"), "Payout"));
+
+        assertEquals(Amount.parse("200.00"), hotAccountService.getBalance(accountId).orElseThrow());
+        assertEquals(0, hotAccountService.settle(accountId));
+        List<Transaction> history = accountRepository.findTransactionHistory(accountId);
+        assertEquals(deposits + 2, history.size());
+        Amount running = Amount.ZERO;
+        for (Transaction transaction : history) {
+            running = transaction.getType() == TransactionType.DEPOSIT
+                    ? running.plus(transaction.getAmount())
+                    : running.minus(transaction.getAmount());
+            assertEquals(running, transaction.getBalanceAfter());
+        }
+    }
+
+    @Test
+    void transfer_shouldSpendWhatTheSourceShardsAccepted() {
+        AccountId source = openAccount("100.00", "1000.00");
+        AccountId target = openAccount("100.00", "1000.00");
+        hotAccountService.enable(source, 2);
+        accountService.deposit(source, new BigDecimal("40.00"), "Card payment");
+
+        accountService.transfer(source, target, new BigDecimal("140.00"), "Sweep");
+
+        assertEquals(Amount.ZERO, hotAccountService.getBalance(source).orElseThrow());
+        assertEquals(Amount.parse("240.00"), accountRepository.findById(target).orElseThrow().getBalance());
+        assertEquals(0, hotAccountService.settle(source));
+    }
+
+    @Test
+    void freeze_shouldSettleShardsAndCloseThem() {
+        AccountId accountId = openAccount("100.00", "1000.00");
+        hotAccountService.enable(accountId, 2);
+        accountService.deposit(accountId, new BigDecimal("30.00"), "Card payment");
+
+        accountService.freezeAccount(accountId);
+
+        assertThrows(BusinessRuleViolationException.class,
+                () -> accountService.deposit(accountId, new BigDecimal("5.00"), "Card payment"));
+        assertEquals(0, hotAccountService.settle(accountId));
+        assertEquals(Amount.parse("130.00"), accountRepository.findById(accountId).orElseThrow().getBalance());
+        assertEquals(Amount.parse("130.00"), hotAccountService.getBalance(accountId).orElseThrow());
+    }
+
+    private AccountId openAccount(String initialDeposit, String dailyLimit) {
+        return accountService.openAccount(
+            "ACC-" + UUID.randomUUID(),
+            "Hot Account Test",
+            new BigDecimal(initialDeposit),
+            new BigDecimal(dailyLimit)
+        );
+    }
+}
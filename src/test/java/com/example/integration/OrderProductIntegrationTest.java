@@ -1,5 +1,17 @@
 package com.example.integration;
 
+import com.example.orders.read.api.OrderAnalyticsAdminController;
+import com.example.orders.read.application.CustomerOrderAnalyticsProjector;
+import com.example.orders.read.application.OrderQueryService;
+import com.example.orders.read.application.OrderSummaryProjector;
+import com.example.orders.read.infrastructure.SpringDataCustomerOrderAnalyticsRepository;
+import com.example.orders.read.query.OrderSummaryPage;
+import com.example.orders.read.query.OrderSummaryView;
+import com.example.orders.shared.domain.Money;
+import com.example.orders.shared.domain.Order;
+import com.example.orders.shared.domain.OrderItem;
+import com.example.orders.shared.domain.OrderRepository;
+import com.example.orders.shared.domain.OrderStatus;
 import com.example.orders.write.api.CreateOrderRequest;
 import com.example.orders.write.application.OrderCommandService;
 import com.example.orders.shared.domain.OrderId;
@@ -12,10 +24,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,17 +52,35 @@ class OrderProductIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private OrderQueryService queryService;
+
+    @Autowired
+    private OrderSummaryProjector summaryProjector;
+
+    @Autowired
+    private CustomerOrderAnalyticsProjector analyticsProjector;
+
+    @Autowired
+    private OrderAnalyticsAdminController analyticsAdminController;
+
+    @Autowired
+    private SpringDataCustomerOrderAnalyticsRepository analyticsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
     @Test
     void createOrder_shouldReduceProductStock() {
         ProductId productId = productService.createProduct(
             new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(10.00), 5)
-        );
+        ).getId();
 
         CreateOrderRequest.OrderItemRequest orderItem = 
             new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", BigDecimal.valueOf(10.00), 2);
         CreateOrderRequest orderRequest = new CreateOrderRequest("customer-1", List.of(orderItem));
 
-        OrderId orderId = orderService.createOrder(orderRequest);
+        OrderId orderId = orderService.createOrder(orderRequest).getId();
 
         assertNotNull(orderId);
 
@@ -55,7 +92,7 @@ class OrderProductIntegrationTest {
     void createOrder_shouldFailWhenInsufficientStock() {
         ProductId productId = productService.createProduct(
             new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(10.00), 2)
-        );
+        ).getId();
 
         CreateOrderRequest.OrderItemRequest orderItem = 
             new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", BigDecimal.valueOf(10.00), 5);
@@ -67,4 +104,180 @@ class OrderProductIntegrationTest {
         var product = productRepository.findById(productId).orElseThrow();
         assertEquals(2, product.getStockQuantity(), "Stock should remain unchanged when order fails");
     }
-}
\ No newline at end of file
+
+    @Test
+    void orderSummaries_shouldFollowCreatedOrdersAndStatusChanges() {
+        ProductId productId = productService.createProduct(
+            new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(10.00), 10)
+        ).getId();
+        String customerId = "customer-summaries";
+        CreateOrderRequest orderRequest = new CreateOrderRequest(customerId, List.of(
+            new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", new BigDecimal("10.00"), 2),
+            new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", new BigDecimal("2.50"), 3)
+        ));
+
+        OrderId orderId = orderService.createOrder(orderRequest).getId();
+        orderService.confirmOrder(orderId);
+
+        List<OrderSummaryView> summaries = queryService.getOrdersByCustomer(customerId, null, 50).orders();
+        assertEquals(1, summaries.size());
+        OrderSummaryView summary = summaries.get(0);
+        assertEquals(orderId.getValue(), summary.getOrderId());
+        assertEquals(0, new BigDecimal("27.50").compareTo(summary.getTotalAmount()));
+        assertEquals(2, summary.getTotalItems());
+        assertEquals(OrderStatus.CONFIRMED, summary.getStatus());
+        assertTrue(queryService.getOrdersByStatus(OrderStatus.CONFIRMED, null, 50).orders().stream()
+            .anyMatch(view -> view.getOrderId().equals(orderId.getValue())));
+
+        orderService.cancelOrder(orderId);
+
+        assertEquals(OrderStatus.CANCELLED, queryService.getOrdersByCustomer(customerId, null, 50).orders().get(0).getStatus());
+    }
+
+    @Test
+    void orderAnalytics_shouldFollowOrdersAndStatusChangesAndSurviveRebuild() {
+        ProductId productId = productService.createProduct(
+            new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(5.00), 100)
+        ).getId();
+        String customerId = "customer-analytics";
+        List<OrderId> orderIds = new ArrayList<>();
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            orderIds.add(orderService.createOrder(new CreateOrderRequest(customerId, List.of(
+                new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", new BigDecimal("5.00"), quantity)
+            ))).getId());
+        }
+        orderService.confirmOrder(orderIds.get(0));
+        orderService.confirmOrder(orderIds.get(1));
+        orderService.cancelOrder(orderIds.get(2));
+
+        OrderQueryService.OrderAnalytics analytics = queryService.getOrderAnalytics(customerId);
+        assertEquals(3, analytics.getTotalOrders());
+        assertEquals(0, new BigDecimal("30.00").compareTo(analytics.getTotalSpent()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(analytics.getAverageOrderValue()));
+        assertEquals(OrderStatus.CONFIRMED, analytics.getMostCommonStatus());
+
+        assertTrue(analyticsAdminController.rebuild().customers() >= 1);
+
+        OrderQueryService.OrderAnalytics rebuilt = queryService.getOrderAnalytics(customerId);
+        assertEquals(3, rebuilt.getTotalOrders());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rebuilt.getTotalSpent()));
+        assertEquals(OrderStatus.CONFIRMED, rebuilt.getMostCommonStatus());
+        assertEquals(0, queryService.getOrderAnalytics("customer-without-orders").getTotalOrders());
+    }
+
+    @Test
+    void statusChange_shouldSucceedWhenTheCustomerHasNoAnalyticsRow() {
+        ProductId productId = productService.createProduct(
+            new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(5.00), 100)
+        ).getId();
+        String customerId = "customer-drifted";
+        OrderId orderId = orderService.createOrder(new CreateOrderRequest(customerId, List.of(
+            new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", new BigDecimal("5.00"), 1)
+        ))).getId();
+        analyticsRepository.deleteAllAnalytics();
+
+        orderService.confirmOrder(orderId);
+
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(0, queryService.getOrderAnalytics(customerId).getTotalOrders());
+        analyticsProjector.rebuild();
+        assertEquals(OrderStatus.CONFIRMED, queryService.getOrderAnalytics(customerId).getMostCommonStatus());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void orderAnalytics_shouldCountConcurrentFirstOrdersOfACustomer() throws Exception {
+        String customerId = "customer-first-orders-" + UUID.randomUUID();
+        int orders = 8;
+        // A product per order, so the orders only contend on the customer's analytics row
+        List<ProductId> productIds = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            productIds.add(productService.createProduct(
+                new CreateProductRequest("Concurrent Product " + i, "Description", BigDecimal.valueOf(5.00), 10)
+            ).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(orders);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (ProductId productId : productIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return orderService.createOrder(new CreateOrderRequest(customerId, List.of(
+                        new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Concurrent Product", new BigDecimal("5.00"), 1)
+                    )));
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        OrderQueryService.OrderAnalytics analytics = queryService.getOrderAnalytics(customerId);
+        assertEquals(orders, analytics.getTotalOrders());
+        assertEquals(0, new BigDecimal("40.00").compareTo(analytics.getTotalSpent()));
+    }
+
+    @Test
+    void addMissingSummaries_shouldSummarizeOrdersStoredWithoutOne() {
+        String customerId = "customer-backfill";
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            orderRepository.save(new Order(OrderId.generate(), customerId, List.of(
+                new OrderItem("item-a-" + quantity, "prod-1", "Product 1", Money.of(new BigDecimal("4.00"), "USD"), quantity),
+                new OrderItem("item-b-" + quantity, "prod-2", "Product 2", Money.of(new BigDecimal("1.00"), "USD"), 1)
+            )));
+        }
+        assertTrue(queryService.getOrdersByCustomer(customerId, null, 50).orders().isEmpty());
+
+        summaryProjector.addMissingSummaries();
+        analyticsProjector.rebuild();
+
+        List<OrderSummaryView> summaries = queryService.getOrdersByCustomer(customerId, null, 50).orders();
+        assertEquals(3, summaries.size());
+        assertTrue(summaries.stream().allMatch(summary -> summary.getTotalItems() == 2));
+        OrderQueryService.OrderAnalytics analytics = queryService.getOrderAnalytics(customerId);
+        assertEquals(3, analytics.getTotalOrders());
+        assertEquals(0, new BigDecimal("27.00").compareTo(analytics.getTotalSpent()));
+        assertEquals(0, new BigDecimal("9.00").compareTo(analytics.getAverageOrderValue()));
+        assertEquals(OrderStatus.PENDING, analytics.getMostCommonStatus());
+    }
+
+    @Test
+    void getOrdersByCustomer_shouldPageNewestFirstWithoutGapsOrRepeats() {
+        ProductId productId = productService.createProduct(
+            new CreateProductRequest("Test Product", "Description", BigDecimal.valueOf(1.00), 100)
+        ).getId();
+        String customerId = "customer-paging";
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(new CreateOrderRequest(customerId, List.of(
+                new CreateOrderRequest.OrderItemRequest(productId.getValue(), "Test Product", new BigDecimal("1.00"), i + 1)
+            )));
+        }
+
+        List<OrderSummaryView> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderSummaryPage page = queryService.getOrdersByCustomer(customerId, cursor, 2);
+            seen.addAll(page.orders());
+            pageSizes.add(page.orders().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 1), pageSizes);
+        assertEquals(5, seen.stream().map(OrderSummaryView::getOrderId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            OrderSummaryView newer = seen.get(i - 1);
+            OrderSummaryView older = seen.get(i);
+            int byTime = newer.getCreatedAt().compareTo(older.getCreatedAt());
+            assertTrue(byTime > 0 || (byTime == 0 && newer.getOrderId().compareTo(older.getOrderId()) > 0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> queryService.getOrdersByCustomer(customerId, "not-a-cursor", 2));
+        assertThrows(IllegalArgumentException.class,
+            () -> queryService.getOrdersByCustomer(customerId, null, OrderQueryService.MAX_PAGE_SIZE + 1));
+    }
+}
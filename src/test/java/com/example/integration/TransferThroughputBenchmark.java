@@ -0,0 +1,129 @@
+package com.example.integration;
+
+import com.example.banking.application.BankAccountApplicationService;
+import com.example.banking.domain.AccountId;
+import com.example.banking.domain.Amount;
+import com.example.banking.domain.BankAccountRepository;
+import com.example.shared.domain.BusinessRuleViolationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transfer storms between a small set of hot accounts, in both directions at once, so that
+ * opposing transfers constantly compete for the same two rows. Every transfer must complete
+ * (no deadlock, no exhausted retries) and the total across the accounts must not change.
+ * Opt-in, as the numbers only mean something on an otherwise idle machine:
+ * {@code mvn test -Dtest=TransferThroughputBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "banking.retry.max-attempts=1000",
+    "banking.retry.initial-backoff=1ms",
+    "banking.retry.max-backoff=5ms",
+    "logging.level.com.example=INFO",
+    // Lost version races are retried; their batch errors would drown the results
+    "logging.level.org.hibernate.orm.jdbc.batch=OFF",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransferThroughputBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(TransferThroughputBenchmark.class);
+    private static final int THREADS = 16;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    @Autowired
+    private BankAccountApplicationService accountService;
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+
+    @Test
+    void transferStorms_shouldCompleteAndConserveMoney() throws Exception {
+        for (int accounts : new int[] {2, 4, 8, 32}) {
+            List<AccountId> accountIds = new ArrayList<>();
+            for (int i = 0; i < accounts; i++) {
+                accountIds.add(accountService.openAccount("ACC-" + UUID.randomUUID(), "Benchmark",
+                        new BigDecimal("100000.00"), new BigDecimal("10000.00")));
+            }
+            Amount before = totalBalance(accountIds);
+
+            run(accountIds, WARMUP_MILLIS);
+            long transfers = run(accountIds, MEASURE_MILLIS);
+            logger.info("{} accounts, {} threads: {} transfers/s",
+                    accounts, THREADS, Math.round(transfers * 1000.0 / MEASURE_MILLIS));
+
+            assertTrue(transfers > 0);
+            assertEquals(before, totalBalance(accountIds));
+        }
+    }
+
+    private long run(List<AccountId> accountIds, long millis) throws Exception {
+        LongAdder rejected = new LongAdder();
+        long deadline = System.currentTimeMillis() + millis;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long transfers = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        int source = random.nextInt(accountIds.size());
+                        // Any other account, so opposing pairs come up as often as same-direction ones
+                        int target = (source + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+                        try {
+                            accountService.transfer(accountIds.get(source), accountIds.get(target),
+                                    new BigDecimal("1.00"), "Benchmark transfer");
+                            transfers++;
+                        } catch (BusinessRuleViolationException e) {
+                            // A fast machine can exhaust an account's daily limit; rolled back like any rejection
+                            rejected.increment();
+                        }
+                    }
+                    return transfers;
+                }));
+            }
+            start.countDown();
+            long total = 0;
+            for (Future<Long> result : results) {
+                // Fails the benchmark on a deadlock or an exhausted retry
+                total += result.get(millis + 30_000, TimeUnit.MILLISECONDS);
+            }
+            if (rejected.sum() > 0) {
+                logger.info("{} transfers rejected by the daily withdrawal limit", rejected.sum());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Amount totalBalance(List<AccountId> accountIds) {
+        return accountIds.stream()
+                .map(accountId -> accountRepository.findById(accountId).orElseThrow().getBalance())
+                .reduce(Amount.ZERO, Amount::plus);
+    }
+}
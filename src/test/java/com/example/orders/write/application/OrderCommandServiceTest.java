@@ -41,10 +41,12 @@ class OrderCommandServiceTest {
             new CreateOrderRequest.OrderItemRequest("prod-1", "Product 1", BigDecimal.valueOf(10.00), 2);
         CreateOrderRequest request = new CreateOrderRequest("customer-1", List.of(itemRequest));
 
-        OrderId orderId = orderService.createOrder(request);
+        Order order = orderService.createOrder(request);
 
-        assertNotNull(orderId);
-        verify(orderRepository).save(any(Order.class));
+        assertNotNull(order.getId());
+        assertEquals("customer-1", order.getCustomerId());
+        assertEquals(2, order.getItems().get(0).getQuantity());
+        verify(orderRepository).save(order);
         
         // Verify both domain event and integration event were published
         verify(eventPublisher, times(2)).publishEvent(any());
@@ -0,0 +1,69 @@
+package com.example.shared.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessRuleDefinitionTest {
+
+    private static final BusinessRuleDefinition<Integer, Integer> AT_MOST_RULE = BusinessRuleDefinition.of(
+            "test.at-most", "Value exceeds the maximum", (value, maximum) -> value <= maximum);
+
+    private static final BusinessRuleDefinition<String, Void> NOT_BLANK_RULE = BusinessRuleDefinition.of(
+            "test.not-blank", "Value must not be blank", value -> !value.isBlank());
+
+    @Test
+    void isSatisfiedBy_shouldCountEvaluationsAndFailures() {
+        BusinessRuleStatistics statistics = AT_MOST_RULE.getStatistics();
+        long evaluations = statistics.getEvaluations();
+        long failures = statistics.getFailures();
+
+        assertTrue(AT_MOST_RULE.isSatisfiedBy(3, 5));
+        assertTrue(AT_MOST_RULE.isSatisfiedBy(5, 5));
+        assertFalse(AT_MOST_RULE.isSatisfiedBy(6, 5));
+
+        assertEquals(evaluations + 3, statistics.getEvaluations());
+        assertEquals(failures + 1, statistics.getFailures());
+        assertTrue(statistics.getTotalNanos() >= 0);
+    }
+
+    @Test
+    void checkBusinessRule_shouldThrowRuleMessageOnlyWhenViolated() {
+        TestAggregate aggregate = new TestAggregate();
+
+        assertDoesNotThrow(() -> aggregate.rename("valid"));
+        BusinessRuleViolationException exception =
+                assertThrows(BusinessRuleViolationException.class, () -> aggregate.rename("  "));
+        assertEquals("Value must not be blank", exception.getMessage());
+    }
+
+    @Test
+    void registry_shouldRejectDuplicateNamesAndReplayExistingRulesToSubscribers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BusinessRuleDefinition.of("test.at-most", "Duplicate", (Integer value) -> true));
+
+        List<String> seen = new ArrayList<>();
+        Runnable unsubscribe = BusinessRuleRegistry.subscribe(rule -> seen.add(rule.getName()));
+        BusinessRuleDefinition.of("test.defined-later", "Never fails", (Integer value) -> true);
+        unsubscribe.run();
+
+        assertTrue(seen.containsAll(List.of("test.at-most", "test.not-blank", "test.defined-later")));
+    }
+
+    private static class TestAggregate extends AggregateRoot<String> {
+        TestAggregate() {
+            super("test");
+        }
+
+        void rename(String name) {
+            checkBusinessRule(NOT_BLANK_RULE, name);
+        }
+
+        @Override
+        protected void validateAggregateInvariants() {
+        }
+    }
+}